@@ -0,0 +1,88 @@
+/*
+  PersianArithmeticCycle.java
+  2026-10-19 18:31:44
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+/**
+  <p>This class contains the arithmetic model of the Persian calendar used for the
+  years outside the range of the astronomical computation (see
+  <code>{@link PersianCalendarHelper#setAstronomicalYears(long, long)}</code>).</p>
+
+  <p>The model is the 2820-year cycle of Ahmad Birashk: 683 of every 2820 years are
+  leap years, arranged in sub-cycles of 29, 33, and 37 years, giving a mean year of
+  1029983 / 2820 = 365.24219858 days. A year <em>n</em> is a leap year iff
+  <code>((n - 474) mod 2820 + 474 + 38) * 682 mod 2816 &lt; 682</code>. The functions
+  of this class use a continuous numbering of years, in which year 0 is the year
+  before year 1, and are exact for all <code>long</code> years within
+  &plusmn;10<sup>12</sup>.</p>
+
+  <p>The model is not used directly for dates: the years beyond the astronomical
+  range are laid out by the model starting from the astronomical start of the year
+  at the edge of the range, so that the calendar is continuous at the seams.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public class PersianArithmeticCycle {
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   */
+  private PersianArithmeticCycle() {
+    // Utility class; should not be instantiated
+    throw new IllegalStateException("Utility class");
+  }
+  /**
+    Number of years in a cycle.
+  */
+  public static final long CYCLE_YEARS = 2820L;
+  /**
+    Number of days in a cycle.
+  */
+  public static final long CYCLE_DAYS = 1029983L;
+
+  /**
+    Returns the number of days from the first day of year 1 to the first day of the specified year.
+
+    @param year the year, in the continuous numbering.
+    @return the number of days; negative for years before 1.
+  */
+  public static long daysBeforeYear(long year) {
+    long base = year - 474;
+    long yearOfCycle = 474 + Math.floorMod(base, CYCLE_YEARS);
+    return Math.floorDiv(base, CYCLE_YEARS) * CYCLE_DAYS + (yearOfCycle - 1) * 365
+      + Math.floorDiv(yearOfCycle * 682 - 110, 2816L);
+  }
+  /**
+    Determines if the specified year is a leap year in the arithmetic model.
+
+    @param year the year, in the continuous numbering.
+    @return <code>true</code> if <code>year</code> is a leap year, <code>false</code> otherwise.
+  */
+  public static boolean isLeapYear(long year) {
+    return (Math.floorMod(year - 474, CYCLE_YEARS) + 474 + 38) * 682 % 2816 < 682;
+  }
+  /**
+    Returns the year containing the specified day.
+
+    @param days the number of days from the first day of year 1.
+    @return the year, in the continuous numbering.
+  */
+  public static long yearOf(long days) {
+    long cycles = Math.floorDiv(days, CYCLE_DAYS);
+    long dayOfCycle = days - cycles * CYCLE_DAYS;
+    long year = cycles * CYCLE_YEARS + dayOfCycle * CYCLE_YEARS / CYCLE_DAYS + 1;
+    while (daysBeforeYear(year) > days) {
+      year--;
+    }
+    while (daysBeforeYear(year + 1) <= days) {
+      year++;
+    }
+    return year;
+  }
+}
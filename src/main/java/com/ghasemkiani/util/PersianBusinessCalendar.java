@@ -0,0 +1,259 @@
+/*
+  PersianBusinessCalendar.java
+  2026-10-19 12:15:34
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import java.util.Calendar;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+  This class counts and adds business days in the Persian calendar. A business
+  day is a day that is neither a weekend day (Friday by default) nor a holiday
+  given by a <code>{@link PersianHolidayProvider}</code>.
+
+  <p>The business days of each Persian year are kept in a bitmap of 366 bits,
+  together with the running counts of its 64-bit words. Counting and adding business
+  days are done with population counts, skipping whole words and whole years, so
+  spans of many years are answered without iterating over the days.</p>
+
+  <p>The holiday provider and the weekend days can be changed at any time;
+  the bitmaps are then rebuilt on demand. Instances of this class are thread-safe.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public class PersianBusinessCalendar {
+  private static final int WORDS = 6;
+
+  private static final class YearBits {
+    final long start;
+    final long[] words = new long[WORDS];
+    // counts[i] is the number of business days in words[0..i-1].
+    final int[] counts = new int[WORDS + 1];
+
+    YearBits(long year, int weekendMask, PersianHolidayProvider holidays) {
+      start = PersianYearTable.yearStart(year);
+      int length = PersianYearTable.yearLength(year);
+      int dayOfWeek = PersianCalendarUtils.dayOfWeek(start);
+      for (int i = 0; i < length; i++) {
+        if ((weekendMask & (1 << dayOfWeek)) == 0) {
+          words[i >> 6] |= 1L << i;
+        }
+        if (++dayOfWeek > Calendar.SATURDAY) {
+          dayOfWeek = Calendar.SUNDAY;
+        }
+      }
+      for (int day : holidays.getHolidays(year)) {
+        if (day >= 0 && day < length) {
+          words[day >> 6] &= ~(1L << day);
+        }
+      }
+      for (int i = 0; i < WORDS; i++) {
+        counts[i + 1] = counts[i] + Long.bitCount(words[i]);
+      }
+    }
+    int total() {
+      return counts[WORDS];
+    }
+    // Number of business days before the specified day of year.
+    int rank(int day) {
+      int w = day >> 6;
+      if (w >= WORDS) {
+        return total();
+      }
+      return counts[w] + Long.bitCount(words[w] & ((1L << day) - 1));
+    }
+    // Day of year of the k-th (one-based) business day of the year.
+    int select(int k) {
+      int w = 0;
+      while (counts[w + 1] < k) {
+        w++;
+      }
+      long word = words[w];
+      for (int i = counts[w] + 1; i < k; i++) {
+        word &= word - 1;
+      }
+      return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+  }
+
+  private static final class State {
+    final PersianHolidayProvider holidays;
+    final int weekendMask;
+    final PersianYearStarts starts;
+    final ConcurrentHashMap<Long, YearBits> years = new ConcurrentHashMap<>();
+    State(PersianHolidayProvider holidays, int weekendMask) {
+      this.holidays = holidays;
+      this.weekendMask = weekendMask;
+      this.starts = PersianYearStarts.current();
+    }
+  }
+  private volatile State state;
+
+  /**
+    Constructs a business calendar with Friday as the weekend and no holidays.
+  */
+  public PersianBusinessCalendar() {
+    this(PersianHolidayProvider.NONE, Calendar.FRIDAY);
+  }
+  /**
+    Constructs a business calendar with the specified holidays and weekend days.
+
+    @param holidays the provider of holidays.
+    @param weekendDays the weekend days (use symbolic constants in the <code>java.util.Calendar</code> class).
+  */
+  public PersianBusinessCalendar(PersianHolidayProvider holidays, int... weekendDays) {
+    state = new State(check(holidays), weekendMask(weekendDays));
+  }
+  private static PersianHolidayProvider check(PersianHolidayProvider holidays) {
+    if (holidays == null) {
+      throw new NullPointerException("holidays");
+    }
+    return holidays;
+  }
+  private static int weekendMask(int[] weekendDays) {
+    int mask = 0;
+    for (int day : weekendDays) {
+      if (day < Calendar.SUNDAY || day > Calendar.SATURDAY) {
+        throw new IllegalArgumentException("Invalid day of week: " + day);
+      }
+      mask |= 1 << day;
+    }
+    if (Integer.bitCount(mask) == 7) {
+      throw new IllegalArgumentException("At least one day of week must be a working day.");
+    }
+    return mask;
+  }
+  /**
+    Replaces the provider of holidays. The business days are recomputed on demand.
+
+    @param holidays the new provider of holidays.
+  */
+  public void setHolidayProvider(PersianHolidayProvider holidays) {
+    state = new State(check(holidays), state.weekendMask);
+  }
+  /**
+    Returns the provider of holidays.
+
+    @return the provider of holidays.
+  */
+  public PersianHolidayProvider getHolidayProvider() {
+    return state.holidays;
+  }
+  /**
+    Replaces the weekend days. The business days are recomputed on demand.
+
+    @param weekendDays the weekend days (use symbolic constants in the <code>java.util.Calendar</code> class).
+  */
+  public void setWeekendDays(int... weekendDays) {
+    state = new State(state.holidays, weekendMask(weekendDays));
+  }
+  /**
+    Discards the computed business days, e.g., after the data behind the
+    holiday provider has changed.
+  */
+  public void refresh() {
+    State s = state;
+    state = new State(s.holidays, s.weekendMask);
+  }
+  private State state() {
+    State s = state;
+    if (s.starts != PersianYearStarts.current()) {
+      s = new State(s.holidays, s.weekendMask);
+      state = s;
+    }
+    return s;
+  }
+  private static YearBits bits(State s, long year) {
+    YearBits bits = s.years.get(year);
+    if (bits == null) {
+      bits = new YearBits(year, s.weekendMask, s.holidays);
+      YearBits other = s.years.putIfAbsent(year, bits);
+      if (other != null) {
+        bits = other;
+      }
+    }
+    return bits;
+  }
+  /**
+    Determines if the specified day is a business day.
+
+    @param julianDay the Julian day.
+    @return <code>true</code> if the day is a business day.
+  */
+  public boolean isBusinessDay(long julianDay) {
+    State s = state();
+    long year = PersianYearTable.year(julianDay);
+    YearBits bits = bits(s, year);
+    int day = (int)(julianDay - bits.start);
+    return (bits.words[day >> 6] & (1L << day)) != 0;
+  }
+  /**
+    Counts the business days from <code>fromJulianDay</code> (inclusive) to
+    <code>toJulianDay</code> (exclusive). The result is negative if
+    <code>toJulianDay</code> is before <code>fromJulianDay</code>.
+
+    @param fromJulianDay the first Julian day.
+    @param toJulianDay the Julian day after the last one.
+    @return the number of business days.
+  */
+  public long countBusinessDays(long fromJulianDay, long toJulianDay) {
+    if (toJulianDay < fromJulianDay) {
+      return -countBusinessDays(toJulianDay, fromJulianDay);
+    }
+    State s = state();
+    long fromYear = PersianYearTable.year(fromJulianDay);
+    long toYear = PersianYearTable.year(toJulianDay);
+    YearBits bits = bits(s, fromYear);
+    long count = -bits.rank((int)(fromJulianDay - bits.start));
+    for (long year = fromYear; year < toYear; ) {
+      count += bits.total();
+      year = PersianCalendarHelper.calendrica(PersianCalendarHelper.continuous(year) + 1);
+      bits = bits(s, year);
+    }
+    return count + bits.rank((int)(toJulianDay - bits.start));
+  }
+  /**
+    Adds the specified number of business days to a day. For a positive amount,
+    the result is the business day that is <code>amount</code> business days
+    after <code>julianDay</code>; for a negative amount, it is the business day
+    that many business days before it. An amount of zero returns <code>julianDay</code>.
+
+    @param julianDay the Julian day.
+    @param amount the number of business days to add.
+    @return the resulting Julian day.
+  */
+  public long addBusinessDays(long julianDay, long amount) {
+    if (amount == 0) {
+      return julianDay;
+    }
+    State s = state();
+    long year = PersianYearTable.year(julianDay);
+    YearBits bits = bits(s, year);
+    int day = (int)(julianDay - bits.start);
+    if (amount > 0) {
+      // The k-th business day of the year, counting those up to julianDay.
+      long k = bits.rank(day + 1) + amount;
+      while (k > bits.total()) {
+        k -= bits.total();
+        year = PersianCalendarHelper.calendrica(PersianCalendarHelper.continuous(year) + 1);
+        bits = bits(s, year);
+      }
+      return bits.start + bits.select((int)k);
+    } else {
+      long k = bits.rank(day) + amount + 1;
+      while (k < 1) {
+        year = PersianCalendarHelper.calendrica(PersianCalendarHelper.continuous(year) - 1);
+        bits = bits(s, year);
+        k += bits.total();
+      }
+      return bits.start + bits.select((int)k);
+    }
+  }
+}
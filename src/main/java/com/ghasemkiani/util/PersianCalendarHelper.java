@@ -17,6 +17,17 @@ import com.ghasemkiani.util.calendrica.Calendrica;
   <a href="http://emr.cs.iit.edu/home/reingold/calendar-book/Calendrica.html">Calendrica applet</a>
   contained in the compact disk that accompanies the book <em>Calendrical Calculations: The Millennium Edition</em>
   by Edward M. Reingold and Nachum Dershowitz (Cambridge University Press, second printing, 2002).
+  For the named locations of <code>{@link PersianYearStarts}</code>, the years it
+  covers are read from tables precomputed by the same calculations.
+
+  <p>The astronomical calculations are used for the years from
+  <code>{@link #getFirstAstronomicalYear()}</code> to <code>{@link #getLastAstronomicalYear()}</code>
+  (by default, {@value #DEFAULT_FIRST_ASTRONOMICAL_YEAR} to {@value #DEFAULT_LAST_ASTRONOMICAL_YEAR}).
+  Beyond that range, where they are slow and no longer meaningful, the years follow the
+  arithmetic model of <code>{@link PersianArithmeticCycle}</code>, laid out from the
+  astronomical start of the year at the edge of the range; conversions there take constant
+  time and do not overflow for any year within the limits of
+  <code>{@link com.ghasemkiani.util.icu.PersianCalendar}</code>.</p>
 
   @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
   @version 3.0
@@ -30,6 +41,94 @@ public class PersianCalendarHelper {
     throw new IllegalStateException("Utility class");
   }
   private static long DIFF = 1721425L;
+  /**
+    Default first year of the astronomical calculations.
+  */
+  public static final long DEFAULT_FIRST_ASTRONOMICAL_YEAR = -1000L;
+  /**
+    Default last year of the astronomical calculations.
+  */
+  public static final long DEFAULT_LAST_ASTRONOMICAL_YEAR = 3000L;
+
+  private static final class Range {
+    final long first;
+    final long last;
+    Range(long first, long last) {
+      this.first = first;
+      this.last = last;
+    }
+  }
+  private static volatile Range range = new Range(DEFAULT_FIRST_ASTRONOMICAL_YEAR, DEFAULT_LAST_ASTRONOMICAL_YEAR);
+
+  /**
+    Sets the range of years computed astronomically. The years outside the range
+    follow the arithmetic model of <code>{@link PersianArithmeticCycle}</code>.
+
+    <p>The cached year starts and the values derived from them (e.g., by
+    <code>{@link PersianYearTable}</code>, <code>{@link PersianWeeks}</code>,
+    <code>{@link PersianMonthGrid}</code>, and <code>{@link PersianTimeBuckets}</code>)
+    are discarded. Objects holding precomputed days, such as
+    <code>{@link PersianDateRange}</code> or
+    <code>{@link com.ghasemkiani.util.icu.IranianHolidayProvider}</code>, keep them;
+    the range should be set before such objects are created.</p>
+
+    @param first the first year computed astronomically.
+    @param last the last year computed astronomically.
+    @throws IllegalArgumentException if the range is empty or exceeds the range of <code>int</code>.
+  */
+  public static void setAstronomicalYears(long first, long last) {
+    if (first > last || first <= Integer.MIN_VALUE || last >= Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid range of years: " + first + " to " + last);
+    }
+    range = new Range(first, last);
+    PersianYearStarts.reset();
+  }
+  /**
+    Returns the first year computed astronomically.
+
+    @return the first year computed astronomically.
+  */
+  public static long getFirstAstronomicalYear() {
+    return range.first;
+  }
+  /**
+    Returns the last year computed astronomically.
+
+    @return the last year computed astronomically.
+  */
+  public static long getLastAstronomicalYear() {
+    return range.last;
+  }
+  /**
+    Determines if the specified year is computed astronomically.
+
+    @param year the Persian year.
+    @return <code>true</code> if the year is within the astronomical range, <code>false</code> otherwise.
+  */
+  public static boolean isAstronomicalYear(long year) {
+    Range r = range;
+    return year >= r.first && year <= r.last;
+  }
+  /**
+    Returns the Julian day of the first day of a year outside the astronomical range.
+
+    @param year the Persian year.
+    @param starts the year starts of the location.
+    @return the Julian day on which the year begins.
+  */
+  static long arithmeticYearStart(long year, PersianYearStarts starts) {
+    Range r = range;
+    long edge = year < r.first ? r.first : r.last + 1;
+    return starts.yearStart(edge) + PersianArithmeticCycle.daysBeforeYear(continuous(year))
+      - PersianArithmeticCycle.daysBeforeYear(continuous(edge));
+  }
+  // The years of Calendrica have no year zero; year 0 is the same as year 1.
+  static long continuous(long year) {
+    return year > 0 ? year : year + 1;
+  }
+  static long calendrica(long year) {
+    return year > 0 ? year : year - 1;
+  }
   /**
     Determines if the specified year is a leap year in the Persian calendar.
 
@@ -37,7 +136,18 @@ public class PersianCalendarHelper {
     @return <code>true</code> if <code>year</code> is a leap year, <code>false</code> otherwise.
   */
   public static boolean isLeapYear(long year) {
-    return Calendrica.persianLeapYear((int)year);
+    return isLeapYear(year, PersianYearStarts.current());
+  }
+  // The location is read once by the public methods and passed down, so that a
+  // concurrent change of the location cannot mix the results of two locations.
+  static boolean isLeapYear(long year, PersianYearStarts starts) {
+    if (!isAstronomicalYear(year)) {
+      return PersianArithmeticCycle.isLeapYear(continuous(year));
+    }
+    if (starts.isPrecomputedYear(year)) {
+      return starts.yearLength(year) == 366;
+    }
+    return Calendrica.persianLeapYear((int)year, starts.getLocation());
   }
   /**
     Returns the Julian day corresponding to the specified date in the Persian calendar.
@@ -48,7 +158,16 @@ public class PersianCalendarHelper {
     @return the Julian day corresponding to the specified date in the Persian calendar.
   */
   public static long pj(long y, int m, int d) {
-    long j = Calendrica.fixedFromPersian(new int[] {(int)y,m+1,d}) + DIFF;
+    return pj(y, m, d, PersianYearStarts.current());
+  }
+  static long pj(long y, int m, int d, PersianYearStarts starts) {
+    if (!isAstronomicalYear(y)) {
+      return arithmeticYearStart(y, starts) + PersianYearTable.daysBeforeMonth(m) + d - 1;
+    }
+    if (starts.isPrecomputedYear(y)) {
+      return starts.yearStart(y) + PersianYearTable.daysBeforeMonth(m) + d - 1;
+    }
+    long j = Calendrica.fixedFromPersian(new int[] {(int)y,m+1,d}, starts.getLocation()) + DIFF;
     return j;
   }
   /**
@@ -60,10 +179,65 @@ public class PersianCalendarHelper {
     @return a packed long value containing the corresponding Persian year, month, and day.
   */
   public static long jp(long j) {
-    int[] p = Calendrica.persianFromFixed(j-DIFF);
+    return jp(j, PersianYearStarts.current());
+  }
+  static long jp(long j, PersianYearStarts starts) {
+    if (starts.isPrecomputedDay(j)) {
+      return PersianYearTable.jp(j, starts);
+    }
+    Range r = range;
+    // The exact bounds of the range are only needed near its edges.
+    long estimate = 1 + Math.floorDiv((j - PersianCalendarUtils.EPOCH) * PersianArithmeticCycle.CYCLE_YEARS, PersianArithmeticCycle.CYCLE_DAYS);
+    long first = estimate > r.first + 1 ? Long.MIN_VALUE : starts.yearStart(r.first);
+    long end = estimate < r.last - 1 ? Long.MAX_VALUE : starts.yearStart(r.last + 1);
+    if (j < first || j >= end) {
+      long edge = j < first ? r.first : r.last + 1;
+      long base = PersianArithmeticCycle.daysBeforeYear(continuous(edge));
+      long days = j - (j < first ? first : end) + base;
+      long n = PersianArithmeticCycle.yearOf(days);
+      int dayOfYear = (int)(days - PersianArithmeticCycle.daysBeforeYear(n));
+      int month = dayOfYear < 186 ? dayOfYear / 31 : (dayOfYear - 6) / 30;
+      int day = dayOfYear - PersianYearTable.daysBeforeMonth(month) + 1;
+      return (calendrica(n) << 16) | (month << 8) | day;
+    }
+    int[] p = Calendrica.persianFromFixed(j-DIFF, starts.getLocation());
     long year = p[0];
     int month = p[1]-1;
     int day = p[2];
     return (year << 16) | (month << 8) | day;
   }
+  /**
+    Determines if the specified year is a leap year according to the specified rule.
+
+    @param year the Persian year.
+    @param rule the leap rule.
+    @return <code>true</code> if <code>year</code> is a leap year, <code>false</code> otherwise.
+  */
+  public static boolean isLeapYear(long year, PersianLeapRule rule) {
+    return rule.isLeapYear(year);
+  }
+  /**
+    Returns the Julian day corresponding to the specified date in the Persian calendar
+    according to the specified rule.
+
+    @param y the Persian year.
+    @param m the Persian month.
+    @param d the Persian day.
+    @param rule the leap rule.
+    @return the Julian day corresponding to the specified date in the Persian calendar.
+  */
+  public static long pj(long y, int m, int d, PersianLeapRule rule) {
+    return rule.pj(y, m, d);
+  }
+  /**
+    Returns the date in the Persian calendar corresponding to the specified Julian day
+    according to the specified rule.
+
+    @param j the Julian day.
+    @param rule the leap rule.
+    @return a packed long value containing the corresponding Persian year, month, and day.
+  */
+  public static long jp(long j, PersianLeapRule rule) {
+    return rule.jp(j);
+  }
 }
@@ -77,4 +77,13 @@ public class PersianCalendarUtils {
   public static int d(long r) {
     return (int)(r & 0xff);
   }
+  /**
+    Returns the day of week of the specified Julian day.
+
+    @param julianDay the Julian day.
+    @return the day of week (one of the symbolic constants in the <code>java.util.Calendar</code> class).
+  */
+  public static int dayOfWeek(long julianDay) {
+    return (int)Math.floorMod(julianDay + 1, 7L) + 1;
+  }
 }
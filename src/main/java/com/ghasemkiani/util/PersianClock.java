@@ -0,0 +1,240 @@
+/*
+  PersianClock.java
+  2026-10-19 14:21:45
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+  This class gives the current date in the Persian calendar for a time zone.
+  The date is kept in an immutable snapshot, which is replaced only when the
+  local day changes, so reading today's date needs only the current time and a
+  comparison with the bounds of the snapshot; no calendar object is involved.
+
+  <p>Instances for the system clock are shared per time zone and can be obtained
+  with <code>{@link #of(ZoneId)}</code>. Instances of this class are thread-safe.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public final class PersianClock {
+  /**
+    This class holds the Persian date of a day, as given by <code>{@link PersianClock}</code>.
+    Instances of this class are immutable.
+  */
+  public static final class Today {
+    private final long julianDay;
+    private final int year;
+    private final int month;
+    private final int day;
+    private final int dayOfWeek;
+    private final long startMillis;
+    private final long endMillis;
+
+    Today(long julianDay, long startMillis, long endMillis) {
+      long r = PersianYearTable.jp(julianDay);
+      this.julianDay = julianDay;
+      this.year = (int)PersianCalendarUtils.y(r);
+      this.month = PersianCalendarUtils.m(r);
+      this.day = PersianCalendarUtils.d(r);
+      this.dayOfWeek = PersianCalendarUtils.dayOfWeek(julianDay);
+      this.startMillis = startMillis;
+      this.endMillis = endMillis;
+    }
+    /**
+      Returns the Julian day of this date.
+
+      @return the Julian day.
+    */
+    public long getJulianDay() {
+      return julianDay;
+    }
+    /**
+      Returns the Persian year of this date.
+
+      @return the Persian year.
+    */
+    public int getYear() {
+      return year;
+    }
+    /**
+      Returns the Persian month of this date.
+
+      @return the Persian month (zero-based).
+    */
+    public int getMonth() {
+      return month;
+    }
+    /**
+      Returns the Persian day of month of this date.
+
+      @return the Persian day of month.
+    */
+    public int getDay() {
+      return day;
+    }
+    /**
+      Returns the day of week of this date.
+
+      @return the day of week (one of the symbolic constants in the <code>java.util.Calendar</code> class).
+    */
+    public int getDayOfWeek() {
+      return dayOfWeek;
+    }
+    /**
+      Returns this date packed in the same format as <code>{@link PersianCalendarHelper#jp(long)}</code>.
+
+      @return a packed long value containing the Persian year, month, and day.
+    */
+    public long getPackedDate() {
+      return ((long)year << 16) | (month << 8) | day;
+    }
+    /**
+      Gives the name of the Persian month of this date.
+
+      @return the name of the month in Persian.
+    */
+    @SuppressWarnings("deprecation")
+    public String getPersianMonthName() {
+      return SimplePersianCalendar.getPersianMonthName(month);
+    }
+    /**
+      Gives the Persian name of the day of week of this date.
+
+      @return the name of the day of week in Persian.
+    */
+    @SuppressWarnings("deprecation")
+    public String getPersianWeekDayName() {
+      return SimplePersianCalendar.getPersianWeekDayName(dayOfWeek);
+    }
+    /**
+      Returns the instant at which this day starts.
+
+      @return the start of the day, in milliseconds since 1970-01-01 00:00:00 UTC.
+    */
+    public long getStartMillis() {
+      return startMillis;
+    }
+    /**
+      Returns the instant at which the next day starts.
+
+      @return the end (exclusive) of the day, in milliseconds since 1970-01-01 00:00:00 UTC.
+    */
+    public long getEndMillis() {
+      return endMillis;
+    }
+    /**
+      This method returns a usable string representation of this object.
+      Month is incremented to show one-based Persian month index.
+
+      @return a usable string representation of this object.
+    */
+    public String toString() {
+      return "" + year + "/" + (month + 1) + "/" + day;
+    }
+  }
+
+  private static final ConcurrentHashMap<ZoneId, PersianClock> clocks = new ConcurrentHashMap<>();
+
+  private final Clock clock;
+  private final ZoneId zone;
+  private volatile Today today;
+
+  /**
+    Constructs a Persian clock for the specified time zone, using the system clock.
+
+    @param zone the time zone.
+  */
+  public PersianClock(ZoneId zone) {
+    this(Clock.system(zone));
+  }
+  /**
+    Constructs a Persian clock using the specified clock and its time zone.
+
+    @param clock the clock providing the current instant and the time zone.
+  */
+  public PersianClock(Clock clock) {
+    this.clock = clock;
+    this.zone = clock.getZone();
+    this.today = compute(clock.millis());
+  }
+  /**
+    Returns the shared Persian clock of the specified time zone, using the system clock.
+
+    @param zone the time zone.
+    @return the Persian clock of the time zone.
+  */
+  public static PersianClock of(ZoneId zone) {
+    PersianClock c = clocks.get(zone);
+    if (c == null) {
+      c = new PersianClock(zone);
+      PersianClock other = clocks.putIfAbsent(zone, c);
+      if (other != null) {
+        c = other;
+      }
+    }
+    return c;
+  }
+  private Today compute(long millis) {
+    LocalDate date = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+    long start = date.atStartOfDay(zone).toInstant().toEpochMilli();
+    long end = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+    return new Today(date.toEpochDay() + PersianZoneConverter.EPOCH_JULIAN_DAY, start, end);
+  }
+  /**
+    Returns the time zone of this clock.
+
+    @return the time zone.
+  */
+  public ZoneId getZone() {
+    return zone;
+  }
+  /**
+    Returns the current Persian date.
+
+    @return the snapshot of the current day.
+  */
+  public Today today() {
+    Today t = today;
+    long millis = clock.millis();
+    if (millis >= t.endMillis || millis < t.startMillis) {
+      t = compute(millis);
+      today = t;
+    }
+    return t;
+  }
+  /**
+    Returns the current Persian year.
+
+    @return the Persian year.
+  */
+  public int getYear() {
+    return today().getYear();
+  }
+  /**
+    Returns the current Persian month.
+
+    @return the Persian month (zero-based).
+  */
+  public int getMonth() {
+    return today().getMonth();
+  }
+  /**
+    Returns the current Persian day of month.
+
+    @return the Persian day of month.
+  */
+  public int getDay() {
+    return today().getDay();
+  }
+}
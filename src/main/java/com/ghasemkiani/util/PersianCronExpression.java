@@ -0,0 +1,405 @@
+/*
+  PersianCronExpression.java
+  2026-10-20 00:14:52
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.ghasemkiani.util.PersianCalendarUtils.*;
+
+/**
+  <p>This class represents a cron-like expression of times in the Persian calendar,
+  and computes the next time at which it fires. An expression has five fields
+  separated by spaces:</p>
+
+  <pre>
+  minute  hour  day-of-month  month  day-of-week
+  0-59    0-23  1-31 or L     1-12   0-6 (0 = Saturday, ..., 6 = Friday)
+  </pre>
+
+  <p>The months are the Persian months (1 = Farvardin, ..., 12 = Esfand), and the
+  days of week are numbered from Saturday, the first day of the Persian week. Each
+  field is <code>*</code> or a comma-separated list of values, ranges
+  (<code>a-b</code>), and steps (<code>*&#47;n</code>, <code>a-b/n</code>, or
+  <code>a/n</code>); the day of month may also be <code>L</code>, the last day of
+  the month. As in cron, when both the day of month and the day of week are
+  restricted, a day matching either fires; a field beginning with <code>*</code>,
+  such as <code>*&#47;2</code>, is not restricted in this sense. For example,
+  <code>"0 23 L * *"</code> fires at 23:00 on the last day of every Persian month,
+  and <code>"30 8 * * 0-3"</code> fires at 8:30 from Saturday to Tuesday.</p>
+
+  <p>The fields are kept as bit masks, and
+  <code>{@link #nextFireTime(Instant, ZoneId)}</code> jumps directly to the next
+  month in the mask, finds the matching days of that month from the known month
+  length (<code>{@link PersianYearTable}</code>) and the day of week of its first
+  day, and the first matching minute of the day with bit operations; it never
+  scans minute by minute. A local time skipped by a transition of the time zone
+  fires at the corresponding instant after the transition; a local time repeated
+  by a transition fires once, at its earlier instant.</p>
+
+  <p><code>{@link #schedule(ScheduledExecutorService, ZoneId, Runnable)}</code>
+  runs a task on a <code>ScheduledExecutorService</code> at the times of an
+  expression.</p>
+
+  <p>Instances of this class are immutable and thread-safe.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public final class PersianCronExpression {
+  private static final long EPOCH_JULIAN_DAY = PersianZoneConverter.EPOCH_JULIAN_DAY;
+  // Bits 0, 7, 14, ..., 56: a day of week repeated over a month.
+  private static final long WEEKLY = 0x0102040810204081L;
+  // The months searched for a firing day before giving up; more than a full cycle of
+  // the days of week of the Persian months, including leap years.
+  private static final int MAX_MONTHS = 12 * 400;
+  // How often a waiting Schedule.get checks that the executor has not dropped the pending run.
+  private static final long POLL_MILLIS = 100;
+
+  private final String expression;
+  private final long minutes;
+  private final int hours;
+  // Bit d is set for the day d of month.
+  private final long days;
+  private final boolean lastDay;
+  private final int months;
+  private final int daysOfWeek;
+  // Whether the day fields do not begin with "*"; if both do not, they are combined with "or".
+  private final boolean daysRestricted;
+  private final boolean daysOfWeekRestricted;
+
+  private PersianCronExpression(String expression, long minutes, int hours, long days, boolean lastDay, int months,
+                                int daysOfWeek, boolean daysRestricted, boolean daysOfWeekRestricted) {
+    this.expression = expression;
+    this.minutes = minutes;
+    this.hours = hours;
+    this.days = days;
+    this.lastDay = lastDay;
+    this.months = months;
+    this.daysOfWeek = daysOfWeek;
+    this.daysRestricted = daysRestricted;
+    this.daysOfWeekRestricted = daysOfWeekRestricted;
+  }
+  /**
+    Parses an expression.
+
+    @param expression the expression, e.g., <code>"0 23 L * *"</code>.
+    @return the parsed expression.
+    @throws IllegalArgumentException if the expression is invalid.
+  */
+  public static PersianCronExpression parse(String expression) {
+    String[] fields = expression.trim().split("\\s+");
+    if (fields.length != 5) {
+      throw new IllegalArgumentException("Expected 5 fields: \"" + expression + "\"");
+    }
+    String day = fields[2];
+    boolean lastDay = false;
+    StringBuilder rest = new StringBuilder();
+    for (String part : day.split(",", -1)) {
+      if (part.equals("L")) {
+        lastDay = true;
+      } else {
+        rest.append(rest.length() == 0 ? "" : ",").append(part);
+      }
+    }
+    long days = rest.length() == 0 ? 0 : field(rest.toString(), 1, 31, expression);
+    return new PersianCronExpression(expression.trim(), field(fields[0], 0, 59, expression), (int)field(fields[1], 0, 23, expression),
+                                     days, lastDay, (int)(field(fields[3], 1, 12, expression) >>> 1),
+                                     (int)field(fields[4], 0, 6, expression), !day.startsWith("*"), !fields[4].startsWith("*"));
+  }
+  // Parses a field into a mask whose bit v is set for each value v.
+  private static long field(String field, int min, int max, String expression) {
+    long mask = 0;
+    for (String part : field.split(",", -1)) {
+      try {
+        int step = 1;
+        int slash = part.indexOf('/');
+        if (slash >= 0) {
+          step = Integer.parseInt(part.substring(slash + 1));
+          part = part.substring(0, slash);
+        }
+        int from;
+        int to;
+        if (part.equals("*")) {
+          from = min;
+          to = max;
+        } else {
+          int dash = part.indexOf('-');
+          from = Integer.parseInt(dash >= 0 ? part.substring(0, dash) : part);
+          to = dash >= 0 ? Integer.parseInt(part.substring(dash + 1)) : slash >= 0 ? max : from;
+        }
+        if (from < min || to > max || from > to || step < 1) {
+          throw new IllegalArgumentException("Invalid field \"" + field + "\": \"" + expression + "\"");
+        }
+        for (int v = from; v <= to; v += step) {
+          mask |= 1L << v;
+        }
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid field \"" + field + "\": \"" + expression + "\"", e);
+      }
+    }
+    return mask;
+  }
+  // The days of the month (bit d for day d) on which the expression fires.
+  private long daysOf(long year, int month) {
+    int length = PersianYearTable.monthLength(year, month);
+    long all = (1L << (length + 1)) - 2;
+    boolean either = daysRestricted && daysOfWeekRestricted;
+    long byDay = (days | (lastDay ? 1L << length : 0)) & all;
+    if (daysOfWeek == 0x7f) {
+      return either ? all : byDay;
+    }
+    long byWeek = 0;
+    // Day of week of the first day of the month, counted from Saturday (Julian day 5).
+    int first = (int)Math.floorMod(PersianYearTable.monthStart(year, month) - 5, 7L);
+    for (int w = 0; w < 7; w++) {
+      if ((daysOfWeek & (1 << w)) != 0) {
+        byWeek |= WEEKLY << (1 + Math.floorMod(w - first, 7));
+      }
+    }
+    return (either ? byDay | byWeek : byDay & byWeek) & all;
+  }
+  // The first firing minute of a day at or after the specified minute, or -1.
+  private int minuteOf(int from) {
+    int hour = from / 60;
+    long m = minutes & (-1L << (from % 60));
+    if ((hours & (1 << hour)) != 0 && m != 0) {
+      return hour * 60 + Long.numberOfTrailingZeros(m);
+    }
+    int h = hour < 23 ? hours & (-1 << (hour + 1)) : 0;
+    return h == 0 ? -1 : Integer.numberOfTrailingZeros(h) * 60 + Long.numberOfTrailingZeros(minutes);
+  }
+  // The first firing local time at or after the specified one, or null.
+  private LocalDateTime next(LocalDateTime from) {
+    long julianDay = from.toLocalDate().toEpochDay() + EPOCH_JULIAN_DAY;
+    long date = PersianYearTable.jp(julianDay);
+    long year = y(date);
+    int month = m(date);
+    int day = d(date);
+    int minute = from.getHour() * 60 + from.getMinute();
+    for (int i = 0; i < MAX_MONTHS; i++) {
+      if ((months & (1 << month)) != 0) {
+        long mask = daysOf(year, month) & (-1L << day);
+        while (mask != 0) {
+          int d = Long.numberOfTrailingZeros(mask);
+          int m = minuteOf(d == day ? minute : 0);
+          if (m >= 0) {
+            long j = PersianYearTable.monthStart(year, month) + d - 1;
+            return LocalDate.ofEpochDay(j - EPOCH_JULIAN_DAY).atTime(m / 60, m % 60);
+          }
+          mask &= mask - 1;
+        }
+      }
+      // The first day of the next month in the mask.
+      int later = months & (-1 << (month + 1));
+      if (later != 0) {
+        month = Integer.numberOfTrailingZeros(later);
+      } else {
+        year = PersianCalendarHelper.calendrica(PersianCalendarHelper.continuous(year) + 1);
+        month = Integer.numberOfTrailingZeros(months);
+      }
+      day = 1;
+      minute = 0;
+    }
+    return null;
+  }
+  /**
+    Returns the first time after the specified instant at which this expression fires.
+
+    @param after the instant.
+    @param zone the time zone in which the expression is evaluated.
+    @return the next firing time, or <code>null</code> if this expression never fires
+    (e.g., <code>"0 0 31 12 *"</code>).
+  */
+  public Instant nextFireTime(Instant after, ZoneId zone) {
+    LocalDateTime from = LocalDateTime.ofInstant(after, zone).truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+    while (true) {
+      LocalDateTime local = next(from);
+      if (local == null) {
+        return null;
+      }
+      Instant result = ZonedDateTime.ofLocal(local, zone, null).toInstant();
+      if (result.isAfter(after)) {
+        return result;
+      }
+      // A local time repeated by a transition of the zone, already passed.
+      from = local.plusMinutes(1);
+    }
+  }
+  /**
+    Returns the expression.
+
+    @return the expression.
+  */
+  @Override
+  public String toString() {
+    return expression;
+  }
+  /**
+    Runs a task at the times of this expression. Each run is scheduled on the
+    executor after the previous one completes. If a run of the task throws an
+    exception, the following runs are suppressed and the returned future completes
+    with the exception; otherwise, the runs continue until the future is cancelled.
+    If the executor rejects a run or does not run it (e.g., after
+    <code>shutdownNow</code>), the future completes with a
+    <code>RejectedExecutionException</code>.
+
+    @param executor the executor.
+    @param zone the time zone in which the expression is evaluated.
+    @param task the task.
+    @return a future representing the pending runs, whose delay is that of the next run.
+  */
+  public ScheduledFuture<?> schedule(ScheduledExecutorService executor, ZoneId zone, Runnable task) {
+    Schedule schedule = new Schedule(executor, zone, task);
+    schedule.scheduleAfter(Instant.now());
+    return schedule;
+  }
+
+  private final class Schedule implements ScheduledFuture<Object>, Runnable {
+    private final ScheduledExecutorService executor;
+    private final ZoneId zone;
+    private final Runnable task;
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile ScheduledFuture<?> current;
+    private volatile Instant fireTime;
+    private volatile boolean cancelled;
+    private volatile Throwable failure;
+
+    Schedule(ScheduledExecutorService executor, ZoneId zone, Runnable task) {
+      this.executor = executor;
+      this.zone = zone;
+      this.task = task;
+    }
+    void scheduleAfter(Instant after) {
+      Instant next = nextFireTime(after, zone);
+      if (next == null) {
+        complete(false, null);
+        return;
+      }
+      fireTime = next;
+      long delay = Math.max(0, next.toEpochMilli() - System.currentTimeMillis());
+      try {
+        current = executor.schedule(this, delay, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        complete(false, e);
+        return;
+      }
+      if (done.getCount() == 0) {
+        current.cancel(false);
+      }
+    }
+    // Completes this future unless it is already done.
+    private synchronized boolean complete(boolean cancel, Throwable t) {
+      if (done.getCount() == 0) {
+        return false;
+      }
+      cancelled = cancel;
+      failure = t;
+      done.countDown();
+      return true;
+    }
+    // Completes this future if the executor will not run the pending run: it was
+    // cancelled other than by this future (e.g., on shutdown), or the executor
+    // terminated without running it (e.g., it was dropped by shutdownNow).
+    private void checkDropped() {
+      ScheduledFuture<?> f = current;
+      if (done.getCount() != 0 && f != null && (f.isCancelled() || executor.isTerminated() && !f.isDone()) && f == current) {
+        complete(false, new RejectedExecutionException("The executor did not run the scheduled task"));
+      }
+    }
+    @Override
+    public void run() {
+      if (done.getCount() == 0) {
+        return;
+      }
+      try {
+        task.run();
+      } catch (Throwable t) {
+        complete(false, t);
+        return;
+      }
+      // The executor may run the task slightly before its time; never fire twice for one time.
+      Instant now = Instant.now();
+      scheduleAfter(now.isAfter(fireTime) ? now : fireTime);
+    }
+    @Override
+    public long getDelay(TimeUnit unit) {
+      ScheduledFuture<?> f = current;
+      return f == null ? 0 : f.getDelay(unit);
+    }
+    @Override
+    public int compareTo(Delayed other) {
+      return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      if (!complete(true, null)) {
+        return false;
+      }
+      ScheduledFuture<?> f = current;
+      if (f != null) {
+        f.cancel(mayInterruptIfRunning);
+      }
+      return true;
+    }
+    @Override
+    public boolean isCancelled() {
+      return cancelled;
+    }
+    @Override
+    public boolean isDone() {
+      checkDropped();
+      return done.getCount() == 0;
+    }
+    @Override
+    public Object get() throws InterruptedException, ExecutionException {
+      while (!done.await(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+        checkDropped();
+      }
+      return result();
+    }
+    @Override
+    public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+      long deadline = System.nanoTime() + unit.toNanos(timeout);
+      while (true) {
+        long remaining = deadline - System.nanoTime();
+        if (done.await(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_MILLIS)), TimeUnit.NANOSECONDS)) {
+          return result();
+        }
+        checkDropped();
+        if (done.getCount() != 0 && remaining <= 0) {
+          throw new TimeoutException();
+        }
+      }
+    }
+    private Object result() throws ExecutionException {
+      if (cancelled) {
+        throw new CancellationException();
+      }
+      if (failure != null) {
+        throw new ExecutionException(failure);
+      }
+      return null;
+    }
+  }
+}
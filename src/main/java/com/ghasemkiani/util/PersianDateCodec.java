@@ -0,0 +1,254 @@
+/*
+  PersianDateCodec.java
+  2026-10-19 16:31:08
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static com.ghasemkiani.util.PersianCalendarUtils.*;
+
+/**
+  <p>This class contains functions for writing Persian dates to, and reading them
+  from, <code>java.nio.ByteBuffer</code>s in compact binary forms suitable for
+  persistence. Three forms are supported:</p>
+
+  <ul>
+    <li><strong>Fixed:</strong> 4 bytes holding a 32-bit integer whose bits are,
+    from the most significant, the signed year (23 bits), the zero-based month (4 bits),
+    and the day of month (5 bits). The byte order of the buffer is used.</li>
+    <li><strong>Key:</strong> the fixed form with the sign bit flipped, always written
+    in big-endian order, so that comparing keys as unsigned bytes (as sorted key-value
+    stores do) orders them in the order of the Persian calendar.</li>
+    <li><strong>Varint:</strong> the difference of the Julian day from a base Julian day
+    (by default, <code>{@link PersianCalendarUtils#EPOCH}</code>), zigzag-encoded and
+    written 7 bits per byte, least significant group first. Dates within a few
+    centuries of the base take 3 bytes. In the bulk form, each date is written as the
+    difference from the previous one, so sorted arrays of dates take one or two bytes
+    per date.</li>
+  </ul>
+
+  <p>The fixed and key forms take and return dates packed in the same format as
+  <code>{@link PersianCalendarHelper#jp(long)}</code>, and support the years
+  -4194304 to 4194303. This layout is fixed and will not change, while the
+  layout of the packed long values used in memory is not meant for persistence.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public class PersianDateCodec {
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   */
+  private PersianDateCodec() {
+    // Utility class; should not be instantiated
+    throw new IllegalStateException("Utility class");
+  }
+  /**
+    Number of bytes of the fixed and key forms.
+  */
+  public static final int FIXED_BYTES = 4;
+  /**
+    Maximum number of bytes of the varint form.
+  */
+  public static final int MAX_VARINT_BYTES = 10;
+  private static final long MIN_YEAR = -(1L << 22);
+  private static final long MAX_YEAR = (1L << 22) - 1;
+
+  /**
+    Converts a packed date to the 32-bit integer of the fixed form.
+
+    @param date a packed long value containing the Persian year, month, and day.
+    @return the 32-bit integer of the fixed form.
+    @throws IllegalArgumentException if the date cannot be represented in the fixed form.
+  */
+  public static int toFixed(long date) {
+    long year = y(date);
+    int month = m(date);
+    int day = d(date);
+    if (year < MIN_YEAR || year > MAX_YEAR || month > 11 || day < 1 || day > 31) {
+      throw new IllegalArgumentException("Date cannot be encoded: " + year + "/" + (month + 1) + "/" + day);
+    }
+    return (int)(year << 9) | (month << 5) | day;
+  }
+  /**
+    Converts the 32-bit integer of the fixed form to a packed date.
+
+    @param fixed the 32-bit integer of the fixed form.
+    @return a packed long value containing the Persian year, month, and day.
+  */
+  public static long fromFixed(int fixed) {
+    long year = fixed >> 9;
+    int month = (fixed >> 5) & 0xf;
+    int day = fixed & 0x1f;
+    return (year << 16) | (month << 8) | day;
+  }
+  /**
+    Writes a date in the fixed form at the current position of the buffer.
+
+    @param buffer the buffer.
+    @param date a packed long value containing the Persian year, month, and day.
+  */
+  public static void putFixed(ByteBuffer buffer, long date) {
+    buffer.putInt(toFixed(date));
+  }
+  /**
+    Reads a date in the fixed form from the current position of the buffer.
+
+    @param buffer the buffer.
+    @return a packed long value containing the Persian year, month, and day.
+  */
+  public static long getFixed(ByteBuffer buffer) {
+    return fromFixed(buffer.getInt());
+  }
+  /**
+    Writes dates in the fixed form at the current position of the buffer.
+
+    @param buffer the buffer.
+    @param dates the packed dates.
+    @param offset the index of the first date to write.
+    @param length the number of dates to write.
+  */
+  public static void putFixed(ByteBuffer buffer, long[] dates, int offset, int length) {
+    for (int i = offset; i < offset + length; i++) {
+      buffer.putInt(toFixed(dates[i]));
+    }
+  }
+  /**
+    Reads dates in the fixed form from the current position of the buffer.
+
+    @param buffer the buffer.
+    @param dates the array receiving the packed dates.
+    @param offset the index of the first date to read.
+    @param length the number of dates to read.
+  */
+  public static void getFixed(ByteBuffer buffer, long[] dates, int offset, int length) {
+    for (int i = offset; i < offset + length; i++) {
+      dates[i] = fromFixed(buffer.getInt());
+    }
+  }
+  /**
+    Writes a date as an order-preserving big-endian key at the current position of the buffer.
+    The byte order of the buffer is not used.
+
+    @param buffer the buffer.
+    @param date a packed long value containing the Persian year, month, and day.
+  */
+  public static void putKey(ByteBuffer buffer, long date) {
+    int key = toFixed(date) ^ Integer.MIN_VALUE;
+    buffer.put((byte)(key >>> 24));
+    buffer.put((byte)(key >>> 16));
+    buffer.put((byte)(key >>> 8));
+    buffer.put((byte)key);
+  }
+  /**
+    Reads a date written as an order-preserving key from the current position of the buffer.
+
+    @param buffer the buffer.
+    @return a packed long value containing the Persian year, month, and day.
+  */
+  public static long getKey(ByteBuffer buffer) {
+    int key = (buffer.get() & 0xff) << 24 | (buffer.get() & 0xff) << 16 | (buffer.get() & 0xff) << 8 | (buffer.get() & 0xff);
+    return fromFixed(key ^ Integer.MIN_VALUE);
+  }
+  /**
+    Returns the order-preserving key of a date as a byte array.
+
+    @param date a packed long value containing the Persian year, month, and day.
+    @return the key.
+  */
+  public static byte[] toKey(long date) {
+    byte[] key = new byte[FIXED_BYTES];
+    putKey(ByteBuffer.wrap(key), date);
+    return key;
+  }
+  /**
+    Writes a Julian day in the varint form, relative to <code>{@link PersianCalendarUtils#EPOCH}</code>.
+
+    @param buffer the buffer.
+    @param julianDay the Julian day.
+  */
+  public static void putVarint(ByteBuffer buffer, long julianDay) {
+    putVarint(buffer, julianDay, EPOCH);
+  }
+  /**
+    Writes a Julian day in the varint form, relative to the specified base.
+
+    @param buffer the buffer.
+    @param julianDay the Julian day.
+    @param base the base Julian day.
+  */
+  public static void putVarint(ByteBuffer buffer, long julianDay, long base) {
+    long delta = julianDay - base;
+    long v = (delta << 1) ^ (delta >> 63);
+    while ((v & ~0x7fL) != 0) {
+      buffer.put((byte)((v & 0x7f) | 0x80));
+      v >>>= 7;
+    }
+    buffer.put((byte)v);
+  }
+  /**
+    Reads a Julian day written in the varint form relative to <code>{@link PersianCalendarUtils#EPOCH}</code>.
+
+    @param buffer the buffer.
+    @return the Julian day.
+  */
+  public static long getVarint(ByteBuffer buffer) {
+    return getVarint(buffer, EPOCH);
+  }
+  /**
+    Reads a Julian day written in the varint form relative to the specified base.
+
+    @param buffer the buffer.
+    @param base the base Julian day.
+    @return the Julian day.
+  */
+  public static long getVarint(ByteBuffer buffer, long base) {
+    long v = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = buffer.get();
+      v |= (long)(b & 0x7f) << shift;
+      if (b >= 0) {
+        return ((v >>> 1) ^ -(v & 1)) + base;
+      }
+    }
+    throw new BufferUnderflowException();
+  }
+  /**
+    Writes Julian days in the varint form, each relative to the previous one
+    (the first one relative to <code>{@link PersianCalendarUtils#EPOCH}</code>).
+
+    @param buffer the buffer.
+    @param julianDays the Julian days.
+    @param offset the index of the first Julian day to write.
+    @param length the number of Julian days to write.
+  */
+  public static void putVarints(ByteBuffer buffer, long[] julianDays, int offset, int length) {
+    long base = EPOCH;
+    for (int i = offset; i < offset + length; i++) {
+      putVarint(buffer, julianDays[i], base);
+      base = julianDays[i];
+    }
+  }
+  /**
+    Reads Julian days written by <code>{@link #putVarints(ByteBuffer, long[], int, int)}</code>.
+
+    @param buffer the buffer.
+    @param julianDays the array receiving the Julian days.
+    @param offset the index of the first Julian day to read.
+    @param length the number of Julian days to read.
+  */
+  public static void getVarints(ByteBuffer buffer, long[] julianDays, int offset, int length) {
+    long base = EPOCH;
+    for (int i = offset; i < offset + length; i++) {
+      base = getVarint(buffer, base);
+      julianDays[i] = base;
+    }
+  }
+}
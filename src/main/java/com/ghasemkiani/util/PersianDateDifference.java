@@ -0,0 +1,141 @@
+/*
+  PersianDateDifference.java
+  2026-10-19 22:58:40
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import static com.ghasemkiani.util.PersianCalendarUtils.*;
+
+/**
+  <p>This class computes the differences between dates in years, months, and days
+  of the Persian calendar, e.g., ages and tenures, singly or in bulk into
+  primitive arrays.</p>
+
+  <p>The difference from a start day to an end day is the largest number of whole
+  months after which the <em>anniversary</em> of the start day does not pass the
+  end day, split into years and months, followed by the days from that
+  anniversary to the end day. The anniversary keeps the day of month of the start
+  day, pinned to the last day of shorter months, as the monthly steps of
+  <code>{@link PersianDateRange}</code> do. Thus:</p>
+
+  <ul>
+    <li>from 31 Shahrivar to 30 Mehr is 1 month (the monthly anniversary of
+    31 Shahrivar in Mehr is 30 Mehr), and to 29 Mehr is 29 days;</li>
+    <li>from 30 Esfand of a leap year to 29 Esfand of the next year is 1 year, and to
+    1 Farvardin after it is 1 year and 1 day;</li>
+    <li>from 29 Esfand of a common year to 30 Esfand of the next (leap) year is
+    1 year and 1 day.</li>
+  </ul>
+
+  <p>When no pinning is involved (the day of month of the start day is at most 29),
+  the results are the same as those of successive <code>fieldDifference</code>
+  calls on <code>{@link com.ghasemkiani.util.icu.PersianCalendar}</code> for the
+  year, month, and day. If the end day precedes the start day, the difference is
+  computed from the end day to the start day and all three parts are negated.</p>
+
+  <p>Days are given as Julian days. The dates are obtained from the cached year
+  starts of <code>{@link PersianYearTable}</code> and the fixed layout of the
+  months, so each difference takes constant time; in the bulk methods, the
+  reference day is converted only once.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public class PersianDateDifference {
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   */
+  private PersianDateDifference() {
+    // Utility class; should not be instantiated
+    throw new IllegalStateException("Utility class");
+  }
+
+  // Number of whole months from the start date to the end date, the latter not preceding the former.
+  private static long months(long startDate, long endDate) {
+    long startYear = PersianCalendarHelper.continuous(y(startDate));
+    long endYear = y(endDate);
+    int startMonth = m(startDate);
+    int endMonth = m(endDate);
+    long months = (PersianCalendarHelper.continuous(endYear) - startYear) * 12 + endMonth - startMonth;
+    if (Math.min(d(startDate), PersianYearTable.monthLength(endYear, endMonth)) > d(endDate)) {
+      months--;
+    }
+    return months;
+  }
+  // Julian day of the anniversary of the start date after the specified number of months.
+  private static long anniversary(long startDate, long months) {
+    long m = m(startDate) + months;
+    long year = PersianCalendarHelper.calendrica(PersianCalendarHelper.continuous(y(startDate)) + Math.floorDiv(m, 12L));
+    int month = (int)Math.floorMod(m, 12L);
+    return PersianYearTable.monthStart(year, month) + Math.min(d(startDate), PersianYearTable.monthLength(year, month)) - 1;
+  }
+  /**
+    Returns the difference between two days.
+
+    @param startJulianDay the start day, e.g., the birth day.
+    @param endJulianDay the end day.
+    @return an array of the years, months (0 to 11), and days (0 to 30) of the difference.
+  */
+  public static int[] between(long startJulianDay, long endJulianDay) {
+    int[] years = new int[1];
+    int[] months = new int[1];
+    int[] days = new int[1];
+    between(new long[] {startJulianDay}, 0, 1, endJulianDay, years, months, days);
+    return new int[] {years[0], months[0], days[0]};
+  }
+  /**
+    Computes the differences from start days to a reference day.
+
+    @param startJulianDays the start days, e.g., the birth days.
+    @param offset the index of the first start day.
+    @param length the number of start days.
+    @param referenceJulianDay the reference day, e.g., today.
+    @param years the array receiving the years, at the same indexes as the start days.
+    @param months the array receiving the months (0 to 11), at the same indexes as the start days.
+    @param days the array receiving the days (0 to 30), at the same indexes as the start days.
+  */
+  public static void between(long[] startJulianDays, int offset, int length, long referenceJulianDay,
+                             int[] years, int[] months, int[] days) {
+    long reference = PersianYearTable.jp(referenceJulianDay);
+    for (int i = offset; i < offset + length; i++) {
+      long startJulianDay = startJulianDays[i];
+      long start = PersianYearTable.jp(startJulianDay);
+      int sign = 1;
+      long from = start;
+      long to = reference;
+      long toJulianDay = referenceJulianDay;
+      if (startJulianDay > referenceJulianDay) {
+        sign = -1;
+        from = reference;
+        to = start;
+        toJulianDay = startJulianDay;
+      }
+      long n = months(from, to);
+      years[i] = sign * (int)(n / 12);
+      months[i] = sign * (int)(n % 12);
+      days[i] = sign * (int)(toJulianDay - anniversary(from, n));
+    }
+  }
+  /**
+    Computes the completed years from start days to a reference day, e.g., ages.
+
+    @param startJulianDays the start days, e.g., the birth days.
+    @param offset the index of the first start day.
+    @param length the number of start days.
+    @param referenceJulianDay the reference day, e.g., today.
+    @param years the array receiving the years, at the same indexes as the start days;
+    negative if the start day follows the reference day.
+  */
+  public static void years(long[] startJulianDays, int offset, int length, long referenceJulianDay, int[] years) {
+    long reference = PersianYearTable.jp(referenceJulianDay);
+    for (int i = offset; i < offset + length; i++) {
+      long start = PersianYearTable.jp(startJulianDays[i]);
+      years[i] = startJulianDays[i] > referenceJulianDay ? -(int)(months(reference, start) / 12) : (int)(months(start, reference) / 12);
+    }
+  }
+}
@@ -0,0 +1,337 @@
+/*
+  PersianDateRange.java
+  2026-10-19 10:05:17
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import java.util.Comparator;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import static com.ghasemkiani.util.PersianCalendarUtils.*;
+
+/**
+  This class represents an inclusive range of dates in the Persian calendar,
+  stepped by a number of days, weeks, or months. The dates of the range are
+  produced as packed long values, in the same format as
+  <code>{@link PersianCalendarHelper#jp(long)}</code>; see
+  <code>{@link PersianCalendarUtils}</code> for extraction of the fields.
+
+  <p>The range is iterated by incrementing the day, month, and year counters using
+  the known lengths of the months, so no date is converted individually. Its
+  spliterator is splittable on year (or, for short ranges, month) boundaries,
+  which makes parallel streams over long ranges scale well.</p>
+
+  <p>When stepping by months, the day of month of the start date is kept, and
+  pinned to the last day of shorter months (e.g., 31 Shahrivar, 30 Mehr,
+  30 Aban, ...).</p>
+
+  <p>Instances of this class are immutable.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public final class PersianDateRange implements Iterable<Long> {
+  /**
+    Units of the step of a range.
+  */
+  public enum Unit {
+    /**
+      The range is stepped by days.
+    */
+    DAY,
+    /**
+      The range is stepped by weeks (7 days).
+    */
+    WEEK,
+    /**
+      The range is stepped by months.
+    */
+    MONTH
+  }
+
+  private final long startYear;
+  private final int startMonth;
+  private final int startDay;
+  private final long startJulianDay;
+  private final long endJulianDay;
+  private final Unit unit;
+  private final int step;
+
+  /**
+    Constructs a daily range of Persian dates.
+
+    @param startYear the Persian year of the first date.
+    @param startMonth the Persian month (zero-based) of the first date.
+    @param startDay the Persian day of month of the first date.
+    @param endYear the Persian year of the last date.
+    @param endMonth the Persian month (zero-based) of the last date.
+    @param endDay the Persian day of month of the last date.
+  */
+  public PersianDateRange(long startYear, int startMonth, int startDay, long endYear, int endMonth, int endDay) {
+    this(startYear, startMonth, startDay, endYear, endMonth, endDay, Unit.DAY, 1);
+  }
+  /**
+    Constructs a range of Persian dates with the specified step.
+
+    @param startYear the Persian year of the first date.
+    @param startMonth the Persian month (zero-based) of the first date.
+    @param startDay the Persian day of month of the first date.
+    @param endYear the Persian year of the last possible date.
+    @param endMonth the Persian month (zero-based) of the last possible date.
+    @param endDay the Persian day of month of the last possible date.
+    @param unit the unit of the step.
+    @param step the number of units between consecutive dates; must be positive.
+  */
+  public PersianDateRange(long startYear, int startMonth, int startDay, long endYear, int endMonth, int endDay, Unit unit, int step) {
+    if (unit == null) {
+      throw new NullPointerException("unit");
+    }
+    if (step <= 0) {
+      throw new IllegalArgumentException("Step must be positive: " + step);
+    }
+    if (startMonth < 0 || startMonth > 11 || startDay < 1 || startDay > PersianYearTable.monthLength(startYear, startMonth)) {
+      throw new IllegalArgumentException("Invalid start date: " + startYear + "/" + (startMonth + 1) + "/" + startDay);
+    }
+    if (endMonth < 0 || endMonth > 11 || endDay < 1 || endDay > PersianYearTable.monthLength(endYear, endMonth)) {
+      throw new IllegalArgumentException("Invalid end date: " + endYear + "/" + (endMonth + 1) + "/" + endDay);
+    }
+    this.startYear = startYear;
+    this.startMonth = startMonth;
+    this.startDay = startDay;
+    this.startJulianDay = PersianYearTable.pj(startYear, startMonth, startDay);
+    this.endJulianDay = PersianYearTable.pj(endYear, endMonth, endDay);
+    this.unit = unit;
+    this.step = step;
+  }
+  /**
+    Returns the Julian day of the first date of this range.
+
+    @return the Julian day of the first date.
+  */
+  public long getStartJulianDay() {
+    return startJulianDay;
+  }
+  /**
+    Returns the Julian day of the end of this range. The end is inclusive, but
+    it is not necessarily a date of the range if the step is greater than one day.
+
+    @return the Julian day of the end of this range.
+  */
+  public long getEndJulianDay() {
+    return endJulianDay;
+  }
+  /**
+    Returns the unit of the step of this range.
+
+    @return the unit of the step.
+  */
+  public Unit getUnit() {
+    return unit;
+  }
+  /**
+    Returns the number of units between consecutive dates of this range.
+
+    @return the step.
+  */
+  public int getStep() {
+    return step;
+  }
+  /**
+    Returns the number of dates in this range.
+
+    @return the number of dates.
+  */
+  public long size() {
+    return new RangeSpliterator(this).estimateSize();
+  }
+  /**
+    Returns an iterator over the packed Persian dates of this range.
+
+    @return an iterator over the dates.
+  */
+  public PrimitiveIterator.OfLong iterator() {
+    return Spliterators.iterator(spliterator());
+  }
+  /**
+    Returns a spliterator over the packed Persian dates of this range.
+    The spliterator splits on year or month boundaries.
+
+    @return a spliterator over the dates.
+  */
+  public Spliterator.OfLong spliterator() {
+    return new RangeSpliterator(this);
+  }
+  /**
+    Returns a sequential stream of the packed Persian dates of this range.
+    Call <code>parallel()</code> on the result for parallel processing.
+
+    @return a stream of the dates.
+  */
+  public LongStream stream() {
+    return StreamSupport.longStream(spliterator(), false);
+  }
+  /**
+    Returns a usable string representation of this range.
+
+    @return a usable string representation of this range.
+  */
+  public String toString() {
+    long end = PersianYearTable.jp(endJulianDay);
+    return "" + startYear + "/" + (startMonth + 1) + "/" + startDay + ".." + y(end) + "/" + (m(end) + 1) + "/" + d(end) + " step " + step + " " + unit;
+  }
+
+  private static final class RangeSpliterator implements Spliterator.OfLong {
+    private static final int CHARACTERISTICS = ORDERED | DISTINCT | SORTED | NONNULL | IMMUTABLE | SIZED | SUBSIZED;
+    private final Unit unit;
+    private final int step;
+    // Day of month kept when stepping by months.
+    private final int anchorDay;
+    private long year;
+    private int month;
+    private int day;
+    private int monthLength;
+    private long julianDay;
+    private final long end;
+
+    RangeSpliterator(PersianDateRange range) {
+      this.unit = range.unit;
+      this.step = range.unit == Unit.WEEK ? 7 * range.step : range.step;
+      this.anchorDay = range.startDay;
+      this.end = range.endJulianDay;
+      moveTo(range.startYear, range.startMonth, range.startDay, range.startJulianDay);
+    }
+    private RangeSpliterator(RangeSpliterator other, long end) {
+      this.unit = other.unit;
+      this.step = other.step;
+      this.anchorDay = other.anchorDay;
+      this.end = end;
+      moveTo(other.year, other.month, other.day, other.julianDay);
+    }
+    private void moveTo(long year, int month, int day, long julianDay) {
+      this.year = year;
+      this.month = month;
+      this.day = day;
+      this.monthLength = PersianYearTable.monthLength(year, month);
+      this.julianDay = julianDay;
+    }
+    // Index of a month counted in continuous years, skipping the nonexistent year zero.
+    private static long monthIndex(long year, int month) {
+      return PersianCalendarHelper.continuous(year) * 12 + month;
+    }
+    private void moveToMonth(long monthIndex) {
+      long y = PersianCalendarHelper.calendrica(Math.floorDiv(monthIndex, 12));
+      int m = (int)Math.floorMod(monthIndex, 12);
+      int length = PersianYearTable.monthLength(y, m);
+      int d = Math.min(anchorDay, length);
+      year = y;
+      month = m;
+      day = d;
+      monthLength = length;
+      julianDay = PersianYearTable.monthStart(y, m) + d - 1;
+    }
+    private void advance() {
+      if (unit == Unit.MONTH) {
+        moveToMonth(monthIndex(year, month) + step);
+        return;
+      }
+      julianDay += step;
+      day += step;
+      while (day > monthLength) {
+        day -= monthLength;
+        if (++month == 12) {
+          month = 0;
+          year = PersianCalendarHelper.calendrica(PersianCalendarHelper.continuous(year) + 1);
+        }
+        monthLength = PersianYearTable.monthLength(year, month);
+      }
+    }
+    public boolean tryAdvance(LongConsumer action) {
+      if (julianDay > end) {
+        return false;
+      }
+      action.accept((year << 16) | (month << 8) | day);
+      advance();
+      return true;
+    }
+    public void forEachRemaining(LongConsumer action) {
+      while (julianDay <= end) {
+        action.accept((year << 16) | (month << 8) | day);
+        advance();
+      }
+    }
+    public long estimateSize() {
+      if (julianDay > end) {
+        return 0;
+      }
+      if (unit != Unit.MONTH) {
+        return (end - julianDay) / step + 1;
+      }
+      long e = PersianYearTable.jp(end);
+      long months = monthIndex(y(e), m(e)) - monthIndex(year, month);
+      long count = months / step;
+      if (Math.min(anchorDay, PersianYearTable.monthLength(y(e), m(e))) > d(e) && months % step == 0) {
+        count--;
+      }
+      return count + 1;
+    }
+    public Spliterator.OfLong trySplit() {
+      long size = estimateSize();
+      if (size < 2) {
+        return null;
+      }
+      if (unit == Unit.MONTH) {
+        // Prefer a split at the first month of a year.
+        long index = monthIndex(year, month);
+        long mid = index + (size / 2) * step;
+        long aligned = mid;
+        for (long k = mid; k > index && k > mid - 12L * step; k -= step) {
+          if (Math.floorMod(k, 12) < step) {
+            aligned = k;
+            break;
+          }
+        }
+        RangeSpliterator prefix = new RangeSpliterator(this, PersianYearTable.monthStart(PersianCalendarHelper.calendrica(Math.floorDiv(aligned, 12)), (int)Math.floorMod(aligned, 12)) - 1);
+        moveToMonth(aligned);
+        return prefix;
+      }
+      long mid = julianDay + (end - julianDay) / 2;
+      long midYear = PersianYearTable.year(mid);
+      long boundary = PersianYearTable.yearStart(midYear);
+      if (boundary <= julianDay) {
+        boundary = PersianYearTable.yearStart(PersianCalendarHelper.calendrica(PersianCalendarHelper.continuous(midYear) + 1));
+      }
+      if (boundary > end) {
+        long r = PersianYearTable.jp(mid);
+        boundary = PersianYearTable.monthStart(y(r), m(r));
+        if (boundary <= julianDay) {
+          boundary += PersianYearTable.monthLength(y(r), m(r));
+        }
+      }
+      // Align the boundary with the dates of the range.
+      boundary += Math.floorMod(julianDay - boundary, (long)step);
+      if (boundary <= julianDay || boundary > end) {
+        return null;
+      }
+      RangeSpliterator prefix = new RangeSpliterator(this, boundary - 1);
+      long r = PersianYearTable.jp(boundary);
+      moveTo(y(r), m(r), d(r), boundary);
+      return prefix;
+    }
+    public int characteristics() {
+      return CHARACTERISTICS;
+    }
+    public Comparator<? super Long> getComparator() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,226 @@
+/*
+  PersianDigits.java
+  2026-10-19 21:48:53
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+  <p>This class contains functions for converting the digits of text between the
+  ASCII (<code>0123456789</code>), Arabic-Indic (<code>&#x660;&#x661;&#x662;&#x663;&#x664;&#x665;&#x666;&#x667;&#x668;&#x669;</code>),
+  and Extended Arabic-Indic, or Persian (<code>&#x6f0;&#x6f1;&#x6f2;&#x6f3;&#x6f4;&#x6f5;&#x6f6;&#x6f7;&#x6f8;&#x6f9;</code>),
+  scripts. Digits of any of the three scripts are converted to the target script;
+  other characters are left unchanged.</p>
+
+  <p>The conversions work in place on <code>char[]</code>, <code>CharBuffer</code>,
+  and <code>StringBuilder</code>, and allocate nothing. Each character is mapped by
+  one lookup in a table of the characters below U+0700 (3.5 KB per script), so
+  text of any script is converted in a single pass without branching on the
+  script of the digits.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public class PersianDigits {
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   */
+  private PersianDigits() {
+    // Utility class; should not be instantiated
+    throw new IllegalStateException("Utility class");
+  }
+  /**
+    Scripts of digits.
+  */
+  public enum Script {
+    /**
+      ASCII digits, U+0030 to U+0039.
+    */
+    ASCII('0'),
+    /**
+      Arabic-Indic digits, U+0660 to U+0669.
+    */
+    ARABIC_INDIC('\u0660'),
+    /**
+      Extended Arabic-Indic (Persian) digits, U+06F0 to U+06F9.
+    */
+    PERSIAN('\u06f0');
+
+    private final char zero;
+    Script(char zero) {
+      this.zero = zero;
+    }
+    /**
+      Returns the digit zero of this script.
+
+      @return the digit zero.
+    */
+    public char zero() {
+      return zero;
+    }
+  }
+
+  // Characters from LIMIT up contain no digits.
+  private static final int LIMIT = 0x700;
+  // TABLES[script][c] is c with its digit, if any, converted to the script.
+  private static final char[][] TABLES = new char[Script.values().length][LIMIT];
+  // VALUES[c] is the value of the digit c, or -1.
+  private static final byte[] VALUES = new byte[LIMIT];
+  static {
+    Arrays.fill(VALUES, (byte)-1);
+    for (Script to : Script.values()) {
+      char[] table = TABLES[to.ordinal()];
+      for (int c = 0; c < LIMIT; c++) {
+        table[c] = (char)c;
+      }
+      for (Script from : Script.values()) {
+        for (int d = 0; d < 10; d++) {
+          table[from.zero + d] = (char)(to.zero + d);
+          VALUES[from.zero + d] = (byte)d;
+        }
+      }
+    }
+  }
+
+  /**
+    Returns the value of a digit of any of the scripts.
+
+    @param c the character.
+    @return the value of the digit (0 to 9), or -1 if <code>c</code> is not a digit.
+  */
+  public static int digit(char c) {
+    return c < LIMIT ? VALUES[c] : -1;
+  }
+  /**
+    Converts the digits of a character array to the specified script in place.
+
+    @param chars the characters.
+    @param offset the index of the first character.
+    @param length the number of characters.
+    @param to the target script.
+  */
+  public static void transliterate(char[] chars, int offset, int length, Script to) {
+    char[] table = TABLES[to.ordinal()];
+    for (int i = offset, end = offset + length; i < end; i++) {
+      char c = chars[i];
+      if (c < LIMIT) {
+        chars[i] = table[c];
+      }
+    }
+  }
+  /**
+    Converts the digits of a character array to the specified script in place.
+
+    @param chars the characters.
+    @param to the target script.
+  */
+  public static void transliterate(char[] chars, Script to) {
+    transliterate(chars, 0, chars.length, to);
+  }
+  /**
+    Converts the digits between the position and the limit of a buffer to the
+    specified script in place. The position and the limit are not changed.
+
+    @param buffer the buffer.
+    @param to the target script.
+  */
+  public static void transliterate(CharBuffer buffer, Script to) {
+    if (buffer.hasArray()) {
+      transliterate(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), to);
+      return;
+    }
+    char[] table = TABLES[to.ordinal()];
+    for (int i = buffer.position(), end = buffer.limit(); i < end; i++) {
+      char c = buffer.get(i);
+      if (c < LIMIT && table[c] != c) {
+        buffer.put(i, table[c]);
+      }
+    }
+  }
+  /**
+    Converts the digits of a part of a string builder to the specified script in place.
+
+    @param sb the string builder.
+    @param start the index of the first character.
+    @param end the index after the last character.
+    @param to the target script.
+  */
+  public static void transliterate(StringBuilder sb, int start, int end, Script to) {
+    char[] table = TABLES[to.ordinal()];
+    for (int i = start; i < end; i++) {
+      char c = sb.charAt(i);
+      if (c < LIMIT && table[c] != c) {
+        sb.setCharAt(i, table[c]);
+      }
+    }
+  }
+  /**
+    Converts the digits of a string builder to the specified script in place.
+
+    @param sb the string builder.
+    @param to the target script.
+  */
+  public static void transliterate(StringBuilder sb, Script to) {
+    transliterate(sb, 0, sb.length(), to);
+  }
+  /**
+    Converts the digits of a string to the specified script.
+
+    @param s the string.
+    @param to the target script.
+    @return the converted string; <code>s</code> itself if it has no digits to convert.
+  */
+  public static String transliterate(String s, Script to) {
+    char[] table = TABLES[to.ordinal()];
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c < LIMIT && table[c] != c) {
+        char[] chars = s.toCharArray();
+        transliterate(chars, i, chars.length - i, to);
+        return new String(chars);
+      }
+    }
+    return s;
+  }
+  /**
+    Parses a signed decimal number written in digits of any of the scripts, e.g.,
+    a field of a date.
+
+    @param s the text.
+    @param start the index of the first character.
+    @param end the index after the last character.
+    @return the number.
+    @throws NumberFormatException if the text is not a number or does not fit in a <code>long</code>.
+  */
+  public static long parseLong(CharSequence s, int start, int end) {
+    int i = start;
+    boolean negative = false;
+    if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+      negative = s.charAt(i) == '-';
+      i++;
+    }
+    if (i == end) {
+      throw new NumberFormatException("Not a number: \"" + s.subSequence(start, end) + "\"");
+    }
+    // The number is accumulated negatively, so Long.MIN_VALUE can be parsed.
+    long result = 0;
+    for (; i < end; i++) {
+      int d = digit(s.charAt(i));
+      if (d < 0 || result < (Long.MIN_VALUE + d) / 10) {
+        throw new NumberFormatException("Not a number: \"" + s.subSequence(start, end) + "\"");
+      }
+      result = result * 10 - d;
+    }
+    if (!negative && result == Long.MIN_VALUE) {
+      throw new NumberFormatException("Not a number: \"" + s.subSequence(start, end) + "\"");
+    }
+    return negative ? result : -result;
+  }
+}
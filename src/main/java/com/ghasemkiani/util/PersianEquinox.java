@@ -0,0 +1,148 @@
+/*
+  PersianEquinox.java
+  2026-10-19 21:02:10
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.ghasemkiani.util.calendrica.Calendrica;
+
+/**
+  <p>This class computes the moment of the vernal equinox, at which the Persian year
+  changes (<em>tahvil-e sal</em>). The astronomical Persian calendar begins the year
+  on the day whose true noon in Iran is the first to follow this moment.</p>
+
+  <p>The moment is found by a secant iteration on the solar longitude of
+  <code>{@link Calendrica#solarLongitude(double)}</code>, starting from the estimate
+  of <code>{@link Calendrica#estimatePriorSolarLongitude(double, double)}</code>, until
+  successive approximations differ by less than a millisecond. The results are
+  cached per year. The numerical precision is thus better than a millisecond; the
+  accuracy is that of the solar theory of Calendrica (within about a minute for
+  recent centuries, and less certain in the distant past, where the correction for
+  the rotation of the Earth is extrapolated).</p>
+
+  <p>The instants returned are in UTC; they can be shown in Iran time, for example,
+  by <code>instant.atZone(ZoneId.of("Asia/Tehran"))</code>.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public class PersianEquinox {
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   */
+  private PersianEquinox() {
+    // Utility class; should not be instantiated
+    throw new IllegalStateException("Utility class");
+  }
+  // The fixed day of 1970-01-01.
+  private static final long EPOCH_FIXED = 719163L;
+  private static final double DAY_MILLIS = 86400000.0;
+  // One millisecond, in days.
+  private static final double PRECISION = 1 / DAY_MILLIS;
+  private static final int MAX_ITERATIONS = 50;
+
+  private static final ConcurrentHashMap<Integer, Double> MOMENTS = new ConcurrentHashMap<>();
+
+  /**
+    Returns the moment of the vernal equinox in the specified Gregorian year, as a
+    fixed moment (days since the epoch of <code>{@link Calendrica}</code>) of Universal
+    Time.
+
+    @param gregorianYear the Gregorian year (proleptic, with a year 0).
+    @return the moment of the equinox.
+  */
+  public static double moment(int gregorianYear) {
+    Double moment = MOMENTS.get(gregorianYear);
+    if (moment == null) {
+      moment = compute(gregorianYear);
+      Double other = MOMENTS.putIfAbsent(gregorianYear, moment);
+      if (other != null) {
+        moment = other;
+      }
+    }
+    return moment;
+  }
+  private static double compute(int gregorianYear) {
+    // The equinox falls within a few days of March 20, so its estimate before April 1 is close.
+    double t0 = Calendrica.estimatePriorSolarLongitude(Calendrica.SPRING,
+                  Calendrica.fixedFromGregorian(new int[] {gregorianYear, 4, 1}));
+    double f0 = longitudeFromSpring(t0);
+    double t1 = t0 - f0 * Calendrica.MEAN_TROPICAL_YEAR / 360;
+    for (int i = 0; i < MAX_ITERATIONS && Math.abs(t1 - t0) >= PRECISION; i++) {
+      double f1 = longitudeFromSpring(t1);
+      if (f1 == f0) {
+        break;
+      }
+      double t = t1 - f1 * (t1 - t0) / (f1 - f0);
+      t0 = t1;
+      f0 = f1;
+      t1 = t;
+    }
+    return t1;
+  }
+  // The solar longitude in the range [-180, 180), which is 0 at the equinox.
+  private static double longitudeFromSpring(double tee) {
+    double lambda = Calendrica.solarLongitude(tee) - Calendrica.SPRING;
+    return lambda >= 180 ? lambda - 360 : lambda;
+  }
+  private static long millis(double moment) {
+    return Math.round((moment - EPOCH_FIXED) * DAY_MILLIS);
+  }
+  /**
+    Returns the instant of the vernal equinox in the specified Gregorian year.
+
+    @param gregorianYear the Gregorian year (proleptic, with a year 0).
+    @return the instant of the equinox.
+  */
+  public static Instant vernalEquinox(int gregorianYear) {
+    return Instant.ofEpochMilli(millis(moment(gregorianYear)));
+  }
+  /**
+    Returns the instant at which the specified Persian year begins (<em>tahvil-e sal</em>),
+    i.e., the vernal equinox preceding its first day.
+
+    @param persianYear the Persian year.
+    @return the instant of the equinox.
+  */
+  public static Instant newYear(long persianYear) {
+    return vernalEquinox(Math.toIntExact(PersianCalendarHelper.continuous(persianYear) + 621));
+  }
+  /**
+    Returns the instants of the vernal equinox in consecutive Gregorian years.
+
+    @param firstGregorianYear the first Gregorian year.
+    @param count the number of years.
+    @return the instants, in milliseconds since 1970-01-01 00:00:00 UTC.
+  */
+  public static long[] vernalEquinoxMillis(int firstGregorianYear, int count) {
+    long[] result = new long[count];
+    for (int i = 0; i < count; i++) {
+      result[i] = millis(moment(firstGregorianYear + i));
+    }
+    return result;
+  }
+  /**
+    Returns the instants at which consecutive Persian years begin. The year
+    before 1 is -1.
+
+    @param firstPersianYear the first Persian year.
+    @param count the number of years.
+    @return the instants, in milliseconds since 1970-01-01 00:00:00 UTC.
+  */
+  public static long[] newYearMillis(long firstPersianYear, int count) {
+    long[] result = new long[count];
+    long first = PersianCalendarHelper.continuous(firstPersianYear) + 621;
+    for (int i = 0; i < count; i++) {
+      result[i] = millis(moment(Math.toIntExact(first + i)));
+    }
+    return result;
+  }
+}
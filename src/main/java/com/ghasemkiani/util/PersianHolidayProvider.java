@@ -0,0 +1,35 @@
+/*
+  PersianHolidayProvider.java
+  2026-10-19 12:02:51
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+/**
+  This interface provides the holidays of a Persian year. It is used by
+  <code>{@link PersianBusinessCalendar}</code> to build the business days of
+  each year.
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public interface PersianHolidayProvider {
+  /**
+    A provider with no holidays.
+  */
+  public static final PersianHolidayProvider NONE = year -> new int[0];
+
+  /**
+    Returns the holidays of the specified Persian year as zero-based days of
+    the year (0 for 1 Farvardin, 365 for 30 Esfand of a leap year).
+    The result need not be sorted and may contain duplicates.
+
+    @param year the Persian year.
+    @return the zero-based days of the year that are holidays.
+  */
+  int[] getHolidays(long year);
+}
@@ -0,0 +1,97 @@
+/*
+  PersianLeapRule.java
+  2026-10-19 19:05:27
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+/**
+  <p>This interface is implemented by the rules determining the years of the
+  Persian calendar: the Julian day on which each year begins, and so its length
+  and leap status. The months are the same in every rule: six months of 31 days,
+  five of 30 days, and Esfand of 29 days, or 30 days in leap years.</p>
+
+  <p>The standard rules are the constants of <code>{@link StandardPersianLeapRule}</code>.
+  A rule is chosen for each instance of
+  <code>{@link com.ghasemkiani.util.icu.PersianCalendar}</code>, and may be passed to the
+  conversion methods of <code>{@link PersianCalendarHelper}</code>.</p>
+
+  <p>Only <code>{@link #yearStart(long)}</code> must be implemented; the other
+  methods are derived from it and may be overridden by faster implementations.
+  Implementations must be thread-safe.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public interface PersianLeapRule {
+  /**
+    Returns the Julian day of the first day (1 Farvardin) of the specified Persian year.
+
+    @param year the Persian year.
+    @return the Julian day on which the year begins.
+  */
+  long yearStart(long year);
+  /**
+    Returns the number of days in the specified Persian year.
+
+    @param year the Persian year.
+    @return 366 for a leap year, 365 otherwise.
+  */
+  default int yearLength(long year) {
+    return (int)(yearStart(year + 1) - yearStart(year));
+  }
+  /**
+    Determines if the specified year is a leap year.
+
+    @param year the Persian year.
+    @return <code>true</code> if <code>year</code> is a leap year, <code>false</code> otherwise.
+  */
+  default boolean isLeapYear(long year) {
+    return yearLength(year) == 366;
+  }
+  /**
+    Returns the Persian year containing the specified Julian day.
+
+    @param julianDay the Julian day.
+    @return the Persian year.
+  */
+  default long year(long julianDay) {
+    long year = 1 + Math.floorDiv((julianDay - PersianCalendarUtils.EPOCH) * PersianArithmeticCycle.CYCLE_YEARS, PersianArithmeticCycle.CYCLE_DAYS);
+    while (yearStart(year) > julianDay) {
+      year--;
+    }
+    while (yearStart(year + 1) <= julianDay) {
+      year++;
+    }
+    return year;
+  }
+  /**
+    Returns the Julian day corresponding to the specified date in the Persian calendar.
+
+    @param year the Persian year.
+    @param month the Persian month (zero-based).
+    @param day the Persian day.
+    @return the Julian day corresponding to the specified date in the Persian calendar.
+  */
+  default long pj(long year, int month, int day) {
+    return yearStart(year) + PersianYearTable.daysBeforeMonth(month) + day - 1;
+  }
+  /**
+    Returns the date in the Persian calendar corresponding to the specified Julian day,
+    packed in the same way as <code>{@link PersianCalendarHelper#jp(long)}</code>.
+
+    @param julianDay the Julian day.
+    @return a packed long value containing the corresponding Persian year, month, and day.
+  */
+  default long jp(long julianDay) {
+    long year = year(julianDay);
+    int dayOfYear = (int)(julianDay - yearStart(year));
+    int month = dayOfYear < 186 ? dayOfYear / 31 : (dayOfYear - 6) / 30;
+    int day = dayOfYear - PersianYearTable.daysBeforeMonth(month) + 1;
+    return (year << 16) | (month << 8) | day;
+  }
+}
@@ -0,0 +1,293 @@
+/*
+  PersianMonthGrid.java
+  2026-10-19 11:20:03
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import java.util.Calendar;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.ghasemkiani.util.calendrica.Calendrica;
+
+/**
+  This class holds the grid of a Persian month as displayed by calendar user
+  interfaces: 6 rows of 7 days, starting with the specified first day of the week
+  (Saturday by default). Each of the 42 cells has a Julian day, a Persian day of month,
+  and the equivalent Gregorian date; cells before and after the month contain the
+  days of the adjacent months.
+
+  <p>Grids are immutable and are cached per year, month, and first day of the week,
+  so a month is computed only once per process. Use <code>{@link #of(long, int)}</code>
+  or <code>{@link #of(long, int, int)}</code> to obtain a grid.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public final class PersianMonthGrid {
+  /**
+    Number of rows (weeks) in a grid.
+  */
+  public static final int ROWS = 6;
+  /**
+    Number of columns (days of week) in a grid.
+  */
+  public static final int COLUMNS = 7;
+  /**
+    Number of cells in a grid.
+  */
+  public static final int CELLS = ROWS * COLUMNS;
+
+  private static final long DIFF = 1721425L;
+
+  private static final class Cache {
+    final PersianYearStarts starts;
+    final ConcurrentHashMap<Long, PersianMonthGrid> map = new ConcurrentHashMap<>();
+    Cache(PersianYearStarts starts) {
+      this.starts = starts;
+    }
+  }
+  private static volatile Cache cache = new Cache(PersianYearStarts.current());
+
+  private final long year;
+  private final int month;
+  private final int firstDayOfWeek;
+  private final int offset;
+  private final int monthLength;
+  private final long[] julianDays = new long[CELLS];
+  private final int[] persianDays = new int[CELLS];
+  private final int[] gregorianYears = new int[CELLS];
+  private final int[] gregorianMonths = new int[CELLS];
+  private final int[] gregorianDays = new int[CELLS];
+
+  private PersianMonthGrid(long year, int month, int firstDayOfWeek) {
+    this.year = year;
+    this.month = month;
+    this.firstDayOfWeek = firstDayOfWeek;
+    long start = PersianYearTable.monthStart(year, month);
+    this.monthLength = PersianYearTable.monthLength(year, month);
+    this.offset = Math.floorMod(dayOfWeek(start) - firstDayOfWeek, 7);
+    int previousLength = month == 0 ? PersianYearTable.monthLength(PersianCalendarHelper.calendrica(PersianCalendarHelper.continuous(year) - 1), 11) : PersianYearTable.monthLength(year, month - 1);
+    long first = start - offset;
+    int[] g = Calendrica.gregorianFromFixed(first - DIFF);
+    int gy = g[0];
+    int gm = g[1] - 1;
+    int gd = g[2];
+    for (int i = 0; i < CELLS; i++) {
+      julianDays[i] = first + i;
+      int day = i - offset + 1;
+      if (day < 1) {
+        day += previousLength;
+      } else if (day > monthLength) {
+        day -= monthLength;
+      }
+      persianDays[i] = day;
+      gregorianYears[i] = gy;
+      gregorianMonths[i] = gm;
+      gregorianDays[i] = gd;
+      if (++gd > gregorianMonthLength(gy, gm)) {
+        gd = 1;
+        if (++gm == 12) {
+          gm = 0;
+          gy++;
+        }
+      }
+    }
+  }
+  /**
+    Returns the grid of the specified Persian month, with Saturday as the first day of the week.
+
+    @param year the Persian year.
+    @param month the Persian month (zero-based).
+    @return the grid of the month.
+  */
+  public static PersianMonthGrid of(long year, int month) {
+    return of(year, month, Calendar.SATURDAY);
+  }
+  /**
+    Returns the grid of the specified Persian month.
+
+    @param year the Persian year.
+    @param month the Persian month (zero-based).
+    @param firstDayOfWeek the first day of the week (use symbolic constants in the <code>java.util.Calendar</code> class).
+    @return the grid of the month.
+  */
+  public static PersianMonthGrid of(long year, int month, int firstDayOfWeek) {
+    if (month < 0 || month > 11) {
+      throw new IllegalArgumentException("Invalid month: " + month);
+    }
+    if (firstDayOfWeek < Calendar.SUNDAY || firstDayOfWeek > Calendar.SATURDAY) {
+      throw new IllegalArgumentException("Invalid first day of week: " + firstDayOfWeek);
+    }
+    Cache c = cache;
+    PersianYearStarts starts = PersianYearStarts.current();
+    if (c.starts != starts) {
+      c = new Cache(starts);
+      cache = c;
+    }
+    Long key = (year << 8) | (month << 3) | firstDayOfWeek;
+    PersianMonthGrid grid = c.map.get(key);
+    if (grid == null) {
+      grid = new PersianMonthGrid(year, month, firstDayOfWeek);
+      PersianMonthGrid other = c.map.putIfAbsent(key, grid);
+      if (other != null) {
+        grid = other;
+      }
+    }
+    return grid;
+  }
+  /**
+    Returns the day of week of the specified Julian day.
+
+    @param julianDay the Julian day.
+    @return the day of week (one of the symbolic constants in the <code>java.util.Calendar</code> class).
+  */
+  public static int dayOfWeek(long julianDay) {
+    return PersianCalendarUtils.dayOfWeek(julianDay);
+  }
+  private static int gregorianMonthLength(int year, int month) {
+    if (month == 1) {
+      return Calendrica.gregorianLeapYear(year) ? 29 : 28;
+    }
+    return month == 3 || month == 5 || month == 8 || month == 10 ? 30 : 31;
+  }
+  /**
+    Returns the Persian year of this grid.
+
+    @return the Persian year.
+  */
+  public long getYear() {
+    return year;
+  }
+  /**
+    Returns the Persian month of this grid.
+
+    @return the Persian month (zero-based).
+  */
+  public int getMonth() {
+    return month;
+  }
+  /**
+    Returns the first day of the week of this grid.
+
+    @return the first day of the week (one of the symbolic constants in the <code>java.util.Calendar</code> class).
+  */
+  public int getFirstDayOfWeek() {
+    return firstDayOfWeek;
+  }
+  /**
+    Returns the index of the cell containing the first day of the month,
+    which is also the weekday offset of the first day from the start of the week.
+
+    @return the index of the cell of the first day of the month.
+  */
+  public int getOffset() {
+    return offset;
+  }
+  /**
+    Returns the number of days in the month of this grid.
+
+    @return the length of the month.
+  */
+  public int getMonthLength() {
+    return monthLength;
+  }
+  /**
+    Determines if the specified cell belongs to the month of this grid
+    (and not to the previous or the next month).
+
+    @param cell the index of the cell (0 to 41).
+    @return <code>true</code> if the cell belongs to the month of this grid.
+  */
+  public boolean isInMonth(int cell) {
+    return cell >= offset && cell < offset + monthLength;
+  }
+  /**
+    Returns the Julian day of the specified cell.
+
+    @param cell the index of the cell (0 to 41).
+    @return the Julian day.
+  */
+  public long getJulianDay(int cell) {
+    return julianDays[cell];
+  }
+  /**
+    Returns the Persian day of month of the specified cell.
+
+    @param cell the index of the cell (0 to 41).
+    @return the Persian day of month.
+  */
+  public int getPersianDay(int cell) {
+    return persianDays[cell];
+  }
+  /**
+    Returns the Gregorian year of the specified cell.
+
+    @param cell the index of the cell (0 to 41).
+    @return the Gregorian year.
+  */
+  public int getGregorianYear(int cell) {
+    return gregorianYears[cell];
+  }
+  /**
+    Returns the Gregorian month of the specified cell.
+
+    @param cell the index of the cell (0 to 41).
+    @return the Gregorian month (zero-based, as in <code>java.util.Calendar</code>).
+  */
+  public int getGregorianMonth(int cell) {
+    return gregorianMonths[cell];
+  }
+  /**
+    Returns the Gregorian day of month of the specified cell.
+
+    @param cell the index of the cell (0 to 41).
+    @return the Gregorian day of month.
+  */
+  public int getGregorianDay(int cell) {
+    return gregorianDays[cell];
+  }
+  /**
+    Copies the Julian days of all cells into the specified array.
+
+    @param dest the destination array.
+    @param destPos the starting position in the destination array.
+  */
+  public void copyJulianDays(long[] dest, int destPos) {
+    System.arraycopy(julianDays, 0, dest, destPos, CELLS);
+  }
+  /**
+    Copies the Persian days of month of all cells into the specified array.
+
+    @param dest the destination array.
+    @param destPos the starting position in the destination array.
+  */
+  public void copyPersianDays(int[] dest, int destPos) {
+    System.arraycopy(persianDays, 0, dest, destPos, CELLS);
+  }
+  /**
+    Copies the Gregorian years, months (zero-based), and days of month of all cells into the specified arrays.
+
+    @param years the destination array of years.
+    @param months the destination array of months.
+    @param days the destination array of days.
+    @param destPos the starting position in the destination arrays.
+  */
+  public void copyGregorianDates(int[] years, int[] months, int[] days, int destPos) {
+    System.arraycopy(gregorianYears, 0, years, destPos, CELLS);
+    System.arraycopy(gregorianMonths, 0, months, destPos, CELLS);
+    System.arraycopy(gregorianDays, 0, days, destPos, CELLS);
+  }
+  /**
+    Returns a usable string representation of this grid.
+
+    @return a usable string representation of this grid.
+  */
+  public String toString() {
+    return "" + year + "/" + (month + 1) + " (" + offset + "+" + monthLength + ")";
+  }
+}
@@ -0,0 +1,276 @@
+/*
+  PersianRecurrence.java
+  2026-10-19 23:36:05
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import static com.ghasemkiani.util.PersianCalendarUtils.*;
+
+/**
+  <p>This class represents a rule of recurring days in the Persian calendar, e.g.,
+  for billing and reminders, and expands it over a range of days into a primitive
+  array of epoch days (days since 1970-01-01). The rules are created by the static
+  factory methods:</p>
+
+  <ul>
+    <li><code>{@link #monthly(int) monthly(1)}</code>: the first day of every month;</li>
+    <li><code>{@link #yearly(int, int) yearly(ESFAND, -1)}</code>: the last day of Esfand;</li>
+    <li><code>{@link #everyMonths(int, long, int, int) everyMonths(3, 1403, MEHR, 15)}</code>:
+    every 3 months from 15 Mehr 1403;</li>
+    <li><code>{@link #monthlyWeekday(int, DayOfWeek) monthlyWeekday(2, SATURDAY)}</code>:
+    the second Saturday of every month;</li>
+    <li><code>{@link #everyWeeks(int, long, int, int) everyWeeks(2, 1403, FARVARDIN, 4)}</code>:
+    every second Saturday from 4 Farvardin 1403 (a Saturday).</li>
+  </ul>
+
+  <p>A day of month may be negative, counting from the end of the month (-1 being
+  the last day). A day of month beyond the length of a month is pinned to its last
+  day, as the monthly steps of <code>{@link PersianDateRange}</code> are; e.g.,
+  <code>monthly(31)</code> falls on 30 Mehr and on 29 or 30 Esfand. A month without
+  the requested ordinal of a week day (e.g., a fifth Friday) has no occurrence.
+  The rules anchored at a date have no occurrences before it.</p>
+
+  <p>The expansion visits only the months (or the days, for rules stepping by days
+  or weeks) in which the rule falls, using the known lengths of the months and the
+  cached year starts of <code>{@link PersianYearTable}</code>; no calendar is stepped
+  day by day. The bulk form writes into a caller-supplied array, so expanding many
+  rules allocates nothing.</p>
+
+  <p>Instances of this class are immutable and thread-safe.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public final class PersianRecurrence {
+  private static final long EPOCH_JULIAN_DAY = PersianZoneConverter.EPOCH_JULIAN_DAY;
+
+  // true if the rule steps by months, false if by days.
+  private final boolean byMonth;
+  // The step, in months or days.
+  private final int interval;
+  // A month index (continuous year * 12 + month) or a Julian day on which the rule falls, giving its phase.
+  private final long anchor;
+  // The Julian day before which the rule has no occurrences.
+  private final long startJulianDay;
+  // The day of month, negative from the end of the month, or 0 if a week day is used.
+  private final int day;
+  // The ordinal of the week day in the month, negative from the end of the month.
+  private final int ordinal;
+  // The week day, as a Julian day modulo 7 (0 being Monday).
+  private final int weekDay;
+
+  private PersianRecurrence(boolean byMonth, int interval, long anchor, long startJulianDay, int day, int ordinal, int weekDay) {
+    if (interval <= 0) {
+      throw new IllegalArgumentException("Interval must be positive: " + interval);
+    }
+    this.byMonth = byMonth;
+    this.interval = interval;
+    this.anchor = anchor;
+    this.startJulianDay = startJulianDay;
+    this.day = day;
+    this.ordinal = ordinal;
+    this.weekDay = weekDay;
+  }
+  private static int checkDay(int day) {
+    if (day == 0 || day < -31 || day > 31) {
+      throw new IllegalArgumentException("Invalid day of month: " + day);
+    }
+    return day;
+  }
+  private static int checkMonth(int month) {
+    if (month < 0 || month > 11) {
+      throw new IllegalArgumentException("Invalid month: " + month);
+    }
+    return month;
+  }
+  private static int checkDate(long year, int month, int day) {
+    if (day < 1 || day > PersianYearTable.monthLength(year, checkMonth(month))) {
+      throw new IllegalArgumentException("Invalid date: " + year + "/" + (month + 1) + "/" + day);
+    }
+    return day;
+  }
+  private static long monthIndex(long year, int month) {
+    return PersianCalendarHelper.continuous(year) * 12 + month;
+  }
+  /**
+    Returns the rule of a day of every month.
+
+    @param day the day of month, from 1 to 31, or from -31 to -1 counting from the end of the month.
+    @return the rule.
+  */
+  public static PersianRecurrence monthly(int day) {
+    return new PersianRecurrence(true, 1, 0, Long.MIN_VALUE, checkDay(day), 0, 0);
+  }
+  /**
+    Returns the rule of a day of a month of every year.
+
+    @param month the month (zero-based).
+    @param day the day of month, from 1 to 31, or from -31 to -1 counting from the end of the month.
+    @return the rule.
+  */
+  public static PersianRecurrence yearly(int month, int day) {
+    return new PersianRecurrence(true, 12, checkMonth(month), Long.MIN_VALUE, checkDay(day), 0, 0);
+  }
+  /**
+    Returns the rule of a date and its day of month every specified number of months.
+
+    @param interval the number of months between occurrences.
+    @param year the year of the first occurrence.
+    @param month the month (zero-based) of the first occurrence.
+    @param day the day of month of the first occurrence, and of the following ones.
+    @return the rule.
+  */
+  public static PersianRecurrence everyMonths(int interval, long year, int month, int day) {
+    checkDate(year, month, day);
+    return new PersianRecurrence(true, interval, monthIndex(year, month), PersianYearTable.pj(year, month, day), day, 0, 0);
+  }
+  /**
+    Returns the rule of an ordinal week day of every month, e.g., the second Saturday.
+
+    @param ordinal the ordinal of the week day in the month, from 1 to 5, or from -5 to -1 counting from the end of the month.
+    @param dayOfWeek the day of week.
+    @return the rule.
+  */
+  public static PersianRecurrence monthlyWeekday(int ordinal, DayOfWeek dayOfWeek) {
+    if (ordinal == 0 || ordinal < -5 || ordinal > 5) {
+      throw new IllegalArgumentException("Invalid ordinal: " + ordinal);
+    }
+    return new PersianRecurrence(true, 1, 0, Long.MIN_VALUE, 0, ordinal, dayOfWeek.getValue() - 1);
+  }
+  /**
+    Returns the rule of a date and every specified number of days after it.
+
+    @param interval the number of days between occurrences.
+    @param year the year of the first occurrence.
+    @param month the month (zero-based) of the first occurrence.
+    @param day the day of month of the first occurrence.
+    @return the rule.
+  */
+  public static PersianRecurrence everyDays(int interval, long year, int month, int day) {
+    long julianDay = PersianYearTable.pj(year, month, checkDate(year, month, day));
+    return new PersianRecurrence(false, interval, julianDay, julianDay, 0, 0, 0);
+  }
+  /**
+    Returns the rule of a date and every specified number of weeks after it, i.e., of
+    its day of week every <code>interval</code> weeks.
+
+    @param interval the number of weeks between occurrences.
+    @param year the year of the first occurrence.
+    @param month the month (zero-based) of the first occurrence.
+    @param day the day of month of the first occurrence.
+    @return the rule.
+  */
+  public static PersianRecurrence everyWeeks(int interval, long year, int month, int day) {
+    return everyDays(Math.multiplyExact(interval, 7), year, month, day);
+  }
+  // The Julian day of the occurrence in the month, or Long.MIN_VALUE if there is none.
+  private long inMonth(long year, int month) {
+    long start = PersianYearTable.monthStart(year, month);
+    int length = PersianYearTable.monthLength(year, month);
+    if (day > 0) {
+      return start + Math.min(day, length) - 1;
+    }
+    if (day < 0) {
+      return start + Math.max(length + day, 0);
+    }
+    int offset;
+    if (ordinal > 0) {
+      offset = (int)Math.floorMod(weekDay - start, 7L) + 7 * (ordinal - 1);
+    } else {
+      long last = start + length - 1;
+      offset = length - 1 - (int)Math.floorMod(last - weekDay, 7L) + 7 * (ordinal + 1);
+    }
+    return offset >= 0 && offset < length ? start + offset : Long.MIN_VALUE;
+  }
+  // Writes the occurrences in the range of Julian days, at most max of them, and returns their number.
+  private int expandJulian(long from, long to, long[] out, int offset, int max) {
+    from = Math.max(from, startJulianDay);
+    int n = 0;
+    if (from > to || max <= 0) {
+      return 0;
+    }
+    if (!byMonth) {
+      // The first occurrence on or after from.
+      // The days after Long.MAX_VALUE wrap around below from.
+      for (long j = from + Math.floorMod(anchor - from, (long)interval); j <= to && j >= from && n < max; j += interval) {
+        out[offset + n++] = j - EPOCH_JULIAN_DAY;
+      }
+      return n;
+    }
+    long date = PersianYearTable.jp(from);
+    long index = monthIndex(y(date), m(date));
+    // The first month in phase with the rule.
+    index += Math.floorMod(anchor - index, (long)interval);
+    while (n < max) {
+      long year = PersianCalendarHelper.calendrica(Math.floorDiv(index, 12L));
+      int month = (int)Math.floorMod(index, 12L);
+      if (PersianYearTable.monthStart(year, month) > to) {
+        break;
+      }
+      long j = inMonth(year, month);
+      if (j >= from && j <= to) {
+        out[offset + n++] = j - EPOCH_JULIAN_DAY;
+      }
+      index += interval;
+    }
+    return n;
+  }
+  /**
+    Writes the occurrences of this rule in a range of days to an array, in increasing
+    order. At most <code>out.length - offset</code> occurrences are written; the first
+    day after the last one written can be used to continue the expansion.
+
+    @param fromEpochDay the first day of the range, as the number of days since 1970-01-01.
+    @param toEpochDay the last day of the range (inclusive).
+    @param out the array receiving the occurrences, as numbers of days since 1970-01-01.
+    @param offset the index of the first occurrence in the array.
+    @return the number of occurrences written.
+  */
+  public int expand(long fromEpochDay, long toEpochDay, long[] out, int offset) {
+    return expandJulian(fromEpochDay + EPOCH_JULIAN_DAY, toEpochDay + EPOCH_JULIAN_DAY, out, offset, out.length - offset);
+  }
+  /**
+    Returns the occurrences of this rule in a range of days, in increasing order.
+
+    @param fromEpochDay the first day of the range, as the number of days since 1970-01-01.
+    @param toEpochDay the last day of the range (inclusive).
+    @return the occurrences, as numbers of days since 1970-01-01.
+  */
+  public long[] expand(long fromEpochDay, long toEpochDay) {
+    long[] out = new long[16];
+    int n = 0;
+    long from = fromEpochDay;
+    while (true) {
+      int k = expand(from, toEpochDay, out, n);
+      n += k;
+      if (n < out.length) {
+        return Arrays.copyOf(out, n);
+      }
+      from = out[n - 1] + 1;
+      out = Arrays.copyOf(out, 2 * out.length);
+    }
+  }
+  /**
+    Returns the first occurrence of this rule on or after the specified day.
+
+    @param epochDay the day, as the number of days since 1970-01-01.
+    @return the occurrence, as the number of days since 1970-01-01.
+    @throws NoSuchElementException if there is no occurrence on or after the day.
+  */
+  public long next(long epochDay) {
+    long[] out = new long[1];
+    if (expandJulian(epochDay + EPOCH_JULIAN_DAY, Long.MAX_VALUE, out, 0, 1) == 0) {
+      throw new NoSuchElementException("No occurrence on or after day " + epochDay);
+    }
+    return out[0];
+  }
+}
@@ -0,0 +1,305 @@
+/*
+  PersianTimeBuckets.java
+  2026-10-19 17:05:49
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+  <p>This class assigns instants (milliseconds since 1970-01-01 00:00:00 UTC) to
+  buckets of the Persian calendar in a time zone: weeks (starting on Saturday),
+  months, seasons (quarters of three months), or years. The buckets are numbered
+  consecutively:</p>
+
+  <ul>
+    <li><code>{@link Unit#WEEK}</code>: the number of weeks since the Saturday of Julian day 5;</li>
+    <li><code>{@link Unit#MONTH}</code>: <code>year * 12 + month</code> (month being zero-based);</li>
+    <li><code>{@link Unit#SEASON}</code>: <code>year * 4 + season</code> (season being zero-based);</li>
+    <li><code>{@link Unit#YEAR}</code>: the Persian year.</li>
+  </ul>
+  <p>Since there is no year zero, the years before 1 are numbered from 0 downward
+  in the buckets (the year -1 being 0), so the buckets remain consecutive.</p>
+
+  <p>The instants at which the buckets begin are kept in cached tables of
+  consecutive buckets (e.g., the 12 months of a year). In the bulk methods, an
+  instant within the bucket of the previous one is assigned by a range check,
+  without converting it to a date; in sorted input, this is nearly always the case.
+  Other instants are located by a binary search in a cached table. Histograms are produced directly as primitive arrays.</p>
+
+  <p>Instances of this class are thread-safe.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public final class PersianTimeBuckets {
+  /**
+    Units of the buckets.
+  */
+  public enum Unit {
+    /**
+      Weeks starting on Saturday.
+    */
+    WEEK(64),
+    /**
+      Months of the Persian calendar.
+    */
+    MONTH(12),
+    /**
+      Seasons (quarters of three months) of the Persian calendar.
+    */
+    SEASON(4),
+    /**
+      Years of the Persian calendar.
+    */
+    YEAR(16);
+
+    // Number of buckets in a table.
+    final int tableSize;
+    Unit(int tableSize) {
+      this.tableSize = tableSize;
+    }
+  }
+
+  // A Saturday.
+  private static final long WEEK_ANCHOR = 5L;
+
+  private static final class Table {
+    final long firstBucket;
+    // starts[i] is the start of bucket firstBucket + i; starts[size] is the end of the table.
+    final long[] starts;
+    Table(long firstBucket, long[] starts) {
+      this.firstBucket = firstBucket;
+      this.starts = starts;
+    }
+    // Index of the bucket containing millis, which must be within the table.
+    int index(long millis) {
+      int lo = 0;
+      int hi = starts.length - 2;
+      while (lo < hi) {
+        int mid = (lo + hi + 1) >>> 1;
+        if (starts[mid] <= millis) {
+          lo = mid;
+        } else {
+          hi = mid - 1;
+        }
+      }
+      return lo;
+    }
+  }
+
+  // The tables computed from one set of year starts.
+  private static final class Tables {
+    final PersianYearStarts starts;
+    final ConcurrentHashMap<Long, Table> map = new ConcurrentHashMap<>();
+    Tables(PersianYearStarts starts) {
+      this.starts = starts;
+    }
+  }
+
+  private final ZoneId zone;
+  private final Unit unit;
+  private final PersianZoneConverter converter;
+  private volatile Tables tables = new Tables(PersianYearStarts.current());
+
+  /**
+    Constructs a bucketing of instants in the specified time zone.
+
+    @param zone the time zone.
+    @param unit the unit of buckets.
+  */
+  public PersianTimeBuckets(ZoneId zone, Unit unit) {
+    this.zone = zone;
+    this.unit = unit;
+    this.converter = new PersianZoneConverter(zone);
+  }
+  /**
+    Returns the time zone of this bucketing.
+
+    @return the time zone.
+  */
+  public ZoneId getZone() {
+    return zone;
+  }
+  /**
+    Returns the unit of buckets.
+
+    @return the unit of buckets.
+  */
+  public Unit getUnit() {
+    return unit;
+  }
+  /**
+    Returns the bucket containing the specified Julian day.
+
+    @param julianDay the Julian day.
+    @return the bucket number.
+  */
+  public long bucketOfJulianDay(long julianDay) {
+    switch (unit) {
+    case WEEK:
+      return Math.floorDiv(julianDay - WEEK_ANCHOR, 7L);
+    case YEAR:
+      return PersianCalendarHelper.continuous(PersianYearTable.year(julianDay));
+    default:
+      long r = PersianYearTable.jp(julianDay);
+      long year = PersianCalendarHelper.continuous(PersianCalendarUtils.y(r));
+      int month = PersianCalendarUtils.m(r);
+      return unit == Unit.MONTH ? year * 12 + month : year * 4 + month / 3;
+    }
+  }
+  /**
+    Returns the Julian day on which the specified bucket begins.
+
+    @param bucket the bucket number.
+    @return the Julian day.
+  */
+  public long startJulianDay(long bucket) {
+    switch (unit) {
+    case WEEK:
+      return WEEK_ANCHOR + 7 * bucket;
+    case MONTH:
+      return PersianYearTable.monthStart(PersianCalendarHelper.calendrica(Math.floorDiv(bucket, 12L)), (int)Math.floorMod(bucket, 12L));
+    case SEASON:
+      return PersianYearTable.monthStart(PersianCalendarHelper.calendrica(Math.floorDiv(bucket, 4L)), 3 * (int)Math.floorMod(bucket, 4L));
+    default:
+      return PersianYearTable.yearStart(PersianCalendarHelper.calendrica(bucket));
+    }
+  }
+  /**
+    Returns the instant at which the specified bucket begins.
+
+    @param bucket the bucket number.
+    @return the start of the bucket, in milliseconds since 1970-01-01 00:00:00 UTC.
+  */
+  public long startMillis(long bucket) {
+    LocalDate date = LocalDate.ofEpochDay(startJulianDay(bucket) - PersianZoneConverter.EPOCH_JULIAN_DAY);
+    return date.atStartOfDay(zone).toInstant().toEpochMilli();
+  }
+  private Table table(long bucket) {
+    long index = Math.floorDiv(bucket, (long)unit.tableSize);
+    Tables t = tables;
+    PersianYearStarts current = PersianYearStarts.current();
+    if (t.starts != current) {
+      t = new Tables(current);
+      tables = t;
+    }
+    Table table = t.map.get(index);
+    if (table == null) {
+      long first = index * unit.tableSize;
+      long[] starts = new long[unit.tableSize + 1];
+      for (int i = 0; i <= unit.tableSize; i++) {
+        starts[i] = startMillis(first + i);
+      }
+      table = new Table(first, starts);
+      Table other = t.map.putIfAbsent(index, table);
+      if (other != null) {
+        table = other;
+      }
+    }
+    return table;
+  }
+  private Table tableOf(long epochMillis) {
+    Table table = table(bucketOfJulianDay(converter.toJulianDay(epochMillis)));
+    // The local midnight may be skipped or repeated by a transition of the zone.
+    while (epochMillis < table.starts[0]) {
+      table = table(table.firstBucket - 1);
+    }
+    while (epochMillis >= table.starts[table.starts.length - 1]) {
+      table = table(table.firstBucket + unit.tableSize);
+    }
+    return table;
+  }
+  /**
+    Returns the bucket containing the specified instant.
+
+    @param epochMillis the instant, in milliseconds since 1970-01-01 00:00:00 UTC.
+    @return the bucket number.
+  */
+  public long bucketOf(long epochMillis) {
+    Table table = tableOf(epochMillis);
+    return table.firstBucket + table.index(epochMillis);
+  }
+  /**
+    Assigns instants to buckets.
+
+    @param millis the instants, in milliseconds since 1970-01-01 00:00:00 UTC.
+    @param offset the index of the first instant.
+    @param length the number of instants.
+    @param buckets the array receiving the bucket numbers, at the same indexes as the instants.
+  */
+  public void bucketsOf(long[] millis, int offset, int length, long[] buckets) {
+    // The current bucket and its bounds.
+    long bucket = 0;
+    long lo = Long.MAX_VALUE;
+    long hi = Long.MIN_VALUE;
+    for (int i = offset; i < offset + length; i++) {
+      long t = millis[i];
+      if (t < lo || t >= hi) {
+        Table table = tableOf(t);
+        int k = table.index(t);
+        bucket = table.firstBucket + k;
+        lo = table.starts[k];
+        hi = table.starts[k + 1];
+      }
+      buckets[i] = bucket;
+    }
+  }
+  /**
+    Returns the instants at which consecutive buckets begin.
+
+    @param firstBucket the first bucket.
+    @param count the number of buckets.
+    @return an array of <code>count + 1</code> instants; the last one is the end of the last bucket.
+  */
+  public long[] boundaries(long firstBucket, int count) {
+    long[] result = new long[count + 1];
+    for (int i = 0; i <= count; i++) {
+      Table table = table(firstBucket + i);
+      result[i] = table.starts[(int)(firstBucket + i - table.firstBucket)];
+    }
+    return result;
+  }
+  /**
+    Counts the instants falling in each of consecutive buckets.
+    Instants outside the buckets are ignored.
+
+    @param millis the instants, in milliseconds since 1970-01-01 00:00:00 UTC.
+    @param offset the index of the first instant.
+    @param length the number of instants.
+    @param firstBucket the first bucket.
+    @param count the number of buckets.
+    @return the counts of the instants in the buckets.
+  */
+  public long[] histogram(long[] millis, int offset, int length, long firstBucket, int count) {
+    long[] counts = new long[count];
+    long[] bounds = boundaries(firstBucket, count);
+    long from = bounds[0];
+    long to = bounds[count];
+    int bucket = 0;
+    long lo = Long.MAX_VALUE;
+    long hi = Long.MIN_VALUE;
+    for (int i = offset; i < offset + length; i++) {
+      long t = millis[i];
+      if (t < lo || t >= hi) {
+        if (t < from || t >= to) {
+          continue;
+        }
+        Table table = tableOf(t);
+        int k = table.index(t);
+        bucket = (int)(table.firstBucket + k - firstBucket);
+        lo = table.starts[k];
+        hi = table.starts[k + 1];
+      }
+      counts[bucket]++;
+    }
+    return counts;
+  }
+}
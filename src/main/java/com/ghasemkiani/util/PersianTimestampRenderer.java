@@ -0,0 +1,180 @@
+/*
+  PersianTimestampRenderer.java
+  2026-10-19 15:02:37
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import java.time.ZoneId;
+
+/**
+  <p>This class renders timestamps in the Persian calendar, e.g., for logging
+  layouts. The formatted date of the current day and the formatted time up to the
+  current second are cached, so rendering an event in the same second as the
+  previous one only appends the cached prefix and the milliseconds to the
+  caller-supplied buffer.</p>
+
+  <p>Two styles are supported:</p>
+  <ul>
+    <li><code>{@link Style#NUMERIC}</code>: <code>1403/01/05 12:34:56.789</code></li>
+    <li><code>{@link Style#TEXT}</code>: the Persian week day name, the day of month,
+    the Persian month name, the year, and the time, e.g.,
+    <code>&#x62c;&#x645;&#x639;&#x647; 7 &#x627;&#x633;&#x641;&#x646;&#x62f; 1383 12:00:39.000</code></li>
+  </ul>
+  <p>Digits are rendered in any of the scripts of <code>{@link PersianDigits.Script}</code>:
+  ASCII, Arabic-Indic, or Extended Arabic-Indic (Persian).</p>
+
+  <p>The cache is an immutable object held in a volatile field, so the renderer
+  can be shared by many threads without locking.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public final class PersianTimestampRenderer {
+  /**
+    Styles of rendering the date part of timestamps.
+  */
+  public enum Style {
+    /**
+      Numeric date, e.g., <code>1403/01/05</code>.
+    */
+    NUMERIC,
+    /**
+      Textual date with the Persian names of the week day and the month.
+    */
+    TEXT
+  }
+
+  private static final class Cached {
+    final long second;
+    final long date;
+    final String datePrefix;
+    final String prefix;
+    Cached(long second, long date, String datePrefix, String prefix) {
+      this.second = second;
+      this.date = date;
+      this.datePrefix = datePrefix;
+      this.prefix = prefix;
+    }
+  }
+
+  private final PersianZoneConverter converter;
+  private final Style style;
+  private final PersianDigits.Script script;
+  private final char zero;
+  private volatile Cached cached = new Cached(Long.MIN_VALUE, Long.MIN_VALUE, "", "");
+
+  /**
+    Constructs a renderer of numeric timestamps with ASCII digits in the specified time zone.
+
+    @param zone the time zone.
+  */
+  public PersianTimestampRenderer(ZoneId zone) {
+    this(zone, Style.NUMERIC, false);
+  }
+  /**
+    Constructs a renderer of timestamps in the specified time zone.
+
+    @param zone the time zone.
+    @param style the style of the date part.
+    @param persianDigits <code>true</code> to render Persian digits, <code>false</code> for ASCII digits.
+  */
+  public PersianTimestampRenderer(ZoneId zone, Style style, boolean persianDigits) {
+    this(zone, style, persianDigits ? PersianDigits.Script.PERSIAN : PersianDigits.Script.ASCII);
+  }
+  /**
+    Constructs a renderer of timestamps in the specified time zone and script of digits.
+
+    @param zone the time zone.
+    @param style the style of the date part.
+    @param script the script of the digits.
+  */
+  public PersianTimestampRenderer(ZoneId zone, Style style, PersianDigits.Script script) {
+    this.converter = new PersianZoneConverter(zone);
+    this.style = style;
+    this.script = script;
+    this.zero = script.zero();
+  }
+  /**
+    Appends the timestamp of the specified instant to the buffer.
+
+    @param epochMillis the instant, in milliseconds since 1970-01-01 00:00:00 UTC.
+    @param buffer the buffer to append the timestamp to.
+    @return the buffer.
+  */
+  public StringBuilder render(long epochMillis, StringBuilder buffer) {
+    long second = Math.floorDiv(epochMillis, 1000L);
+    Cached c = cached;
+    if (c.second != second) {
+      c = update(epochMillis, second, c);
+      cached = c;
+    }
+    int millis = (int)Math.floorMod(epochMillis, 1000L);
+    buffer.append(c.prefix);
+    buffer.append((char)(zero + millis / 100));
+    buffer.append((char)(zero + millis / 10 % 10));
+    buffer.append((char)(zero + millis % 10));
+    return buffer;
+  }
+  /**
+    Returns the timestamp of the specified instant.
+
+    @param epochMillis the instant, in milliseconds since 1970-01-01 00:00:00 UTC.
+    @return the timestamp.
+  */
+  public String render(long epochMillis) {
+    return render(epochMillis, new StringBuilder(32)).toString();
+  }
+  private Cached update(long epochMillis, long second, Cached previous) {
+    long dateTime = converter.toPersianDateTime(epochMillis);
+    long date = PersianZoneConverter.date(dateTime);
+    String datePrefix = previous.date == date ? previous.datePrefix : formatDate(date, converter.toJulianDay(epochMillis));
+    int secondOfDay = PersianZoneConverter.millisOfDay(dateTime) / 1000;
+    StringBuilder sb = new StringBuilder(datePrefix.length() + 9);
+    sb.append(datePrefix);
+    appendTwoDigits(sb, secondOfDay / 3600);
+    sb.append(':');
+    appendTwoDigits(sb, secondOfDay / 60 % 60);
+    sb.append(':');
+    appendTwoDigits(sb, secondOfDay % 60);
+    sb.append('.');
+    return new Cached(second, date, datePrefix, sb.toString());
+  }
+  @SuppressWarnings("deprecation")
+  private String formatDate(long date, long julianDay) {
+    StringBuilder sb = new StringBuilder(32);
+    long year = PersianCalendarUtils.y(date);
+    int month = PersianCalendarUtils.m(date);
+    int day = PersianCalendarUtils.d(date);
+    if (style == Style.TEXT) {
+      sb.append(SimplePersianCalendar.getPersianWeekDayName(PersianCalendarUtils.dayOfWeek(julianDay)));
+      sb.append(' ');
+      appendNumber(sb, day);
+      sb.append(' ');
+      sb.append(SimplePersianCalendar.getPersianMonthName(month));
+      sb.append(' ');
+      appendNumber(sb, year);
+    } else {
+      appendNumber(sb, year);
+      sb.append('/');
+      appendTwoDigits(sb, month + 1);
+      sb.append('/');
+      appendTwoDigits(sb, day);
+    }
+    sb.append(' ');
+    return sb.toString();
+  }
+  private void appendTwoDigits(StringBuilder sb, int n) {
+    sb.append((char)(zero + n / 10));
+    sb.append((char)(zero + n % 10));
+  }
+  private void appendNumber(StringBuilder sb, long n) {
+    int start = sb.length();
+    sb.append(n);
+    PersianDigits.transliterate(sb, start, sb.length(), script);
+  }
+}
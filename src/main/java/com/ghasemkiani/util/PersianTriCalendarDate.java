@@ -0,0 +1,279 @@
+/*
+  PersianTriCalendarDate.java
+  2026-10-20 00:41:17
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import com.ghasemkiani.util.calendrica.Calendrica;
+
+import static com.ghasemkiani.util.PersianCalendarUtils.*;
+
+/**
+  <p>This class holds the Persian, Gregorian, and Hijri lunar dates of a day, as
+  printed together on documents. A single instance is reusable: each call of
+  <code>{@link #setJulianDay(long)}</code> or <code>{@link #setEpochDay(long)}</code>
+  computes the three dates in one pass, without creating calendar objects. The
+  static <code>{@link #convert(long[], int, int, int, long[], long[], long[])}</code>
+  method does the same for an array of days into packed arrays.</p>
+
+  <p>The Persian date is obtained from the cached year starts of
+  <code>{@link PersianYearTable}</code>, and the Gregorian year from
+  <code>{@link Calendrica#gregorianYearFromFixed(long)}</code>. The Hijri lunar date
+  is that of the tabular (arithmetic) Islamic calendar with the civil epoch
+  (Friday, 16 July 622 Julian), i.e., ICU4J's <code>IslamicCalendar</code> with the
+  <code>ISLAMIC_CIVIL</code> calculation type. Since the official lunar dates are
+  based on the sighting of the moon, a number of days may be added to the day
+  before the lunar date is computed; an offset of 1 gives the dates of the
+  <code>ISLAMIC_TBLA</code> calculation type.</p>
+
+  <p>Months are zero-based in all three calendars, as in
+  <code>{@link PersianCalendarConstants}</code> and <code>java.util.Calendar</code>.
+  The packed dates are <code>(year &lt;&lt; 16) | (month &lt;&lt; 8) | day</code>,
+  as returned by <code>{@link PersianYearTable#jp(long)}</code>, and can be read
+  with the methods of <code>{@link PersianCalendarUtils}</code>.</p>
+
+  <p>Instances of this class are not thread-safe; each thread should use its own.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public final class PersianTriCalendarDate {
+  private static final long EPOCH_JULIAN_DAY = PersianZoneConverter.EPOCH_JULIAN_DAY;
+  private static final long DIFF = 1721425L;
+  // Julian day of 1 Muharram 1 AH of the tabular Islamic calendar with the civil epoch.
+  private static final long HIJRI_EPOCH = 1948440L;
+  // Days before each Gregorian month in a common year.
+  private static final int[] DAYS_BEFORE_MONTH = {0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334, 365};
+
+  private final int lunarOffset;
+  private long julianDay;
+  private long persian;
+  private long gregorian;
+  private long hijri;
+
+  /**
+    Constructs a holder without lunar offset, set to the Julian day 0.
+  */
+  public PersianTriCalendarDate() {
+    this(0);
+  }
+  /**
+    Constructs a holder set to the Julian day 0.
+
+    @param lunarOffset the number of days added to a day before its Hijri lunar date is computed.
+  */
+  public PersianTriCalendarDate(int lunarOffset) {
+    this.lunarOffset = lunarOffset;
+    setJulianDay(0);
+  }
+  /**
+    Returns the packed Gregorian date of a Julian day.
+
+    @param julianDay the Julian day.
+    @return the packed Gregorian date, the month being zero-based.
+  */
+  public static long gregorian(long julianDay) {
+    long fixed = julianDay - DIFF;
+    long year = Calendrica.gregorianYearFromFixed(fixed);
+    long y = year - 1;
+    // Zero-based day of year.
+    int dayOfYear = (int)(fixed - (365 * y + Math.floorDiv(y, 4L) - Math.floorDiv(y, 100L) + Math.floorDiv(y, 400L)) - 1);
+    int leap = Calendrica.gregorianLeapYear((int)year) ? 1 : 0;
+    int month = dayOfYear / 31;
+    if (month < 11 && dayOfYear >= DAYS_BEFORE_MONTH[month + 1] + (month >= 1 ? leap : 0)) {
+      month++;
+    }
+    int day = dayOfYear - DAYS_BEFORE_MONTH[month] - (month >= 2 ? leap : 0) + 1;
+    return (year << 16) | (month << 8) | day;
+  }
+  /**
+    Returns the packed Hijri lunar date of a Julian day in the tabular Islamic calendar
+    with the civil epoch.
+
+    @param julianDay the Julian day.
+    @return the packed Hijri lunar date, the month being zero-based.
+  */
+  public static long hijri(long julianDay) {
+    long days = julianDay - HIJRI_EPOCH;
+    // 11 leap years in every 30-year cycle of 10631 days.
+    long year = Math.floorDiv(30 * days + 10646, 10631L);
+    int dayOfYear = (int)(days - ((year - 1) * 354 + Math.floorDiv(3 + 11 * year, 30L)));
+    // Months alternately have 30 and 29 days; the 12th month starts on day 325.
+    int month = Math.min(2 * dayOfYear / 59, 11);
+    int day = dayOfYear - (59 * month + 1) / 2 + 1;
+    return (year << 16) | (month << 8) | day;
+  }
+  /**
+    Converts an array of days to the packed dates of the three calendars.
+
+    @param julianDays the Julian days.
+    @param offset the index of the first day.
+    @param length the number of days.
+    @param lunarOffset the number of days added to a day before its Hijri lunar date is computed.
+    @param persian the array receiving the packed Persian dates, at the same indexes as the days, or <code>null</code>.
+    @param gregorian the array receiving the packed Gregorian dates, at the same indexes as the days, or <code>null</code>.
+    @param hijri the array receiving the packed Hijri lunar dates, at the same indexes as the days, or <code>null</code>.
+  */
+  public static void convert(long[] julianDays, int offset, int length, int lunarOffset,
+                             long[] persian, long[] gregorian, long[] hijri) {
+    for (int i = offset; i < offset + length; i++) {
+      long julianDay = julianDays[i];
+      if (persian != null) {
+        persian[i] = PersianYearTable.jp(julianDay);
+      }
+      if (gregorian != null) {
+        gregorian[i] = gregorian(julianDay);
+      }
+      if (hijri != null) {
+        hijri[i] = hijri(julianDay + lunarOffset);
+      }
+    }
+  }
+  /**
+    Sets this holder to the specified day and computes its three dates.
+
+    @param julianDay the Julian day.
+    @return this holder.
+  */
+  public PersianTriCalendarDate setJulianDay(long julianDay) {
+    this.julianDay = julianDay;
+    persian = PersianYearTable.jp(julianDay);
+    gregorian = gregorian(julianDay);
+    hijri = hijri(julianDay + lunarOffset);
+    return this;
+  }
+  /**
+    Sets this holder to the specified day and computes its three dates.
+
+    @param epochDay the day, as the number of days since 1970-01-01.
+    @return this holder.
+  */
+  public PersianTriCalendarDate setEpochDay(long epochDay) {
+    return setJulianDay(epochDay + EPOCH_JULIAN_DAY);
+  }
+  /**
+    Returns the Julian day of this holder.
+
+    @return the Julian day.
+  */
+  public long getJulianDay() {
+    return julianDay;
+  }
+  /**
+    Returns the day of this holder as the number of days since 1970-01-01.
+
+    @return the epoch day.
+  */
+  public long getEpochDay() {
+    return julianDay - EPOCH_JULIAN_DAY;
+  }
+  /**
+    Returns the number of days added to a day before its Hijri lunar date is computed.
+
+    @return the lunar offset.
+  */
+  public int getLunarOffset() {
+    return lunarOffset;
+  }
+  /**
+    Returns the packed Persian date.
+
+    @return the packed Persian date.
+  */
+  public long getPersianDate() {
+    return persian;
+  }
+  /**
+    Returns the Persian year.
+
+    @return the Persian year.
+  */
+  public long getPersianYear() {
+    return y(persian);
+  }
+  /**
+    Returns the Persian month.
+
+    @return the Persian month (zero-based).
+  */
+  public int getPersianMonth() {
+    return m(persian);
+  }
+  /**
+    Returns the Persian day of month.
+
+    @return the Persian day of month.
+  */
+  public int getPersianDay() {
+    return d(persian);
+  }
+  /**
+    Returns the packed Gregorian date.
+
+    @return the packed Gregorian date.
+  */
+  public long getGregorianDate() {
+    return gregorian;
+  }
+  /**
+    Returns the Gregorian year.
+
+    @return the Gregorian year.
+  */
+  public long getGregorianYear() {
+    return y(gregorian);
+  }
+  /**
+    Returns the Gregorian month.
+
+    @return the Gregorian month (zero-based, as in <code>java.util.Calendar</code>).
+  */
+  public int getGregorianMonth() {
+    return m(gregorian);
+  }
+  /**
+    Returns the Gregorian day of month.
+
+    @return the Gregorian day of month.
+  */
+  public int getGregorianDay() {
+    return d(gregorian);
+  }
+  /**
+    Returns the packed Hijri lunar date.
+
+    @return the packed Hijri lunar date.
+  */
+  public long getHijriDate() {
+    return hijri;
+  }
+  /**
+    Returns the Hijri lunar year.
+
+    @return the Hijri lunar year.
+  */
+  public long getHijriYear() {
+    return y(hijri);
+  }
+  /**
+    Returns the Hijri lunar month.
+
+    @return the Hijri lunar month (zero-based, as in ICU4J's <code>IslamicCalendar</code>).
+  */
+  public int getHijriMonth() {
+    return m(hijri);
+  }
+  /**
+    Returns the Hijri lunar day of month.
+
+    @return the Hijri lunar day of month.
+  */
+  public int getHijriDay() {
+    return d(hijri);
+  }
+}
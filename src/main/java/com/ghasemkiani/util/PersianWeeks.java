@@ -0,0 +1,232 @@
+/*
+  PersianWeeks.java
+  2026-10-19 22:27:15
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import java.time.DayOfWeek;
+
+/**
+  <p>This class numbers the weeks of the Persian calendar. The rules are those of
+  <code>java.time.temporal.WeekFields</code> and of ICU: a week begins on
+  a configurable day (Saturday in Iran), and week 1 of a year is the first week
+  having at least a configurable number of days (1 in Iran) in the year. The days
+  of a week belonging to week 1 before the first day of the year belong to the
+  week-based year of that week; likewise, the last days of a year may belong to
+  week 1 of the next week-based year.</p>
+
+  <p>A week is also identified by a sortable <em>week key</em>,
+  <code>(weekBasedYear &lt;&lt; 6) | week</code>; consecutive weeks have increasing
+  keys.</p>
+
+  <p>The answers are computed from the year starts of
+  <code>{@link PersianYearTable}</code> and the day of week, without resolving
+  calendar fields. The bounds of the week-based year of the last day asked are
+  cached, so the days of the same year are numbered by arithmetic only.</p>
+
+  <p>Instances of this class are thread-safe.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public final class PersianWeeks {
+  /**
+    The weeks used in Iran: weeks begin on Saturday, and week 1 contains 1 Farvardin.
+  */
+  public static final PersianWeeks IRAN = new PersianWeeks(DayOfWeek.SATURDAY, 1);
+
+  private static final long EPOCH_JULIAN_DAY = PersianZoneConverter.EPOCH_JULIAN_DAY;
+  private static final int WEEK_BITS = 6;
+
+  private static final class Cached {
+    // The year starts the bounds were computed from.
+    final PersianYearStarts starts;
+    final long year;
+    // Julian days on which week 1 of the year and of the next year begin.
+    final long start;
+    final long end;
+    Cached(PersianYearStarts starts, long year, long start, long end) {
+      this.starts = starts;
+      this.year = year;
+      this.start = start;
+      this.end = end;
+    }
+  }
+
+  private final DayOfWeek firstDayOfWeek;
+  private final int minimalDays;
+  // A Julian day falling on firstDayOfWeek.
+  private final long anchor;
+  private volatile Cached cached = new Cached(null, 0, Long.MAX_VALUE, Long.MIN_VALUE);
+
+  /**
+    Constructs a numbering of weeks.
+
+    @param firstDayOfWeek the first day of a week.
+    @param minimalDays the minimal number of days of week 1 in the year, from 1 to 7.
+    @throws IllegalArgumentException if <code>minimalDays</code> is out of range.
+  */
+  public PersianWeeks(DayOfWeek firstDayOfWeek, int minimalDays) {
+    if (minimalDays < 1 || minimalDays > 7) {
+      throw new IllegalArgumentException("Minimal days out of range: " + minimalDays);
+    }
+    this.firstDayOfWeek = firstDayOfWeek;
+    this.minimalDays = minimalDays;
+    // Julian day 0 was a Monday.
+    this.anchor = firstDayOfWeek.getValue() - 1;
+  }
+  /**
+    Returns the first day of a week.
+
+    @return the first day of a week.
+  */
+  public DayOfWeek getFirstDayOfWeek() {
+    return firstDayOfWeek;
+  }
+  /**
+    Returns the minimal number of days of week 1 in the year.
+
+    @return the minimal number of days.
+  */
+  public int getMinimalDays() {
+    return minimalDays;
+  }
+  // Julian day on which week 1 of the specified year begins.
+  private long week1Start(long year) {
+    long start = PersianYearTable.yearStart(year);
+    long daysBefore = Math.floorMod(start - anchor, 7L);
+    // The week containing the first day of the year is week 1 if enough of its days are in the year.
+    return 7 - daysBefore >= minimalDays ? start - daysBefore : start - daysBefore + 7;
+  }
+  // The week-based year containing the Julian day, with the bounds of its weeks.
+  private Cached yearOf(long julianDay) {
+    return yearOf(julianDay, PersianYearStarts.current());
+  }
+  private Cached yearOf(long julianDay, PersianYearStarts starts) {
+    Cached c = cached;
+    if (julianDay >= c.start && julianDay < c.end && c.starts == starts) {
+      return c;
+    }
+    long year = PersianYearTable.year(julianDay);
+    long start = week1Start(year);
+    long end;
+    if (julianDay < start) {
+      end = start;
+      year = PersianCalendarHelper.calendrica(PersianCalendarHelper.continuous(year) - 1);
+      start = week1Start(year);
+    } else {
+      end = week1Start(PersianCalendarHelper.calendrica(PersianCalendarHelper.continuous(year) + 1));
+      if (julianDay >= end) {
+        year = PersianCalendarHelper.calendrica(PersianCalendarHelper.continuous(year) + 1);
+        start = end;
+        end = week1Start(PersianCalendarHelper.calendrica(PersianCalendarHelper.continuous(year) + 1));
+      }
+    }
+    c = new Cached(starts, year, start, end);
+    cached = c;
+    return c;
+  }
+  /**
+    Returns the week-based year of the specified day.
+
+    @param epochDay the day, as the number of days since 1970-01-01.
+    @return the week-based Persian year.
+  */
+  public long weekBasedYear(long epochDay) {
+    return yearOf(epochDay + EPOCH_JULIAN_DAY).year;
+  }
+  /**
+    Returns the week of the week-based year of the specified day.
+
+    @param epochDay the day, as the number of days since 1970-01-01.
+    @return the week, from 1 to 53.
+  */
+  public int weekOfYear(long epochDay) {
+    long julianDay = epochDay + EPOCH_JULIAN_DAY;
+    return (int)((julianDay - yearOf(julianDay).start) / 7) + 1;
+  }
+  /**
+    Returns the day of the week of the specified day, counted from the first day of a week.
+
+    @param epochDay the day, as the number of days since 1970-01-01.
+    @return the day of the week, from 1 to 7.
+  */
+  public int dayOfWeek(long epochDay) {
+    return (int)Math.floorMod(epochDay + EPOCH_JULIAN_DAY - anchor, 7L) + 1;
+  }
+  /**
+    Returns the week key of the specified day.
+
+    @param epochDay the day, as the number of days since 1970-01-01.
+    @return the week key, <code>(weekBasedYear &lt;&lt; 6) | week</code>.
+  */
+  public long weekKey(long epochDay) {
+    long julianDay = epochDay + EPOCH_JULIAN_DAY;
+    Cached c = yearOf(julianDay);
+    return (c.year << WEEK_BITS) | ((julianDay - c.start) / 7 + 1);
+  }
+  /**
+    Returns the week keys of days.
+
+    @param epochDays the days, as the numbers of days since 1970-01-01.
+    @param offset the index of the first day.
+    @param length the number of days.
+    @param keys the array receiving the week keys, at the same indexes as the days.
+  */
+  public void weekKeys(long[] epochDays, int offset, int length, long[] keys) {
+    PersianYearStarts starts = PersianYearStarts.current();
+    Cached c = cached;
+    if (c.starts != starts) {
+      c = new Cached(starts, 0, Long.MAX_VALUE, Long.MIN_VALUE);
+    }
+    for (int i = offset; i < offset + length; i++) {
+      long julianDay = epochDays[i] + EPOCH_JULIAN_DAY;
+      if (julianDay < c.start || julianDay >= c.end) {
+        c = yearOf(julianDay, starts);
+      }
+      keys[i] = (c.year << WEEK_BITS) | ((julianDay - c.start) / 7 + 1);
+    }
+  }
+  /**
+    Returns the week-based year of a week key.
+
+    @param key the week key.
+    @return the week-based Persian year.
+  */
+  public static long year(long key) {
+    return key >> WEEK_BITS;
+  }
+  /**
+    Returns the week of a week key.
+
+    @param key the week key.
+    @return the week, from 1 to 53.
+  */
+  public static int week(long key) {
+    return (int)(key & ((1 << WEEK_BITS) - 1));
+  }
+  /**
+    Returns the number of weeks in the specified week-based year.
+
+    @param year the week-based Persian year.
+    @return 52 or 53.
+  */
+  public int weeksInYear(long year) {
+    return (int)((week1Start(PersianCalendarHelper.calendrica(PersianCalendarHelper.continuous(year) + 1)) - week1Start(year)) / 7);
+  }
+  /**
+    Returns the first day of the specified week.
+
+    @param year the week-based Persian year.
+    @param week the week, from 1.
+    @return the first day of the week, as the number of days since 1970-01-01.
+  */
+  public long weekStart(long year, int week) {
+    return week1Start(year) + 7L * (week - 1) - EPOCH_JULIAN_DAY;
+  }
+}
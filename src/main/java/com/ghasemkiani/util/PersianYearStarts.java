@@ -0,0 +1,310 @@
+/*
+  PersianYearStarts.java
+  2026-10-19 17:48:21
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.ghasemkiani.util.calendrica.Calendrica;
+
+/**
+  <p>This class holds the Julian days on which the Persian years begin (1 Farvardin)
+  for one location of the astronomical computation. The new year depends on the
+  meridian used for determining the vernal equinox, so each location has its own
+  table.</p>
+
+  <p>The named locations (<code>"iran"</code> for <code>{@link Calendrica#IRAN}</code>,
+  <code>"tehran"</code> for <code>{@link Calendrica#TEHRAN}</code>, and
+  <code>"kabul"</code> for <code>{@link Calendrica#KABUL}</code>) have precomputed
+  tables covering the years <code>{@link #PRECOMPUTED_FIRST_YEAR}</code> to
+  <code>{@link #PRECOMPUTED_LAST_YEAR}</code>. The tables are compact binary
+  strings (a few hundred bytes each) embedded in a class generated by
+  <code>{@link com.ghasemkiani.util.tools.PersianYearTableGenerator}</code>, rather
+  than resource files, so that loading one takes no I/O and the class can be kept
+  in a class data sharing (CDS) archive; a table is decoded on first use. Years
+  outside that range, and all years of other locations, are computed in blocks of
+  64 years on first use and cached. Years outside the astronomical range of
+  <code>{@link PersianCalendarHelper}</code> are computed by its arithmetic model.</p>
+
+  <p>Instances of this class are obtained by <code>{@link #of(double[])}</code> and are thread-safe.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public final class PersianYearStarts {
+  /**
+    The first year of the precomputed tables.
+  */
+  public static final int PRECOMPUTED_FIRST_YEAR = 1;
+  /**
+    The last year of the precomputed tables.
+  */
+  public static final int PRECOMPUTED_LAST_YEAR = 3000;
+
+  private static final int MAGIC = 0x50595453;
+  private static final int VERSION = 1;
+  private static final long DIFF = 1721425L;
+  private static final int BLOCK_BITS = 6;
+  private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+
+  private static final Map<String, double[]> NAMED = new LinkedHashMap<>();
+  static {
+    NAMED.put("iran", Calendrica.IRAN);
+    NAMED.put("tehran", Calendrica.TEHRAN);
+    NAMED.put("kabul", Calendrica.KABUL);
+  }
+  // The instances by the values of their locations.
+  private static final Map<List<Double>, PersianYearStarts> INSTANCES = new ConcurrentHashMap<>();
+  // The instance returned last, so that repeated calls for one location need no map lookup.
+  private static volatile PersianYearStarts last;
+  // Incremented by reset; the instances of an earlier generation are not returned.
+  private static volatile int generation;
+
+  private final double[] location;
+  private final long[] precomputed;
+  private final int created;
+  private final ConcurrentHashMap<Long, long[]> blocks = new ConcurrentHashMap<>();
+
+  private PersianYearStarts(double[] location, long[] precomputed, int created) {
+    this.location = location;
+    this.precomputed = precomputed;
+    this.created = created;
+  }
+  /**
+    Returns the table of the specified location. The same instance is returned for
+    equal location arrays, until the astronomical range of
+    <code>{@link PersianCalendarHelper}</code> is changed. The array is copied, so
+    modifying it afterwards does not affect the table.
+
+    @param location an array representing the location (latitude, longitude, altitude, time zone offset).
+    @return the table of year starts.
+  */
+  public static PersianYearStarts of(double[] location) {
+    int g = generation;
+    PersianYearStarts starts = last;
+    if (starts != null && starts.created == g && Arrays.equals(starts.location, location)) {
+      return starts;
+    }
+    List<Double> key = new ArrayList<>(location.length);
+    for (double v : location) {
+      key.add(v);
+    }
+    starts = INSTANCES.get(key);
+    if (starts == null || starts.created != g) {
+      double[] copy = location.clone();
+      PersianYearStarts computed = new PersianYearStarts(copy, load(copy), g);
+      starts = INSTANCES.merge(key, computed, (old, value) -> old.created == g ? old : value);
+    }
+    last = starts;
+    return starts;
+  }
+  // The table of the current location of Calendrica. A cache of values derived from
+  // the year starts is valid as long as this returns the same instance.
+  static PersianYearStarts current() {
+    return of(Calendrica.persianLocale);
+  }
+  // Discards the instances after the astronomical range has changed, so that the
+  // caches depending on them are refreshed.
+  static synchronized void reset() {
+    generation++;
+    INSTANCES.clear();
+    last = null;
+  }
+  /**
+    Returns the names of the locations having precomputed tables.
+
+    @return the names of the locations.
+  */
+  public static String[] getLocationNames() {
+    return NAMED.keySet().toArray(new String[0]);
+  }
+  /**
+    Returns the named location having a precomputed table.
+
+    @param name the name of the location.
+    @return the location array, or <code>null</code> if there is no such location.
+  */
+  public static double[] getLocation(String name) {
+    return NAMED.get(name);
+  }
+  /**
+    Returns the location of this table.
+
+    @return a copy of the array representing the location.
+  */
+  public double[] getLocation() {
+    return location.clone();
+  }
+  /**
+    Determines if the years {@value #PRECOMPUTED_FIRST_YEAR} to
+    {@value #PRECOMPUTED_LAST_YEAR} of this table were loaded from a precomputed resource.
+
+    @return <code>true</code> if this table is precomputed, <code>false</code> otherwise.
+  */
+  public boolean isPrecomputed() {
+    return precomputed != null;
+  }
+  /**
+    Determines if the start and length of the specified year are precomputed in this table.
+
+    @param year the Persian year.
+    @return <code>true</code> if the year is precomputed, <code>false</code> otherwise.
+  */
+  public boolean isPrecomputedYear(long year) {
+    return precomputed != null && year >= PRECOMPUTED_FIRST_YEAR && year <= PRECOMPUTED_LAST_YEAR
+      && PersianCalendarHelper.isAstronomicalYear(year);
+  }
+  /**
+    Determines if the specified Julian day falls in a year precomputed in this table.
+
+    @param julianDay the Julian day.
+    @return <code>true</code> if the year of the day is precomputed, <code>false</code> otherwise.
+  */
+  public boolean isPrecomputedDay(long julianDay) {
+    return precomputed != null && julianDay >= precomputed[0] && julianDay < precomputed[precomputed.length - 1]
+      && PersianCalendarHelper.isAstronomicalYear(PRECOMPUTED_FIRST_YEAR)
+      && PersianCalendarHelper.isAstronomicalYear(PRECOMPUTED_LAST_YEAR);
+  }
+  /**
+    Returns the Julian day of the first day (1 Farvardin) of the specified Persian year.
+
+    @param year the Persian year.
+    @return the Julian day on which the year begins.
+  */
+  public long yearStart(long year) {
+    if (!PersianCalendarHelper.isAstronomicalYear(year) && !PersianCalendarHelper.isAstronomicalYear(year - 1)) {
+      return PersianCalendarHelper.arithmeticYearStart(year, this);
+    }
+    if (precomputed != null && year >= PRECOMPUTED_FIRST_YEAR && year <= PRECOMPUTED_LAST_YEAR + 1) {
+      return precomputed[(int)(year - PRECOMPUTED_FIRST_YEAR)];
+    }
+    return block(year >> BLOCK_BITS)[(int)(year & (BLOCK_SIZE - 1))];
+  }
+  /**
+    Returns the number of days in the specified Persian year.
+
+    @param year the Persian year.
+    @return 366 for a leap year, 365 otherwise.
+  */
+  public int yearLength(long year) {
+    return (int)(yearStart(year + 1) - yearStart(year));
+  }
+  /**
+    Computes the Julian day of the first day of a Persian year at a location astronomically.
+
+    @param year the Persian year.
+    @param location an array representing the location.
+    @return the Julian day on which the year begins.
+  */
+  public static long computeYearStart(long year, double[] location) {
+    return Calendrica.fixedFromPersian(new int[] {(int)year, 1, 1}, location) + DIFF;
+  }
+  private long[] block(long index) {
+    long[] starts = blocks.get(index);
+    if (starts == null) {
+      long first = index << BLOCK_BITS;
+      starts = new long[BLOCK_SIZE + 1];
+      for (int i = 0; i <= BLOCK_SIZE; i++) {
+        starts[i] = computeYearStart(first + i, location);
+      }
+      long[] other = blocks.putIfAbsent(index, starts);
+      if (other != null) {
+        starts = other;
+      }
+    }
+    return starts;
+  }
+
+  // Loads the precomputed table of a named location, or returns null.
+  private static long[] load(double[] location) {
+    for (Map.Entry<String, double[]> e : NAMED.entrySet()) {
+      if (!Arrays.equals(e.getValue(), location)) {
+        continue;
+      }
+      String data = PersianYearStartsData.get(e.getKey());
+      if (data == null) {
+        continue;
+      }
+      try {
+        return read(new ByteArrayInputStream(data.getBytes(StandardCharsets.ISO_8859_1)), location);
+      } catch (IOException ex) {
+        // Fall back to computing the table.
+      }
+    }
+    return null;
+  }
+  private static long[] read(InputStream input, double[] location) throws IOException {
+    DataInputStream in = new DataInputStream(input);
+    if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+      return null;
+    }
+    double[] stored = new double[in.readInt()];
+    for (int i = 0; i < stored.length; i++) {
+      stored[i] = in.readDouble();
+    }
+    int firstYear = in.readInt();
+    int count = in.readInt();
+    if (!Arrays.equals(stored, location) || firstYear != PRECOMPUTED_FIRST_YEAR || count != PRECOMPUTED_LAST_YEAR - PRECOMPUTED_FIRST_YEAR + 1) {
+      return null;
+    }
+    long[] starts = new long[count + 1];
+    starts[0] = in.readLong();
+    byte[] leaps = new byte[(count + 7) / 8];
+    in.readFully(leaps);
+    for (int i = 0; i < count; i++) {
+      boolean leap = (leaps[i >> 3] & (1 << (i & 7))) != 0;
+      starts[i + 1] = starts[i] + (leap ? 366 : 365);
+    }
+    return starts;
+  }
+  /**
+    Computes the precomputed table of a location and writes it in the binary format
+    embedded in this package.
+
+    @param location an array representing the location.
+    @param output the output stream.
+    @throws IOException if an I/O error occurs.
+  */
+  public static void write(double[] location, OutputStream output) throws IOException {
+    int count = PRECOMPUTED_LAST_YEAR - PRECOMPUTED_FIRST_YEAR + 1;
+    DataOutputStream out = new DataOutputStream(output);
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(location.length);
+    for (double v : location) {
+      out.writeDouble(v);
+    }
+    out.writeInt(PRECOMPUTED_FIRST_YEAR);
+    out.writeInt(count);
+    long start = computeYearStart(PRECOMPUTED_FIRST_YEAR, location);
+    out.writeLong(start);
+    byte[] leaps = new byte[(count + 7) / 8];
+    for (int i = 0; i < count; i++) {
+      long next = computeYearStart(PRECOMPUTED_FIRST_YEAR + i + 1, location);
+      if (next - start == 366) {
+        leaps[i >> 3] |= (byte)(1 << (i & 7));
+      }
+      start = next;
+    }
+    out.write(leaps);
+    out.flush();
+  }
+}
@@ -0,0 +1,89 @@
+/*
+  PersianYearStartsData.java
+  2026-10-19 13:11:07
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+// Generated by com.ghasemkiani.util.tools.PersianYearTableGenerator. Do not edit.
+final class PersianYearStartsData {
+  private PersianYearStartsData() {
+  }
+  // Returns the table of a named location as ISO-8859-1 characters, or null.
+  static String get(String name) {
+    switch (name) {
+    case "iran":
+      return IRAN;
+    case "tehran":
+      return TEHRAN;
+    case "kabul":
+      return KABUL;
+    default:
+      return null;
+    }
+  }
+  private static final String IRAN =
+    "PYTS\000\000\000\001\000\000\000\004@A\300\000\000\000\000\000@J@\000"
+    + "\000\000\000\000\000\000\000\000\000\000\000\000@\014\000\000\000\000\000\000\000\000\000\001"
+    + "\000\000\013\270\000\000\000\000\000\035\272\241\020\021\021\021!\042\042\042BDDD"
+    + "\204\210\210\210\010\021\021\021!\042\042\042BDDD\204\210\210\210\010\021\021\021"
+    + "\021\042\042\042\042DDDD\210\210\210\210\020\021\021\021\042\042\042\042DDD"
+    + "D\210\210\210\210\020\021\021\021!\042\042\042BDDD\204\210\210\210\010\021\021"
+    + "\021!\042\042\042BDDD\204\210\210\210\210\020\021\021\021\042\042\042\042DD"
+    + "DD\210\210\210\210\020\021\021\021!\042\042\042BDDD\204\210\210\210\010\021"
+    + "\021\021\021\042\042\042BDDD\204\210\210\210\210\020\021\021\021\042\042\042\042D"
+    + "DDD\210\210\210\210\020\021\021\021!\042\042\042BDDD\204\210\210\210\010"
+    + "\021\021\021\021\042\042\042BDDDD\210\210\210\210\020\021\021\021\042\042\042\042"
+    + "DDDD\210\210\210\210\020\021\021\021!\042\042\042BDDD\204\210\210\210"
+    + "\010\021\021\021\021\042\042\042\042DDDD\210\210\210\210\020\021\021\021!\042\042"
+    + "\042BDDD\210\210\210\210\010\021\021\021\021\042\042\042BDDD\204\210\210"
+    + "\210\010\021\021\021\021\042\042\042\042DDDD\210\210\210\210\020\021\021\021!\042"
+    + "\042\042BDDD\204\210\210\210\010\021\021\021\021\042\042\042\042DDDD\210"
+    + "\210\210\210\020\021\021\021!\042\042\042BDDD\204\210\210\210\020\021\021\021!"
+    + "\042\042\042\042DDD\204\210\210\210\010\021\021\021\021\042\042\042\042DDDD"
+    + "\210\210\210";
+  private static final String TEHRAN =
+    "PYTS\000\000\000\001\000\000\000\004@A\327\012=p\243\327@I\265\302"
+    + "\217\134(\366@\2210\000\000\000\000\000@\014\000\000\000\000\000\000\000\000\000\001"
+    + "\000\000\013\270\000\000\000\000\000\035\272\241\020\021\021\021!\042\042\042BDDD"
+    + "\204\210\210\210\010\021\021\021!\042\042\042BDDD\204\210\210\210\010\021\021\021"
+    + "\021\042\042\042\042DDDD\210\210\210\210\020\021\021\021\042\042\042\042DDD"
+    + "D\210\210\210\210\020\021\021\021!\042\042\042BDDD\204\210\210\210\010\021\021"
+    + "\021!\042\042\042BDDD\204\210\210\210\010\021\021\021\021\042\042\042\042DD"
+    + "DD\210\210\210\210\020\021\021\021!\042\042\042DDDD\204\210\210\210\010\021"
+    + "\021\021!\042\042\042BDDD\204\210\210\210\010\021\021\021\021\042\042\042\042D"
+    + "DDD\210\210\210\210\020\021\021\021!\042\042\042BDDD\204\210\210\210\010"
+    + "\021\021\021!\042\042\042BDDD\204\210\210\210\210\020\021\021\021\042\042\042\042"
+    + "DDDD\210\210\210\210\020\021\021\021!\042\042\042BDDD\204\210\210\210"
+    + "\010\021\021\021\021\042\042\042\042DDDD\210\210\210\210\020\021\021\021!\042\042"
+    + "\042DDDD\210\210\210\210\020\021\021\021\021\042\042\042BDDD\204\210\210"
+    + "\210\010\021\021\021\021\042\042\042\042DDDD\210\210\210\210\020\021\021\021!\042"
+    + "\042\042BDDD\204\210\210\210\010\021\021\021\021\042\042\042\042DDD\204\210"
+    + "\210\210\010\021\021\021\021!\042\042\042BDDD\210\210\210\210\020\021\021\021!"
+    + "\042\042\042\042DDD\204\210\210\210\010\021\021\021\021\042\042\042\042DDDD"
+    + "\210\210\210";
+  private static final String KABUL =
+    "PYTS\000\000\000\001\000\000\000\004@AC\327\012=p\244@QJ\341"
+    + "G\256\024{@\234 \000\000\000\000\000@\022\000\000\000\000\000\000\000\000\000\001"
+    + "\000\000\013\270\000\000\000\000\000\035\272\241\010\021\021\021\021!\042\042\042DDD"
+    + "D\210\210\210\210\020\021\021\021!\042\042\042BDDD\210\210\210\210\010\021\021"
+    + "\021\021\042\042\042BDDD\204\210\210\210\010\021\021\021\021\042\042\042\042DD"
+    + "DD\210\210\210\210\020\021\021\021!\042\042\042BDDD\210\210\210\210\020\021"
+    + "\021\021!\042\042\042BDDD\204\210\210\210\010\021\021\021\021\042\042\042\042D"
+    + "DD\204\210\210\210\010\021\021\021\021!\042\042\042DDDD\210\210\210\210\020"
+    + "\021\021\021!\042\042\042BDDD\204\210\210\210\010\021\021\021\021\042\042\042\042"
+    + "DDD\204\210\210\210\010\021\021\021\021!\042\042\042BDDD\210\210\210\210"
+    + "\020\021\021\021!\042\042\042BDDD\204\210\210\210\010\021\021\021\021\042\042\042"
+    + "\042DDDD\210\210\210\210\020\021\021\021!\042\042\042BDDD\210\210\210"
+    + "\210\020\021\021\021!\042\042\042\042DDDD\210\210\210\010\021\021\021\021\042\042"
+    + "\042\042DDDD\210\210\210\210\020\021\021\021!\042\042\042BDDD\204\210"
+    + "\210\210\010\021\021\021\021\042\042\042\042DDDD\210\210\210\010\021\021\021\021\042"
+    + "\042\042\042DDDD\204\210\210\210\020\021\021\021!\042\042\042BDDD\204"
+    + "\210\210\210\010\021\021\021\021\042\042\042\042DDDD\210\210\210\210\020\021\021\021"
+    + "!\042\042\042BDDD\204\210\210\210\010\021\021\021\021\042\042\042\042DDD"
+    + "D\210\210";
+}
@@ -0,0 +1,177 @@
+/*
+  PersianYearTable.java
+  2026-10-19 09:12:40
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import com.ghasemkiani.util.calendrica.Calendrica;
+
+/**
+  This class keeps a lazily filled table of the Julian days on which the Persian
+  years begin (1 Farvardin). The astronomical computation of a new year is done
+  at most once per year; afterwards the start,
+  length, and leap status of the year, the start of its months, and the Persian
+  date of any Julian day in it are obtained with integer arithmetic only.
+
+  <p>The table follows the location used by <code>{@link Calendrica}</code> for
+  computing the Persian calendar: the years of each location are kept by
+  <code>{@link PersianYearStarts}</code>, which loads precomputed tables for the
+  named locations and computes the tables of other locations on first use. Years
+  before 1 A.H. are not cached and are computed directly by
+  <code>{@link PersianCalendarHelper}</code>.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public final class PersianYearTable {
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   */
+  private PersianYearTable() {
+    // Utility class; should not be instantiated
+    throw new IllegalStateException("Utility class");
+  }
+  // Days in 33 Persian years, used for estimating the year of a Julian day.
+  private static final long CYCLE_DAYS = 12053L;
+  private static final long CYCLE_YEARS = 33L;
+
+  private static PersianYearStarts starts() {
+    return PersianYearStarts.current();
+  }
+
+  /**
+    Returns the Julian day of the first day (1 Farvardin) of the specified Persian year.
+
+    @param year the Persian year.
+    @return the Julian day on which the year begins.
+  */
+  public static long yearStart(long year) {
+    return yearStart(year, starts());
+  }
+  // The location is read once by the public methods and passed down.
+  private static long yearStart(long year, PersianYearStarts starts) {
+    if (year < 1) {
+      return PersianCalendarHelper.pj(year, PersianCalendarConstants.FARVARDIN, 1, starts);
+    }
+    return starts.yearStart(year);
+  }
+  /**
+    Returns the number of days in the specified Persian year.
+
+    @param year the Persian year.
+    @return 366 for a leap year, 365 otherwise.
+  */
+  public static int yearLength(long year) {
+    return yearLength(year, starts());
+  }
+  private static int yearLength(long year, PersianYearStarts starts) {
+    if (year < 1) {
+      return PersianCalendarHelper.isLeapYear(year, starts) ? 366 : 365;
+    }
+    return starts.yearLength(year);
+  }
+  /**
+    Determines if the specified year is a leap year in the Persian calendar.
+
+    @param year the Persian year.
+    @return <code>true</code> if <code>year</code> is a leap year, <code>false</code> otherwise.
+  */
+  public static boolean isLeapYear(long year) {
+    return yearLength(year) == 366;
+  }
+  /**
+    Returns the number of days in the specified month.
+
+    @param year the Persian year.
+    @param month the Persian month (zero-based).
+    @return the length of the month.
+  */
+  public static int monthLength(long year, int month) {
+    if (month < 6) return 31;
+    if (month < 11) return 30;
+    return isLeapYear(year) ? 30 : 29;
+  }
+  /**
+    Returns the number of days in a year before the specified month.
+
+    @param month the Persian month (zero-based).
+    @return the number of days before the first day of the month.
+  */
+  public static int daysBeforeMonth(int month) {
+    return month < 6 ? 31 * month : 30 * month + 6;
+  }
+  /**
+    Returns the Julian day of the first day of the specified month.
+
+    @param year the Persian year.
+    @param month the Persian month (zero-based).
+    @return the Julian day on which the month begins.
+  */
+  public static long monthStart(long year, int month) {
+    return yearStart(year, starts()) + daysBeforeMonth(month);
+  }
+  /**
+    Returns the Persian year containing the specified Julian day.
+
+    @param julianDay the Julian day.
+    @return the Persian year.
+  */
+  public static long year(long julianDay) {
+    return year(julianDay, starts());
+  }
+  private static long year(long julianDay, PersianYearStarts starts) {
+    long first = yearStart(1, starts);
+    if (julianDay < first) {
+      return PersianCalendarUtils.y(PersianCalendarHelper.jp(julianDay, starts));
+    }
+    long year = (julianDay - first) * CYCLE_YEARS / CYCLE_DAYS + 1;
+    while (yearStart(year, starts) > julianDay) {
+      year--;
+    }
+    while (yearStart(year + 1, starts) <= julianDay) {
+      year++;
+    }
+    return year;
+  }
+  /**
+    Returns the date in the Persian calendar corresponding to the specified Julian day.
+    The result is packed in the same way as <code>{@link PersianCalendarHelper#jp(long)}</code>.
+
+    @param julianDay the Julian day.
+    @return a packed long value containing the corresponding Persian year, month, and day.
+  */
+  public static long jp(long julianDay) {
+    return jp(julianDay, starts());
+  }
+  static long jp(long julianDay, PersianYearStarts starts) {
+    if (julianDay < yearStart(1, starts)) {
+      return PersianCalendarHelper.jp(julianDay, starts);
+    }
+    long year = year(julianDay, starts);
+    int dayOfYear = (int)(julianDay - yearStart(year, starts));
+    int month = dayOfYear < 186 ? dayOfYear / 31 : (dayOfYear - 6) / 30;
+    int day = dayOfYear - daysBeforeMonth(month) + 1;
+    return (year << 16) | (month << 8) | day;
+  }
+  /**
+    Returns the Julian day corresponding to the specified date in the Persian calendar.
+    This gives the same result as <code>{@link PersianCalendarHelper#pj(long, int, int)}</code>.
+
+    @param year the Persian year.
+    @param month the Persian month (zero-based).
+    @param day the Persian day.
+    @return the Julian day corresponding to the specified date in the Persian calendar.
+  */
+  public static long pj(long year, int month, int day) {
+    PersianYearStarts starts = starts();
+    if (year < 1) {
+      return PersianCalendarHelper.pj(year, month, day, starts);
+    }
+    return starts.yearStart(year) + daysBeforeMonth(month) + day - 1;
+  }
+}
@@ -0,0 +1,174 @@
+/*
+  PersianZoneConverter.java
+  2026-10-19 13:48:10
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+  This class converts instants (milliseconds since 1970-01-01 00:00:00 UTC) to
+  dates of the Persian calendar in a time zone that is specified up front.
+
+  <p>The offset transitions of the zone (including the historical daylight saving
+  periods of Iran) are precomputed from 1900 to 2100, so converting an instant in
+  this window needs only a binary search over the transitions and integer arithmetic.
+  For zones with a fixed offset, the transition table is skipped entirely. Instants
+  outside the window are resolved by the rules of the zone.</p>
+
+  <p>The results are either packed Persian dates, in the same format as
+  <code>{@link PersianCalendarHelper#jp(long)}</code>, or packed date-times which
+  hold a packed Persian date together with the milliseconds of the day; see
+  <code>{@link #date(long)}</code> and <code>{@link #millisOfDay(long)}</code>.</p>
+
+  <p>Instances of this class are immutable and thread-safe.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public final class PersianZoneConverter {
+  /**
+    Julian day of 1970-01-01 (the epoch of <code>System.currentTimeMillis()</code>).
+  */
+  public static final long EPOCH_JULIAN_DAY = 2440588L;
+  private static final long ONE_DAY_MILLIS = 24L * 60L * 60L * 1000L;
+  private static final int TIME_BITS = 27;
+  private static final long WINDOW_START = Instant.parse("1900-01-01T00:00:00Z").toEpochMilli();
+  private static final long WINDOW_END = Instant.parse("2100-01-01T00:00:00Z").toEpochMilli();
+
+  private final ZoneId zone;
+  private final ZoneRules rules;
+  private final boolean fixed;
+  private final int fixedOffset;
+  // offsets[i] is the offset in effect from transitions[i - 1] (inclusive) to transitions[i] (exclusive).
+  private final long[] transitions;
+  private final int[] offsets;
+
+  /**
+    Constructs a converter for the specified time zone.
+
+    @param zone the time zone.
+  */
+  public PersianZoneConverter(ZoneId zone) {
+    this.zone = zone;
+    this.rules = zone.getRules();
+    this.fixed = rules.isFixedOffset();
+    if (fixed) {
+      fixedOffset = rules.getOffset(Instant.EPOCH).getTotalSeconds() * 1000;
+      transitions = new long[0];
+      offsets = new int[] {fixedOffset};
+      return;
+    }
+    fixedOffset = 0;
+    long[] t = new long[64];
+    int[] o = new int[65];
+    int n = 0;
+    o[0] = offsetMillis(rules.getOffset(Instant.ofEpochMilli(WINDOW_START)));
+    ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(WINDOW_START));
+    while (transition != null && transition.getInstant().toEpochMilli() < WINDOW_END) {
+      if (n == t.length) {
+        t = Arrays.copyOf(t, 2 * n);
+        o = Arrays.copyOf(o, 2 * n + 1);
+      }
+      t[n] = transition.getInstant().toEpochMilli();
+      o[++n] = offsetMillis(transition.getOffsetAfter());
+      transition = rules.nextTransition(transition.getInstant());
+    }
+    transitions = Arrays.copyOf(t, n);
+    offsets = Arrays.copyOf(o, n + 1);
+  }
+  private static int offsetMillis(ZoneOffset offset) {
+    return offset.getTotalSeconds() * 1000;
+  }
+  /**
+    Returns the time zone of this converter.
+
+    @return the time zone.
+  */
+  public ZoneId getZone() {
+    return zone;
+  }
+  /**
+    Returns the offset of the time zone from UTC at the specified instant.
+
+    @param epochMillis the instant, in milliseconds since 1970-01-01 00:00:00 UTC.
+    @return the offset in milliseconds.
+  */
+  public int getOffsetMillis(long epochMillis) {
+    if (fixed) {
+      return fixedOffset;
+    }
+    if (epochMillis < WINDOW_START || epochMillis >= WINDOW_END) {
+      return offsetMillis(rules.getOffset(Instant.ofEpochMilli(epochMillis)));
+    }
+    int lo = 0;
+    int hi = transitions.length;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (transitions[mid] <= epochMillis) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return offsets[lo];
+  }
+  /**
+    Returns the local Julian day of the specified instant in the time zone of this converter.
+
+    @param epochMillis the instant, in milliseconds since 1970-01-01 00:00:00 UTC.
+    @return the Julian day.
+  */
+  public long toJulianDay(long epochMillis) {
+    return Math.floorDiv(epochMillis + getOffsetMillis(epochMillis), ONE_DAY_MILLIS) + EPOCH_JULIAN_DAY;
+  }
+  /**
+    Returns the local Persian date of the specified instant in the time zone of this converter.
+
+    @param epochMillis the instant, in milliseconds since 1970-01-01 00:00:00 UTC.
+    @return a packed long value containing the Persian year, month, and day.
+  */
+  public long toPersianDate(long epochMillis) {
+    return PersianYearTable.jp(toJulianDay(epochMillis));
+  }
+  /**
+    Returns the local Persian date and time of day of the specified instant in the time
+    zone of this converter.
+
+    @param epochMillis the instant, in milliseconds since 1970-01-01 00:00:00 UTC.
+    @return a packed long value containing the Persian date and the milliseconds of the day.
+  */
+  public long toPersianDateTime(long epochMillis) {
+    long local = epochMillis + getOffsetMillis(epochMillis);
+    long julianDay = Math.floorDiv(local, ONE_DAY_MILLIS) + EPOCH_JULIAN_DAY;
+    return (PersianYearTable.jp(julianDay) << TIME_BITS) | Math.floorMod(local, ONE_DAY_MILLIS);
+  }
+  /**
+    Extracts the packed Persian date from a packed date-time.
+
+    @param dateTime the packed date-time.
+    @return the packed Persian date (see <code>{@link PersianCalendarUtils}</code>).
+  */
+  public static long date(long dateTime) {
+    return dateTime >> TIME_BITS;
+  }
+  /**
+    Extracts the milliseconds of the day from a packed date-time.
+
+    @param dateTime the packed date-time.
+    @return the milliseconds of the day.
+  */
+  public static int millisOfDay(long dateTime) {
+    return (int)(dateTime & ((1L << TIME_BITS) - 1));
+  }
+}
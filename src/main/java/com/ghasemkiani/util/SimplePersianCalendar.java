@@ -63,6 +63,10 @@ import static com.ghasemkiani.util.PersianCalendarHelper.*;
   The algorithms for conversion between Persian and Gregorian calendar systems
   are placed in <code>{@link PersianCalendarHelper}</code> class.
 
+  The Persian date of the last Julian day converted is cached, so repeated
+  calls for the same date (e.g., <code>{@link #getDateFields()}</code> followed by
+  <code>{@link #getPersianMonthName()}</code>) convert it only once.
+
   @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
   @version 2.1
 */
@@ -79,6 +83,19 @@ public class SimplePersianCalendar extends GregorianCalendar implements PersianC
   private static final long JULIAN_EPOCH_MILLIS = -210866803200000L;
   private static final long ONE_DAY_MILLIS = 24L * 60L * 60L * 1000L;
 
+  // The Persian date of a Julian day with the year starts it was computed from.
+  private static final class Cached {
+    final long julianDay;
+    final PersianYearStarts starts;
+    final long date;
+    Cached(long julianDay, PersianYearStarts starts, long date) {
+      this.julianDay = julianDay;
+      this.starts = starts;
+      this.date = date;
+    }
+  }
+  private transient Cached cached;
+
   /**
     Get the Julian day corresponding to the date of this calendar.
     @since 2.0
@@ -86,7 +103,7 @@ public class SimplePersianCalendar extends GregorianCalendar implements PersianC
     @return the Julian day corresponding to the date of this calendar.
   */
   public long getJulianDay() {
-    return div(getTimeInMillis() - JULIAN_EPOCH_MILLIS, ONE_DAY_MILLIS);
+    return Math.floorDiv(getTimeInMillis() - JULIAN_EPOCH_MILLIS, ONE_DAY_MILLIS);
   }
   /**
     Set the date of this calendar to the specified Julian day.
@@ -95,7 +112,7 @@ public class SimplePersianCalendar extends GregorianCalendar implements PersianC
     @param julianDay the desired Julian day to be set as the date of this calendar.
   */
   public void setJulianDay(long julianDay) {
-    setTimeInMillis(JULIAN_EPOCH_MILLIS + julianDay * ONE_DAY_MILLIS + mod(getTimeInMillis() - JULIAN_EPOCH_MILLIS, ONE_DAY_MILLIS));
+    setTimeInMillis(JULIAN_EPOCH_MILLIS + julianDay * ONE_DAY_MILLIS + Math.floorMod(getTimeInMillis() - JULIAN_EPOCH_MILLIS, ONE_DAY_MILLIS));
   }
 
   /**
@@ -131,13 +148,23 @@ public class SimplePersianCalendar extends GregorianCalendar implements PersianC
     @return the date of this calendar as Persian date fields.
   */
   public DateFields getDateFields() {
-    long julianDay = getJulianDay();
-    long r = jp(julianDay);
+    long r = date();
     long y = y(r);
     int m = m(r);
     int d = d(r);
     return new DateFields((int)(y > 0? y: y - 1), (int)m, (int)d);
   }
+  // Returns the packed Persian date of this calendar, converting it only if the Julian day has changed.
+  private long date() {
+    long julianDay = getJulianDay();
+    PersianYearStarts starts = PersianYearStarts.current();
+    Cached c = cached;
+    if (c == null || c.julianDay != julianDay || c.starts != starts) {
+      c = new Cached(julianDay, starts, jp(julianDay, starts));
+      cached = c;
+    }
+    return c.date;
+  }
   /**
     Persian month names.
     @since 1.1
@@ -187,7 +214,7 @@ public class SimplePersianCalendar extends GregorianCalendar implements PersianC
     @return the name of the current Persian month for this calendar's date in Persian.
   */
   public String getPersianMonthName() {
-    return getPersianMonthName(getDateFields().getMonth());
+    return getPersianMonthName(m(date()));
   }
   /**
     Gives the Persian name of the specified day of week.
@@ -0,0 +1,125 @@
+/*
+  StandardPersianLeapRule.java
+  2026-10-19 19:22:53
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util;
+
+import com.ghasemkiani.util.calendrica.Calendrica;
+
+/**
+  <p>The standard rules determining the years of the Persian calendar:</p>
+
+  <ul>
+    <li><code>{@link #ASTRONOMICAL}</code>: the astronomical calendar of
+    <code>{@link PersianCalendarHelper}</code>, with the year starts cached by
+    <code>{@link PersianYearTable}</code>.</li>
+    <li><code>{@link #OFFICIAL}</code>: the published table of the leap years of the
+    official calendar of Iran from 1210 to 1498 A.H., and the astronomical calendar
+    outside it.</li>
+    <li><code>{@link #ARITHMETIC}</code>: the 2820-year cycle of
+    <code>{@link PersianArithmeticCycle}</code> from the epoch of the calendar. This is
+    the cheapest rule, but differs from the astronomical calendar in some years
+    (e.g., it makes 1404 a leap year instead of 1403).</li>
+    <li><code>{@link #ICU}</code>: the 33-year cycle of the built-in
+    <code>com.ibm.icu.util.PersianCalendar</code> of ICU4J, giving the same dates.</li>
+  </ul>
+
+  <p>The astronomical and official rules have no year zero, as in
+  <code>{@link PersianCalendarHelper}</code>. The arithmetic and ICU rules number the
+  years continuously, year 0 being the year before year 1.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public enum StandardPersianLeapRule implements PersianLeapRule {
+  /**
+    The astronomical calendar.
+  */
+  ASTRONOMICAL {
+    public long yearStart(long year) {
+      return PersianYearTable.yearStart(year);
+    }
+    public int yearLength(long year) {
+      return PersianYearTable.yearLength(year);
+    }
+    public long year(long julianDay) {
+      return PersianYearTable.year(julianDay);
+    }
+    public long jp(long julianDay) {
+      return PersianYearTable.jp(julianDay);
+    }
+  },
+  /**
+    The published table of the official calendar of Iran, and the astronomical calendar outside it.
+  */
+  OFFICIAL {
+    public long yearStart(long year) {
+      if (year < Official.FIRST_YEAR || year > Official.LAST_YEAR + 1) {
+        return PersianYearTable.yearStart(year);
+      }
+      return Official.STARTS[(int)(year - Official.FIRST_YEAR)];
+    }
+  },
+  /**
+    The 2820-year arithmetic cycle.
+  */
+  ARITHMETIC {
+    public long yearStart(long year) {
+      return PersianCalendarUtils.EPOCH + PersianArithmeticCycle.daysBeforeYear(year);
+    }
+    public boolean isLeapYear(long year) {
+      return PersianArithmeticCycle.isLeapYear(year);
+    }
+    public long year(long julianDay) {
+      return PersianArithmeticCycle.yearOf(julianDay - PersianCalendarUtils.EPOCH);
+    }
+  },
+  /**
+    The 33-year arithmetic cycle of ICU4J.
+  */
+  ICU {
+    public long yearStart(long year) {
+      return ICU_EPOCH + 365 * (year - 1) + Math.floorDiv(8 * year + 21, 33L);
+    }
+    public boolean isLeapYear(long year) {
+      return Math.floorMod(25 * year + 11, 33L) < 8;
+    }
+    public long year(long julianDay) {
+      return 1 + Math.floorDiv(33 * (julianDay - ICU_EPOCH) + 3, 12053L);
+    }
+  };
+
+  // The Julian day of 1 Farvardin 1 in the Persian calendar of ICU4J.
+  private static final long ICU_EPOCH = 1948320L;
+
+  // The official table, loaded on first use.
+  private static final class Official {
+    static final int FIRST_YEAR = 1210;
+    static final int LAST_YEAR = 1498;
+    static final int[] LEAP_YEARS = {
+      1210, 1214, 1218, 1222, 1226, 1230, 1234, 1238, 1243, 1247, 1251, 1255, 1259, 1263, 1267,
+      1271, 1276, 1280, 1284, 1288, 1292, 1296, 1300, 1304, 1309, 1313, 1317, 1321, 1325, 1329,
+      1333, 1337, 1342, 1346, 1350, 1354, 1358, 1362, 1366, 1370, 1375, 1379, 1383, 1387, 1391,
+      1395, 1399, 1403, 1408, 1412, 1416, 1420, 1424, 1428, 1432, 1436, 1441, 1445, 1449, 1453,
+      1457, 1461, 1465, 1469, 1474, 1478, 1482, 1486, 1490, 1494, 1498,
+    };
+    // STARTS[i] is the start of the year FIRST_YEAR + i.
+    static final long[] STARTS = new long[LAST_YEAR - FIRST_YEAR + 2];
+    static {
+      STARTS[0] = PersianYearStarts.of(Calendrica.IRAN).yearStart(FIRST_YEAR);
+      int k = 0;
+      for (int i = 1; i < STARTS.length; i++) {
+        boolean leap = k < LEAP_YEARS.length && LEAP_YEARS[k] == FIRST_YEAR + i - 1;
+        if (leap) {
+          k++;
+        }
+        STARTS[i] = STARTS[i - 1] + (leap ? 366 : 365);
+      }
+    }
+  }
+}
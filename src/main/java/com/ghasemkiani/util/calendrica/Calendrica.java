@@ -54,9 +54,6 @@
 
 package com.ghasemkiani.util.calendrica;
 
-import java.util.Arrays;
-import java.util.stream.IntStream;
-
 /**
  * This class provides utility functions for calendrical calculations, including conversions
  * between Gregorian, Julian, and Persian (Jalali) calendars. It is a Java port of
@@ -76,24 +73,28 @@ public class Calendrica {
   }
   /**
    * The fixed date corresponding to the Gregorian epoch (1 January 0001 CE in the proleptic Gregorian calendar).
+   * This is {@code rd(1)}.
    */
-  public static long GREGORIAN_EPOCH = rd(1);
+  public static long GREGORIAN_EPOCH = 1;
   /**
    * The fixed date corresponding to the Julian epoch (30 December 0000 BCE in the proleptic Gregorian calendar).
+   * This is {@code fixedFromGregorian(new int[] {0, 12, 30})}.
    */
-  public static long JULIAN_EPOCH = fixedFromGregorian(new int[] {0, 12, 30});
+  public static long JULIAN_EPOCH = -1;
   /**
    * The Julian date of noon on 1 January 2000 CE (J2000.0). Used as a reference point in astronomical calculations.
+   * This is {@code hr(12) + gregorianNewYear(2000)}.
    */
-  public static double J2000 = hr(12) + gregorianNewYear(2000);
+  public static double J2000 = 730120.5;
   /**
    * The mean length of a tropical year in days.
    */
   public static double MEAN_TROPICAL_YEAR = 365.242189;
   /**
    * The fixed date corresponding to the Persian epoch (19 March 622 CE in the Julian calendar).
+   * This is {@code fixedFromJulian(622, 3, 19)}.
    */
-  public static long PERSIAN_EPOCH = fixedFromJulian(622, 3, 19);
+  public static long PERSIAN_EPOCH = 226896;
   /**
    * An array representing the location of Tehran (latitude, longitude, altitude, time zone offset).
    */
@@ -102,10 +103,14 @@ public class Calendrica {
    * An array representing the location of Iran (latitude, longitude, altitude, time zone offset).
    */
   public static double[] IRAN = {35.5, 52.5, 0, +3.5};
+  /**
+   * An array representing the location of Kabul (latitude, longitude, altitude, time zone offset).
+   */
+  public static double[] KABUL = {34.53, 69.17, 1800, +4.5};
   /**
    * The default locale used for computing the Persian calendar (currently set to Iran).
    */
-  public static double[] persianLocale = IRAN;
+  public static volatile double[] persianLocale = IRAN;
   /**
    * Constant representing the solar longitude of the spring equinox (in degrees).
    */
@@ -139,11 +144,14 @@ public class Calendrica {
    * @return The sum of the powers of x multiplied by their corresponding coefficients. Returns 0 if the coefficient array is null or empty.
    */
   public static double poly(double x, double[] a) {
-    if (a == null || a.length == 0) {
-      return 0;
-    } else {
-      return a[0] + x * poly(x, Arrays.copyOfRange(a, 1, a.length));
+    double result = 0;
+    if (a != null) {
+      // Horner's rule; the same operations as a[0] + x * poly(x, a[1..]).
+      for (int i = a.length - 1; i >= 0; i--) {
+        result = a[i] + x * result;
+      }
     }
+    return result;
   }
 
   /**
@@ -512,57 +520,97 @@ public class Calendrica {
    */
   public static double ephemerisCorrection(double tee) {
     int year = gregorianYearFromFixed((long) Math.floor(tee));
-    double c = gregorianDateDifference(new int[] {1900, 1, 1}, new int[] {year, 7, 1}) / 36525.0;
-    double y2000 = year - 2000.0;
-    double c2051 = (-20 + 32 * Math.pow((year - 1820.0) / 100.0, 2)
-                    + 0.5628 * (2150 - year)) / 86400.0;
-    double[] c2006Coeffs = {62.92, 0.32217, 0.005589};
-    double c2006 = poly(y2000, c2006Coeffs) / 86400.0;
-    double[] c1987Coeffs = {63.86, 0.3345, -0.060374, 0.0017275, 0.000651814, 0.00002373599};
-    double c1987 = poly(y2000, c1987Coeffs) / 86400.0;
-    double[] c1900Coeffs = {-0.00002, 0.000297, 0.025184, -0.181133, 0.553040, -0.861938, 0.677066, -0.212591};
-    double c1900 = poly(c, c1900Coeffs);
-    double[] c1800Coeffs = {-0.000009, 0.003844, 0.083563, 0.865736, 4.867575, 15.845535, 31.332267, 38.291999, 28.316289, 11.636204, 2.043794};
-    double c1800 = poly(c, c1800Coeffs);
-    double y1700 = year - 1700.0;
-    double[] c1700Coeffs = {8.118780842, -0.005092142, 0.003336121, -0.0000266484};
-    double c1700 = poly(y1700, c1700Coeffs) / 86400.0;
-    double y1600 = year - 1600.0;
-    double[] c1600Coeffs = {120, -0.9808, -0.01532, 0.000140272128};
-    double c1600 = poly(y1600, c1600Coeffs) / 86400.0;
-    double y1000 = (year - 1000.0) / 100.0;
-    double[] c500Coeffs = {1574.2, -556.01, 71.23472, 0.319781, -0.8503463, -0.005050998, 0.0083572073};
-    double c500 = poly(y1000, c500Coeffs) / 86400.0;
-    double y0 = year / 100.0;
-    double[] c0Coeffs = {10583.6, -1014.41, 33.78311, -5.952053, -0.1798452, 0.022174192, 0.0090316521};
-    double c0 = poly(y0, c0Coeffs) / 86400.0;
-    double y1820 = (year - 1820.0) / 100.0;
-    double[] otherCoeffs = {-20, 0, 32};
-    double other = poly(y1820, otherCoeffs) / 86400.0;
-
+    // Only the polynomial of the range containing the year is evaluated.
     if (year >= 2051 && year <= 2150) {
-      return c2051;
+      return (-20 + 32 * Math.pow((year - 1820.0) / 100.0, 2)
+              + 0.5628 * (2150 - year)) / 86400.0;
     } else if (year >= 2006 && year <= 2050) {
-      return c2006;
+      return poly(year - 2000.0, C2006) / 86400.0;
     } else if (year >= 1987 && year <= 2005) {
-      return c1987;
+      return poly(year - 2000.0, C1987) / 86400.0;
     } else if (year >= 1900 && year <= 1986) {
-      return c1900;
+      return poly(centuriesFrom1900(year), C1900);
     } else if (year >= 1800 && year <= 1899) {
-      return c1800;
+      return poly(centuriesFrom1900(year), C1800);
     } else if (year >= 1700 && year <= 1799) {
-      return c1700;
+      return poly(year - 1700.0, C1700) / 86400.0;
     } else if (year >= 1600 && year <= 1699) {
-      return c1600;
+      return poly(year - 1600.0, C1600) / 86400.0;
     } else if (year >= 500 && year <= 1599) {
-      return c500;
+      return poly((year - 1000.0) / 100.0, C500) / 86400.0;
     } else if (year > -500 && year < 500) {
-      return c0;
+      return poly(year / 100.0, C0) / 86400.0;
     } else {
-      return other;
+      return poly((year - 1820.0) / 100.0, C_OTHER) / 86400.0;
     }
   }
 
+  private static final double[] C2006 = {62.92, 0.32217, 0.005589};
+  private static final double[] C1987 = {63.86, 0.3345, -0.060374, 0.0017275, 0.000651814, 0.00002373599};
+  private static final double[] C1900 = {-0.00002, 0.000297, 0.025184, -0.181133, 0.553040, -0.861938, 0.677066, -0.212591};
+  private static final double[] C1800 = {-0.000009, 0.003844, 0.083563, 0.865736, 4.867575, 15.845535, 31.332267, 38.291999, 28.316289, 11.636204, 2.043794};
+  private static final double[] C1700 = {8.118780842, -0.005092142, 0.003336121, -0.0000266484};
+  private static final double[] C1600 = {120, -0.9808, -0.01532, 0.000140272128};
+  private static final double[] C500 = {1574.2, -556.01, 71.23472, 0.319781, -0.8503463, -0.005050998, 0.0083572073};
+  private static final double[] C0 = {10583.6, -1014.41, 33.78311, -5.952053, -0.1798452, 0.022174192, 0.0090316521};
+  private static final double[] C_OTHER = {-20, 0, 32};
+
+  private static double centuriesFrom1900(int year) {
+    return gregorianDateDifference(new int[] {1900, 1, 1}, new int[] {year, 7, 1}) / 36525.0;
+  }
+
+  private static final double[] SOLAR_COEFFICIENTS = {403406, 195207, 119433, 112392, 3891, 2819, 1721,
+                           660, 350, 334, 314, 268, 242, 234, 158, 132, 129, 114,
+                           99, 93, 86, 78, 72, 68, 64, 46, 38, 37, 32, 29, 28, 27, 27,
+                           25, 24, 21, 21, 20, 18, 17, 14, 13, 13, 13, 12, 10, 10, 10,
+                           10
+                          };
+  private static final double[] SOLAR_MULTIPLIERS = {0.9287892, 35999.1376958, 35999.4089666,
+                          35998.7287385, 71998.20261, 71998.4403,
+                          36000.35726, 71997.4812, 32964.4678,
+                          -19.4410, 445267.1117, 45036.8840, 3.1008,
+                          22518.4434, -19.9739, 65928.9345,
+                          9038.0293, 3034.7684, 33718.148, 3034.448,
+                          -2280.773, 29929.992, 31556.493, 149.588,
+                          9037.750, 107997.405, -4444.176, 151.771,
+                          67555.316, 31556.080, -4561.540,
+                          107996.706, 1221.655, 62894.167,
+                          31437.369, 14578.298, -31931.757,
+                          34777.243, 1221.999, 62894.511,
+                          -4442.039, 107997.909, 119.066, 16859.071,
+                          -4.578, 26895.292, -39.127, 12297.536,
+                          90073.778
+                         };
+  private static final double[] SOLAR_ADDENDS = {270.54861, 340.19128, 63.91854, 331.26220,
+                      317.843, 86.631, 240.052, 310.26, 247.23,
+                      260.87, 297.82, 343.14, 166.79, 81.53,
+                      3.50, 132.75, 182.95, 162.03, 29.8,
+                      266.4, 249.2, 157.6, 257.8, 185.1, 69.9,
+                      8.0, 197.1, 250.4, 65.3, 162.7, 341.5,
+                      291.6, 98.5, 146.7, 110.0, 5.2, 342.6,
+                      230.9, 256.1, 45.3, 242.9, 115.2, 151.8,
+                      285.3, 53.3, 126.6, 205.7, 85.9,
+                      146.1
+                     };
+
+  // Sums the periodic terms of the solar longitude with compensated (Kahan)
+  // summation, as DoubleStream.sum() does, without the cost of a stream.
+  private static double solarLongitudeSum(double c) {
+    return solarLongitudeSum(c, SOLAR_COEFFICIENTS.length);
+  }
+  private static double solarLongitudeSum(double c, int terms) {
+    double sum = 0;
+    double compensation = 0;
+    for (int i = 0; i < terms; i++) {
+      double term = SOLAR_COEFFICIENTS[i] * sinDegrees(SOLAR_ADDENDS[i] + SOLAR_MULTIPLIERS[i] * c);
+      double y = term - compensation;
+      double t = sum + y;
+      compensation = (t - sum) - y;
+      sum = t;
+    }
+    return sum - compensation;
+  }
+
   /**
    * Calculates the longitude of the sun at a given moment in time.
    *
@@ -575,47 +623,52 @@ public class Calendrica {
    */
   public static double solarLongitude(double tee) {
     double c = julianCenturies(tee);  // moment in Julian centuries
-    double[] coefficients = {403406, 195207, 119433, 112392, 3891, 2819, 1721,
-                             660, 350, 334, 314, 268, 242, 234, 158, 132, 129, 114,
-                             99, 93, 86, 78, 72, 68, 64, 46, 38, 37, 32, 29, 28, 27, 27,
-                             25, 24, 21, 21, 20, 18, 17, 14, 13, 13, 13, 12, 10, 10, 10,
-                             10
-                            };
-    double[] multipliers = {0.9287892, 35999.1376958, 35999.4089666,
-                            35998.7287385, 71998.20261, 71998.4403,
-                            36000.35726, 71997.4812, 32964.4678,
-                            -19.4410, 445267.1117, 45036.8840, 3.1008,
-                            22518.4434, -19.9739, 65928.9345,
-                            9038.0293, 3034.7684, 33718.148, 3034.448,
-                            -2280.773, 29929.992, 31556.493, 149.588,
-                            9037.750, 107997.405, -4444.176, 151.771,
-                            67555.316, 31556.080, -4561.540,
-                            107996.706, 1221.655, 62894.167,
-                            31437.369, 14578.298, -31931.757,
-                            34777.243, 1221.999, 62894.511,
-                            -4442.039, 107997.909, 119.066, 16859.071,
-                            -4.578, 26895.292, -39.127, 12297.536,
-                            90073.778
-                           };
-    double[] addends = {270.54861, 340.19128, 63.91854, 331.26220,
-                        317.843, 86.631, 240.052, 310.26, 247.23,
-                        260.87, 297.82, 343.14, 166.79, 81.53,
-                        3.50, 132.75, 182.95, 162.03, 29.8,
-                        266.4, 249.2, 157.6, 257.8, 185.1, 69.9,
-                        8.0, 197.1, 250.4, 65.3, 162.7, 341.5,
-                        291.6, 98.5, 146.7, 110.0, 5.2, 342.6,
-                        230.9, 256.1, 45.3, 242.9, 115.2, 151.8,
-                        285.3, 53.3, 126.6, 205.7, 85.9,
-                        146.1
-                       };
     double lambda = 282.7771834
                     + 36000.76953744 * c
-                    + 0.000005729577951308232 *
-                    IntStream.range(0, coefficients.length)
-                    .mapToDouble(i -> coefficients[i] * sinDegrees(addends[i] + multipliers[i] * c))
-                    .sum();
+                    + 0.000005729577951308232 * solarLongitudeSum(c);
+
+    return mod3((lambda + aberrationAt(c) + nutationAt(c)), 0, 360);
+  }
+
+  // Number of terms of the series used by solarLongitudeExceeds.
+  private static final int TRUNCATED_SOLAR_TERMS = 8;
+  // Bound on the omitted terms, in degrees, with a margin for rounding.
+  private static final double TRUNCATED_SOLAR_ERROR = truncatedSolarError();
+
+  private static double truncatedSolarError() {
+    double sum = 0;
+    for (int i = TRUNCATED_SOLAR_TERMS; i < SOLAR_COEFFICIENTS.length; i++) {
+      sum += SOLAR_COEFFICIENTS[i];
+    }
+    return 0.000005729577951308232 * sum + 1e-9;
+  }
 
-    return mod3((lambda + aberration(tee) + nutation(tee)), 0, 360);
+  /**
+   * Determines if {@code solarLongitude(tee) > degrees}, for {@code 0 <= degrees < 360}.
+   *
+   * <p>The longitude is first computed from the largest terms of the series only; the
+   * omitted terms change it by less than {@code TRUNCATED_SOLAR_ERROR} (about 0.02
+   * degrees, or half an hour of the motion of the sun). Only when the truncated
+   * longitude is within that bound of {@code degrees}, or of 0, is the full series
+   * evaluated, so the result is always that of {@link #solarLongitude(double)}.</p>
+   *
+   * @param tee     The moment in time (Julian day number).
+   * @param degrees The longitude compared with, in degrees.
+   * @return {@code true} if the longitude of the sun exceeds {@code degrees}.
+   */
+  private static boolean solarLongitudeExceeds(double tee, double degrees) {
+    double c = julianCenturies(tee);
+    double lambda = mod3(282.7771834
+                         + 36000.76953744 * c
+                         + 0.000005729577951308232 * solarLongitudeSum(c, TRUNCATED_SOLAR_TERMS)
+                         + aberrationAt(c) + nutationAt(c), 0, 360);
+    if (lambda - TRUNCATED_SOLAR_ERROR > degrees && lambda + TRUNCATED_SOLAR_ERROR < 360) {
+      return true;
+    }
+    if (lambda + TRUNCATED_SOLAR_ERROR <= degrees && lambda - TRUNCATED_SOLAR_ERROR >= 0) {
+      return false;
+    }
+    return solarLongitude(tee) > degrees;
   }
 
   /**
@@ -626,7 +679,10 @@ public class Calendrica {
    * @return The longitudinal nutation in degrees.
    */
   public static double nutation(double tee) {
-    double c = julianCenturies(tee);  // moment in Julian centuries
+    return nutationAt(julianCenturies(tee));
+  }
+  // The nutation at c Julian centuries from J2000.
+  private static double nutationAt(double c) {
     double[] capACoeffs = {124.90, -1934.134, 0.002063};
     double capA = poly(c, capACoeffs);
     double[] capBCoeffs = {201.11, 72001.5377, 0.00057};
@@ -642,7 +698,10 @@ public class Calendrica {
    * @return The aberration in degrees.
    */
   public static double aberration(double tee) {
-    double c = julianCenturies(tee);  // moment in Julian centuries
+    return aberrationAt(julianCenturies(tee));
+  }
+  // The aberration at c Julian centuries from J2000.
+  private static double aberrationAt(double c) {
     return 0.0000974 * cosDegrees(177.63 + 35999.01848 * c) - 0.005575;
   }
 
@@ -688,11 +747,23 @@ public class Calendrica {
    * @return The fixed date of the Persian New Year.
    */
   public static long persianNewYearOnOrBefore(long date) {
+    return persianNewYearOnOrBefore(date, persianLocale);
+  }
+
+  /**
+   * Determines the fixed date of the Astronomical Persian New Year (Nowruz) on or before a given fixed date
+   * at the specified location.
+   *
+   * @param date     The fixed date number to search before or on.
+   * @param location An array representing the location, including the longitude.
+   * @return The fixed date of the Persian New Year.
+   */
+  public static long persianNewYearOnOrBefore(long date, double[] location) {
     // Approximate time of equinox.
     double approx = estimatePriorSolarLongitude(
-                      SPRING, middayInPersianLocale(date));
+                      SPRING, midday(date, location));
     long day = (long) Math.floor(approx) - 1;
-    while (solarLongitude(middayInPersianLocale(day)) > SPRING + 2) {
+    while (solarLongitudeExceeds(midday(day, location), SPRING + 2)) {
       day++;
     }
     return day;
@@ -705,13 +776,25 @@ public class Calendrica {
    * @return The fixed date number corresponding to the Persian date.
    */
   public static long fixedFromPersian(int[] pDate) {
+    return fixedFromPersian(pDate, persianLocale);
+  }
+
+  /**
+   * Converts an Astronomical Persian date (year, month, day) at the specified location to a fixed date number.
+   *
+   * @param pDate    An array of three integers representing the Persian date in the format {year, month, day}.
+   * @param location An array representing the location, including the longitude.
+   * @return The fixed date number corresponding to the Persian date.
+   */
+  public static long fixedFromPersian(int[] pDate, double[] location) {
     int year = pDate[0];
     int month = pDate[1];
     int day = pDate[2];
     long newYear = persianNewYearOnOrBefore(
                      PERSIAN_EPOCH + 180  // Fall after epoch.
                      + (long) Math.floor(MEAN_TROPICAL_YEAR *
-                                         (year > 0 ? year - 1 : year)));  // No year zero.
+                                         (year > 0 ? year - 1 : year)),  // No year zero.
+                     location);
     return (newYear - 1  // Days in prior years.
             // Days in prior months this year.
             + (month <= 7 ? 31 * (month - 1) : 30 * (month - 1) + 6)
@@ -725,11 +808,22 @@ public class Calendrica {
    * @return An array of three integers representing the Persian date in the format {year, month, day}.
    */
   public static int[] persianFromFixed(long date) {
-    long newYear = persianNewYearOnOrBefore(date);
+    return persianFromFixed(date, persianLocale);
+  }
+
+  /**
+   * Converts a fixed date number to an Astronomical Persian date (year, month, day) at the specified location.
+   *
+   * @param date     The fixed date number.
+   * @param location An array representing the location, including the longitude.
+   * @return An array of three integers representing the Persian date in the format {year, month, day}.
+   */
+  public static int[] persianFromFixed(long date, double[] location) {
+    long newYear = persianNewYearOnOrBefore(date, location);
     double yDouble = (newYear - PERSIAN_EPOCH) / MEAN_TROPICAL_YEAR + 1;
     int y = (int) Math.round(yDouble);
     int year = y > 0 ? y : y - 1;  // No year zero
-    long dayOfYear = date - fixedFromPersian(new int[] {year, 1, 1}) + 1;
+    long dayOfYear = date - fixedFromPersian(new int[] {year, 1, 1}, location) + 1;
     int month;
     if (dayOfYear <= 186) {
       month = (int) Math.ceil((double) dayOfYear / 31);
@@ -737,7 +831,7 @@ public class Calendrica {
       month = (int) Math.ceil((double) (dayOfYear - 6) / 30);
     }
     // Calculate the day by subtraction
-    int day = (int) (date - fixedFromPersian(new int[] {year, month, 1}) + 1);
+    int day = (int) (date - fixedFromPersian(new int[] {year, month, 1}, location) + 1);
     return new int[] {year, month, day};
   }
 
@@ -760,8 +854,19 @@ public class Calendrica {
    * @return {@code true} if the year is a leap year, {@code false} otherwise.
    */
   public static boolean persianLeapYear(int pYear) {
-    long thisNowruz = fixedFromPersian(new int[] {pYear, 1, 1});
-    long nextNowruz = fixedFromPersian(new int[] {pYear + 1, 1, 1});
+    return persianLeapYear(pYear, persianLocale);
+  }
+
+  /**
+   * Checks if a given Persian year is a leap year at the specified location.
+   *
+   * @param pYear    The Persian year to check.
+   * @param location An array representing the location, including the longitude.
+   * @return {@code true} if the year is a leap year, {@code false} otherwise.
+   */
+  public static boolean persianLeapYear(int pYear, double[] location) {
+    long thisNowruz = fixedFromPersian(new int[] {pYear, 1, 1}, location);
+    long nextNowruz = fixedFromPersian(new int[] {pYear + 1, 1, 1}, location);
     return nextNowruz - thisNowruz == 366;
   }
 }
@@ -0,0 +1,238 @@
+/*
+  IranianHolidayProvider.java
+  2026-10-19 13:04:22
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util.icu;
+
+import java.util.Arrays;
+
+import com.ibm.icu.util.Calendar;
+import com.ibm.icu.util.IslamicCalendar;
+import com.ibm.icu.util.TimeZone;
+
+import com.ghasemkiani.util.PersianCalendarConstants;
+import com.ghasemkiani.util.PersianHolidayProvider;
+import com.ghasemkiani.util.PersianYearTable;
+
+/**
+  <p>This class provides the official holidays of Iran. Some of them are fixed dates
+  of the Persian calendar (e.g., 1&ndash;4 and 12&ndash;13 Farvardin), and the others
+  are dates of the Hijri lunar calendar (e.g., Tasua and Ashura), which are computed
+  by ICU4J's <code>IslamicCalendar</code> using the specified calculation type.
+  Since the official lunar dates are based on the sighting of the moon, they may be
+  shifted by a number of days relative to the computed ones.</p>
+
+  <p>The holidays of a span of Persian years are computed once when the provider is
+  constructed, and are kept in a sorted index of Julian days. Membership queries and
+  searching for the next holiday are done by binary search. Holidays of the years
+  outside the span are computed on demand and are not kept.</p>
+
+  <p>Instances of this class are immutable and can be used with
+  <code>{@link com.ghasemkiani.util.PersianBusinessCalendar}</code>.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public class IranianHolidayProvider implements PersianHolidayProvider, PersianCalendarConstants {
+  // Fixed holidays in the Persian calendar {month (zero-based), day}.
+  private static final int[][] PERSIAN_HOLIDAYS = {
+    {FARVARDIN, 1}, {FARVARDIN, 2}, {FARVARDIN, 3}, {FARVARDIN, 4}, // Nowruz
+    {FARVARDIN, 12},                                                 // Islamic Republic Day
+    {FARVARDIN, 13},                                                 // Nature Day
+    {KHORDAD, 14},                                                   // Demise of Imam Khomeini
+    {KHORDAD, 15},                                                   // Revolt of 15 Khordad
+    {BAHMAN, 22},                                                    // Victory of the Islamic Revolution
+    {ESFAND, 29},                                                    // Nationalization of the oil industry
+  };
+  // Holidays in the Hijri lunar calendar {month (zero-based), day}; day 0 denotes the last day of the month.
+  private static final int[][] LUNAR_HOLIDAYS = {
+    {IslamicCalendar.MUHARRAM, 9},             // Tasua
+    {IslamicCalendar.MUHARRAM, 10},            // Ashura
+    {IslamicCalendar.SAFAR, 20},               // Arbaeen
+    {IslamicCalendar.SAFAR, 28},               // Demise of the Prophet and martyrdom of Imam Hasan
+    {IslamicCalendar.SAFAR, 0},                // Martyrdom of Imam Reza
+    {IslamicCalendar.RABI_1, 8},               // Martyrdom of Imam Hasan Askari
+    {IslamicCalendar.RABI_1, 17},              // Birth of the Prophet and Imam Sadiq
+    {IslamicCalendar.JUMADA_2, 3},             // Martyrdom of Fatimah
+    {IslamicCalendar.RAJAB, 13},               // Birth of Imam Ali
+    {IslamicCalendar.RAJAB, 27},               // Mab'ath
+    {IslamicCalendar.SHABAN, 15},              // Birth of Imam Mahdi
+    {IslamicCalendar.RAMADAN, 21},             // Martyrdom of Imam Ali
+    {IslamicCalendar.SHAWWAL, 1},              // Eid al-Fitr
+    {IslamicCalendar.SHAWWAL, 2},              // Eid al-Fitr
+    {IslamicCalendar.SHAWWAL, 25},             // Martyrdom of Imam Sadiq
+    {IslamicCalendar.DHU_AL_HIJJAH, 10},       // Eid al-Adha
+    {IslamicCalendar.DHU_AL_HIJJAH, 18},       // Eid al-Ghadir
+  };
+  private static final long EPOCH_JULIAN_DAY = 2440588L;
+  private static final long ONE_DAY_MILLIS = 24L * 60L * 60L * 1000L;
+
+  private final long fromYear;
+  private final long toYear;
+  private final IslamicCalendar.CalculationType calculationType;
+  private final int lunarOffset;
+  // Sorted Julian days of the holidays of the span.
+  private final long[] julianDays;
+  // yearIndex[i] is the index in julianDays of the first holiday of fromYear + i.
+  private final int[] yearIndex;
+
+  /**
+    Constructs a provider of the official holidays of Iran for the specified span
+    of Persian years, using the astronomical Islamic calendar of ICU4J.
+
+    @param fromYear the first Persian year of the span.
+    @param toYear the last Persian year of the span.
+  */
+  public IranianHolidayProvider(long fromYear, long toYear) {
+    this(fromYear, toYear, IslamicCalendar.CalculationType.ISLAMIC, 0);
+  }
+  /**
+    Constructs a provider of the official holidays of Iran for the specified span
+    of Persian years.
+
+    @param fromYear the first Persian year of the span.
+    @param toYear the last Persian year of the span.
+    @param calculationType the calculation type of the Islamic calendar.
+    @param lunarOffset the number of days added to the computed lunar dates.
+  */
+  public IranianHolidayProvider(long fromYear, long toYear, IslamicCalendar.CalculationType calculationType, int lunarOffset) {
+    if (toYear < fromYear) {
+      throw new IllegalArgumentException("Invalid span of years: " + fromYear + ".." + toYear);
+    }
+    if (calculationType == null) {
+      throw new NullPointerException("calculationType");
+    }
+    this.fromYear = fromYear;
+    this.toYear = toYear;
+    this.calculationType = calculationType;
+    this.lunarOffset = lunarOffset;
+    IslamicCalendar islamic = islamicCalendar();
+    int span = (int)(toYear - fromYear + 1);
+    int[][] days = new int[span][];
+    int count = 0;
+    for (int i = 0; i < span; i++) {
+      days[i] = computeHolidays(fromYear + i, islamic);
+      count += days[i].length;
+    }
+    julianDays = new long[count];
+    yearIndex = new int[span + 1];
+    int n = 0;
+    for (int i = 0; i < span; i++) {
+      yearIndex[i] = n;
+      long start = PersianYearTable.yearStart(fromYear + i);
+      for (int day : days[i]) {
+        julianDays[n++] = start + day;
+      }
+    }
+    yearIndex[span] = n;
+  }
+  private IslamicCalendar islamicCalendar() {
+    IslamicCalendar islamic = new IslamicCalendar(TimeZone.GMT_ZONE);
+    islamic.setCalculationType(calculationType);
+    return islamic;
+  }
+  private int[] computeHolidays(long year, IslamicCalendar islamic) {
+    long start = PersianYearTable.yearStart(year);
+    int length = PersianYearTable.yearLength(year);
+    int[] days = new int[PERSIAN_HOLIDAYS.length + 2 * LUNAR_HOLIDAYS.length];
+    int n = 0;
+    for (int[] holiday : PERSIAN_HOLIDAYS) {
+      if (holiday[1] <= PersianYearTable.monthLength(year, holiday[0])) {
+        days[n++] = PersianYearTable.daysBeforeMonth(holiday[0]) + holiday[1] - 1;
+      }
+    }
+    // A Persian year overlaps two or three lunar years.
+    islamic.setTimeInMillis((start - EPOCH_JULIAN_DAY) * ONE_DAY_MILLIS);
+    int lunarYear = islamic.get(Calendar.EXTENDED_YEAR);
+    for (int y = lunarYear; y <= lunarYear + 2; y++) {
+      for (int[] holiday : LUNAR_HOLIDAYS) {
+        islamic.clear();
+        islamic.set(Calendar.EXTENDED_YEAR, y);
+        islamic.set(Calendar.MONTH, holiday[0]);
+        islamic.set(Calendar.DATE, 1);
+        int day = holiday[1] == 0 ? islamic.getActualMaximum(Calendar.DAY_OF_MONTH) : holiday[1];
+        long julianDay = islamic.get(Calendar.JULIAN_DAY) + day - 1 + lunarOffset;
+        if (julianDay >= start && julianDay < start + length && n < days.length) {
+          days[n++] = (int)(julianDay - start);
+        }
+      }
+    }
+    days = Arrays.copyOf(days, n);
+    Arrays.sort(days);
+    int m = 0;
+    for (int i = 0; i < n; i++) {
+      if (m == 0 || days[m - 1] != days[i]) {
+        days[m++] = days[i];
+      }
+    }
+    return Arrays.copyOf(days, m);
+  }
+  /**
+    Returns the first Persian year of the precomputed span.
+
+    @return the first year of the span.
+  */
+  public long getFromYear() {
+    return fromYear;
+  }
+  /**
+    Returns the last Persian year of the precomputed span.
+
+    @return the last year of the span.
+  */
+  public long getToYear() {
+    return toYear;
+  }
+  /**
+    Returns the holidays of the specified Persian year as sorted zero-based
+    days of the year.
+
+    @param year the Persian year.
+    @return the zero-based days of the year that are holidays.
+  */
+  public int[] getHolidays(long year) {
+    if (year < fromYear || year > toYear) {
+      return computeHolidays(year, islamicCalendar());
+    }
+    int i = (int)(year - fromYear);
+    long start = PersianYearTable.yearStart(year);
+    int[] days = new int[yearIndex[i + 1] - yearIndex[i]];
+    for (int k = 0; k < days.length; k++) {
+      days[k] = (int)(julianDays[yearIndex[i] + k] - start);
+    }
+    return days;
+  }
+  /**
+    Determines if the specified day is an official holiday. Days outside the
+    precomputed span are computed on demand.
+
+    @param julianDay the Julian day.
+    @return <code>true</code> if the day is a holiday.
+  */
+  public boolean isHoliday(long julianDay) {
+    if (julianDay < PersianYearTable.yearStart(fromYear) || julianDay >= PersianYearTable.yearStart(toYear + 1)) {
+      long year = PersianYearTable.year(julianDay);
+      return Arrays.binarySearch(getHolidays(year), (int)(julianDay - PersianYearTable.yearStart(year))) >= 0;
+    }
+    return Arrays.binarySearch(julianDays, julianDay) >= 0;
+  }
+  /**
+    Returns the first holiday after the specified day within the precomputed span.
+
+    @param julianDay the Julian day.
+    @return the Julian day of the next holiday, or -1 if there is no holiday after
+    <code>julianDay</code> within the span.
+  */
+  public long nextHoliday(long julianDay) {
+    int i = Arrays.binarySearch(julianDays, julianDay + 1);
+    if (i < 0) {
+      i = -i - 1;
+    }
+    return i < julianDays.length ? julianDays[i] : -1;
+  }
+}
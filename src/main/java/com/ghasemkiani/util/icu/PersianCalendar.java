@@ -22,6 +22,7 @@ package com.ghasemkiani.util.icu;
 
 import java.util.Date;
 import java.util.Locale;
+import java.util.Objects;
 import com.ibm.icu.util.Calendar;
 import com.ibm.icu.util.TimeZone;
 import com.ibm.icu.util.ULocale;
@@ -29,8 +30,9 @@ import com.ibm.icu.text.DateFormat;
 import com.ibm.icu.text.SimpleDateFormat;
 
 import static com.ghasemkiani.util.PersianCalendarUtils.*;
-import com.ghasemkiani.util.PersianCalendarHelper;
 import com.ghasemkiani.util.PersianCalendarConstants;
+import com.ghasemkiani.util.PersianLeapRule;
+import com.ghasemkiani.util.StandardPersianLeapRule;
 
 /**
   <p>This is an <em>astronomical</em> implementation of the Persian Calendar
@@ -46,6 +48,11 @@ import com.ghasemkiani.util.PersianCalendarConstants;
   incorrect results in some years. This became practically important when it failed to recognize
   the year 1403 as a leap year, hence the necessity for this upgrade to an astronomical
   implementation.</em></p>
+
+  <p>The years are determined by a <code>{@link PersianLeapRule}</code> chosen for each
+  instance by <code>{@link #setLeapRule(PersianLeapRule)}</code>: the astronomical calendar
+  by default, or one of the other rules of <code>{@link StandardPersianLeapRule}</code>,
+  e.g., the arithmetic rule of the built-in Persian calendar of ICU4J.</p>
   
   <p>The current astronomical implementation uses a Java port of
   the Python code from Roozbeh Pournader's persiancalendar project
@@ -126,6 +133,8 @@ public class PersianCalendar extends Calendar implements PersianCalendarConstant
   */
   public static final int AH = 1;
 
+  private PersianLeapRule leapRule = StandardPersianLeapRule.ASTRONOMICAL;
+
   /**
     Constructs a Persian calendar with the default time zone and locale.
   */
@@ -246,21 +255,43 @@ public class PersianCalendar extends Calendar implements PersianCalendarConstant
     { /* */ },                                // JULIAN_DAY
     { /* */ },                                // MILLISECONDS_IN_DAY
   };
+  /**
+    Returns the rule determining the years of this calendar.
+
+    @return the leap rule.
+  */
+  public PersianLeapRule getLeapRule() {
+    return leapRule;
+  }
+  /**
+    Sets the rule determining the years of this calendar. The time of the calendar
+    is kept, and its fields are recomputed by the new rule. The default is
+    <code>{@link StandardPersianLeapRule#ASTRONOMICAL}</code>.
+
+    @param leapRule the leap rule.
+    @throws NullPointerException if <code>leapRule</code> is <code>null</code>.
+  */
+  public void setLeapRule(PersianLeapRule leapRule) {
+    Objects.requireNonNull(leapRule);
+    long millis = getTimeInMillis();
+    this.leapRule = leapRule;
+    setTimeInMillis(millis);
+  }
   protected int handleGetLimit(int field, int limitType) {
     return LIMITS[field][limitType];
   }
   protected int handleGetMonthLength(int extendedYear, int month) {
     if(month < 6) return 31;
     if(month < 11) return 30;
-    boolean leap = PersianCalendarHelper.isLeapYear(extendedYear);
+    boolean leap = leapRule.isLeapYear(extendedYear);
     return leap ? 30 : 29;
   }
   protected int handleGetYearLength(int extendedYear) {
-    boolean leap = PersianCalendarHelper.isLeapYear(extendedYear);
+    boolean leap = leapRule.isLeapYear(extendedYear);
     return leap ? 366 : 365;
   }
   protected int handleComputeMonthStart(int extendedYear, int month, boolean useMonth) {
-    return (int)PersianCalendarHelper.pj(extendedYear, month, 0);
+    return (int)leapRule.pj(extendedYear, month, 0);
   }
   protected int handleGetExtendedYear() {
     int year;
@@ -277,7 +308,7 @@ public class PersianCalendar extends Calendar implements PersianCalendarConstant
     return year;
   }
   protected void handleComputeFields(int julianDay) {
-    long r = PersianCalendarHelper.jp(julianDay);
+    long r = leapRule.jp(julianDay);
     int year = (int)y(r);
     int month = m(r);
     int day = d(r);
@@ -0,0 +1,155 @@
+/*
+  ColdStartBenchmark.java
+  2026-10-19 20:14:36
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util.tools;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.ghasemkiani.util.PersianCalendarHelper;
+import com.ghasemkiani.util.PersianYearTable;
+import com.ghasemkiani.util.calendrica.Calendrica;
+import com.ghasemkiani.util.icu.PersianCalendar;
+
+/**
+  <p>This is a command-line tool that measures the time to the first Persian date
+  conversion in a fresh JVM. Each measurement launches a new JVM with the same
+  class path, which converts one date and reports the elapsed times.</p>
+
+  <pre>
+  java com.ghasemkiani.util.tools.ColdStartBenchmark [options] [mode ...]
+    -n, --runs n         number of JVMs launched per mode (default: 5)
+    -J option            option passed to the launched JVMs, e.g., -J-XX:SharedArchiveFile=app.jsa
+  </pre>
+
+  <p>The modes are <code>helper</code> (<code>{@link PersianCalendarHelper#jp(long)}</code>),
+  <code>table</code> (<code>{@link PersianYearTable#jp(long)}</code>), <code>icu</code>
+  (<code>{@link PersianCalendar}</code>), and <code>calendrica</code> (the astronomical
+  calculation of <code>{@link Calendrica}</code>, without the precomputed tables). By
+  default, all modes are measured. For each mode, the medians of the time from entering
+  <code>main</code> to the end of the first conversion, and of the JVM uptime at that
+  point, are reported.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public class ColdStartBenchmark {
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   */
+  private ColdStartBenchmark() {
+    // Utility class; should not be instantiated
+    throw new IllegalStateException("Utility class");
+  }
+  private static final String CHILD = "--child";
+  private static final String[] MODES = {"helper", "table", "icu", "calendrica"};
+  // A Julian day in the Persian year 1403 A.P.
+  private static final long JULIAN_DAY = 2460390L;
+
+  // Converts one date in the specified mode and prints the elapsed nanoseconds.
+  private static void child(String mode) {
+    long start = System.nanoTime();
+    long result;
+    switch (mode) {
+    case "helper":
+      result = PersianCalendarHelper.jp(JULIAN_DAY);
+      break;
+    case "table":
+      result = PersianYearTable.jp(JULIAN_DAY);
+      break;
+    case "icu":
+      PersianCalendar calendar = new PersianCalendar();
+      calendar.set(PersianCalendar.JULIAN_DAY, (int)JULIAN_DAY);
+      result = calendar.get(PersianCalendar.EXTENDED_YEAR);
+      break;
+    case "calendrica":
+      result = Calendrica.persianFromFixed(JULIAN_DAY - 1721425L)[0];
+      break;
+    default:
+      throw new IllegalArgumentException("Unknown mode: " + mode);
+    }
+    long elapsed = System.nanoTime() - start;
+    long uptime = java.lang.management.ManagementFactory.getRuntimeMXBean().getUptime();
+    System.out.println(elapsed + " " + uptime + " " + result);
+  }
+
+  private static long[] launch(String mode, List<String> jvmOptions) throws IOException, InterruptedException {
+    List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.addAll(jvmOptions);
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(ColdStartBenchmark.class.getName());
+    command.add(CHILD);
+    command.add(mode);
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    String line;
+    try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      line = in.readLine();
+    }
+    if (process.waitFor() != 0 || line == null) {
+      throw new IOException("The benchmark JVM failed: " + line);
+    }
+    String[] parts = line.trim().split(" ");
+    return new long[] {Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+  }
+  private static long median(long[] values) {
+    long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    return sorted[sorted.length / 2];
+  }
+
+  /**
+    Runs the benchmark from the command line.
+
+    @param args the command-line arguments.
+    @throws Exception if a benchmark JVM fails.
+  */
+  public static void main(String[] args) throws Exception {
+    if (args.length == 2 && args[0].equals(CHILD)) {
+      child(args[1]);
+      return;
+    }
+    int runs = 5;
+    List<String> jvmOptions = new ArrayList<>();
+    List<String> modes = new ArrayList<>();
+    for (int i = 0; i < args.length; i++) {
+      String arg = args[i];
+      if ((arg.equals("-n") || arg.equals("--runs")) && i + 1 < args.length) {
+        runs = Integer.parseInt(args[++i]);
+      } else if (arg.equals("-J") && i + 1 < args.length) {
+        jvmOptions.add(args[++i]);
+      } else if (arg.startsWith("-J")) {
+        jvmOptions.add(arg.substring(2));
+      } else {
+        modes.add(arg);
+      }
+    }
+    if (modes.isEmpty()) {
+      modes.addAll(Arrays.asList(MODES));
+    }
+    for (String mode : modes) {
+      long[] conversion = new long[runs];
+      long[] uptime = new long[runs];
+      for (int i = 0; i < runs; i++) {
+        long[] r = launch(mode, jvmOptions);
+        conversion[i] = r[0];
+        uptime[i] = r[1];
+      }
+      System.out.printf("%-12s first conversion %8.3f ms, JVM uptime %5d ms (median of %d)%n",
+                        mode, median(conversion) / 1e6, median(uptime), runs);
+    }
+  }
+}
@@ -0,0 +1,333 @@
+/*
+  CsvDateConverter.java
+  2026-10-19 15:40:12
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util.tools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.ghasemkiani.util.PersianYearTable;
+
+import static com.ghasemkiani.util.PersianCalendarUtils.*;
+
+/**
+  <p>This is a command-line tool that converts the Gregorian date columns of large
+  CSV or TSV files to dates in the Persian calendar.</p>
+
+  <pre>
+  java com.ghasemkiani.util.tools.CsvDateConverter [options] input output
+    -c, --columns 1,3    zero-based indexes of the date columns (default: 0)
+    -d, --delimiter ,    field delimiter; "tab" for TSV (default: ,)
+    -t, --threads n      number of worker threads (default: available processors)
+    -h, --header         do not convert the first line
+  </pre>
+
+  <p>Gregorian dates are expected as <code>yyyy-mm-dd</code> or <code>yyyy/mm/dd</code>
+  and are written as <code>yyyy/mm/dd</code> in the Persian calendar. Fields which are
+  not valid dates are copied unchanged. Quoted fields containing the delimiter are not
+  supported.</p>
+
+  <p>The input is memory-mapped and split into segments of a few megabytes on line
+  boundaries. Segments are converted in parallel, the dates of each segment being
+  converted in one batch, and the results are written to the output channel in order.
+  Only a bounded number of segments is in flight at any time, so the memory used
+  does not depend on the size of the input. The throughput is reported on the
+  standard error stream.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public class CsvDateConverter {
+  private static final int SEGMENT_SIZE = 8 << 20;
+  private static final long EPOCH_JULIAN_DAY = 2440588L;
+  // Marks the fields which are not dates; packed dates before 1 AP are negative.
+  private static final long INVALID = Long.MIN_VALUE;
+
+  private final int[] columns;
+  private final byte delimiter;
+  private final int threads;
+  private final boolean header;
+
+  /**
+    Constructs a converter.
+
+    @param columns the zero-based indexes of the date columns.
+    @param delimiter the field delimiter.
+    @param threads the number of worker threads.
+    @param header <code>true</code> if the first line is a header and should not be converted.
+  */
+  public CsvDateConverter(int[] columns, char delimiter, int threads, boolean header) {
+    this.columns = columns.clone();
+    Arrays.sort(this.columns);
+    this.delimiter = (byte)delimiter;
+    this.threads = Math.max(1, threads);
+    this.header = header;
+  }
+  /**
+    Converts the input file to the output file.
+
+    @param input the input file.
+    @param output the output file.
+    @return the number of lines processed.
+    @throws IOException if an I/O error occurs.
+  */
+  public long convert(Path input, Path output) throws IOException {
+    long rows = 0;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+         FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      long size = in.size();
+      ArrayDeque<Future<Segment>> pending = new ArrayDeque<>();
+      long position = 0;
+      boolean first = true;
+      while (position < size || !pending.isEmpty()) {
+        while (position < size && pending.size() < 2 * threads) {
+          long end = lineBoundary(in, Math.min(size, position + SEGMENT_SIZE), size);
+          MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, position, end - position);
+          boolean skipFirstLine = first && header;
+          pending.add(executor.submit(() -> convertSegment(buffer, skipFirstLine)));
+          position = end;
+          first = false;
+        }
+        Segment segment = pending.remove().get();
+        while (segment.output.hasRemaining()) {
+          out.write(segment.output);
+        }
+        rows += segment.rows;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+    return rows;
+  }
+  // Returns the position after the first newline at or after position.
+  private static long lineBoundary(FileChannel in, long position, long size) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(4096);
+    while (position < size) {
+      buffer.clear();
+      int n = in.read(buffer, position);
+      for (int i = 0; i < n; i++) {
+        if (buffer.get(i) == '\n') {
+          return position + i + 1;
+        }
+      }
+      position += n;
+    }
+    return size;
+  }
+
+  private static final class Segment {
+    final ByteBuffer output;
+    final long rows;
+    Segment(ByteBuffer output, long rows) {
+      this.output = output;
+      this.rows = rows;
+    }
+  }
+
+  private Segment convertSegment(ByteBuffer input, boolean skipFirstLine) {
+    int limit = input.limit();
+    // Positions of the date fields and their Julian days; INVALID for invalid dates.
+    int[] starts = new int[1024];
+    int[] ends = new int[1024];
+    long[] dates = new long[1024];
+    int count = 0;
+    long lines = 0;
+    int column = 0;
+    int fieldStart = 0;
+    boolean skip = skipFirstLine;
+    for (int i = 0; i <= limit; i++) {
+      byte b = i < limit ? input.get(i) : (byte)'\n';
+      if (b != delimiter && b != '\n') {
+        continue;
+      }
+      if (!skip && Arrays.binarySearch(columns, column) >= 0) {
+        int fieldEnd = i > fieldStart && input.get(i - 1) == '\r' ? i - 1 : i;
+        if (count == starts.length) {
+          starts = Arrays.copyOf(starts, 2 * count);
+          ends = Arrays.copyOf(ends, 2 * count);
+          dates = Arrays.copyOf(dates, 2 * count);
+        }
+        starts[count] = fieldStart;
+        ends[count] = fieldEnd;
+        dates[count] = parseGregorian(input, fieldStart, fieldEnd);
+        count++;
+      }
+      fieldStart = i + 1;
+      if (b == '\n') {
+        if (i < limit || limit > 0 && input.get(limit - 1) != '\n') {
+          lines++;
+        }
+        column = 0;
+        skip = false;
+      } else {
+        column++;
+      }
+    }
+    // Convert the dates of the segment in one batch.
+    for (int k = 0; k < count; k++) {
+      if (dates[k] != INVALID) {
+        dates[k] = PersianYearTable.jp(dates[k]);
+      }
+    }
+    ByteBuffer output = ByteBuffer.allocate(limit + 8 * count + 16);
+    int position = 0;
+    for (int k = 0; k < count; k++) {
+      if (dates[k] == INVALID) {
+        continue;
+      }
+      copy(input, position, starts[k], output);
+      writePersian(output, dates[k]);
+      position = ends[k];
+    }
+    copy(input, position, limit, output);
+    output.flip();
+    return new Segment(output, lines);
+  }
+  private static void copy(ByteBuffer input, int from, int to, ByteBuffer output) {
+    ByteBuffer slice = input.duplicate();
+    slice.limit(to).position(from);
+    output.put(slice);
+  }
+  // Parses yyyy-mm-dd or yyyy/mm/dd and returns the Julian day, or INVALID if the field is not a date.
+  private static long parseGregorian(ByteBuffer input, int from, int to) {
+    int year = 0;
+    int month = 0;
+    int day = 0;
+    int part = 0;
+    int digits = 0;
+    for (int i = from; i < to; i++) {
+      byte b = input.get(i);
+      if (b >= '0' && b <= '9') {
+        if (++digits > 4) {
+          return INVALID;
+        }
+        if (part == 0) {
+          year = year * 10 + (b - '0');
+        } else if (part == 1) {
+          month = month * 10 + (b - '0');
+        } else {
+          day = day * 10 + (b - '0');
+        }
+      } else if ((b == '-' || b == '/') && digits > 0 && part < 2) {
+        part++;
+        digits = 0;
+      } else {
+        return INVALID;
+      }
+    }
+    if (part != 2 || digits == 0) {
+      return INVALID;
+    }
+    if (month < 1 || month > 12 || day < 1 || day > gregorianMonthLength(year, month)) {
+      return INVALID;
+    }
+    return epochDay(year, month, day) + EPOCH_JULIAN_DAY;
+  }
+  private static int gregorianMonthLength(int year, int month) {
+    if (month == 2) {
+      return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+    }
+    return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+  }
+  // Days since 1970-01-01 of a proleptic Gregorian date.
+  private static long epochDay(long year, int month, int day) {
+    long y = month <= 2 ? year - 1 : year;
+    long era = Math.floorDiv(y, 400);
+    long yearOfEra = y - era * 400;
+    long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+    long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097 + dayOfEra - 719468;
+  }
+  private static void writePersian(ByteBuffer output, long date) {
+    long year = y(date);
+    int month = m(date) + 1;
+    int day = d(date);
+    if (year < 0) {
+      output.put((byte)'-');
+      year = -year;
+    }
+    // The year is written with at least four digits.
+    long divisor = 1000;
+    while (divisor * 10 <= year) {
+      divisor *= 10;
+    }
+    for (; divisor > 0; divisor /= 10) {
+      output.put((byte)('0' + year / divisor % 10));
+    }
+    output.put((byte)'/');
+    output.put((byte)('0' + month / 10));
+    output.put((byte)('0' + month % 10));
+    output.put((byte)'/');
+    output.put((byte)('0' + day / 10));
+    output.put((byte)('0' + day % 10));
+  }
+
+  /**
+    Runs the converter from the command line.
+
+    @param args the command-line arguments.
+    @throws IOException if an I/O error occurs.
+  */
+  public static void main(String[] args) throws IOException {
+    int[] columns = {0};
+    char delimiter = ',';
+    int threads = Runtime.getRuntime().availableProcessors();
+    boolean header = false;
+    String input = null;
+    String output = null;
+    for (int i = 0; i < args.length; i++) {
+      String arg = args[i];
+      if ((arg.equals("-c") || arg.equals("--columns")) && i + 1 < args.length) {
+        columns = Arrays.stream(args[++i].split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+      } else if ((arg.equals("-d") || arg.equals("--delimiter")) && i + 1 < args.length) {
+        String d = args[++i];
+        delimiter = d.equals("tab") || d.equals("\\t") ? '\t' : d.charAt(0);
+      } else if ((arg.equals("-t") || arg.equals("--threads")) && i + 1 < args.length) {
+        threads = Integer.parseInt(args[++i]);
+      } else if (arg.equals("-h") || arg.equals("--header")) {
+        header = true;
+      } else if (input == null) {
+        input = arg;
+      } else if (output == null) {
+        output = arg;
+      } else {
+        input = null;
+        break;
+      }
+    }
+    if (input == null || output == null) {
+      System.err.println("Usage: java " + CsvDateConverter.class.getName() + " [-c columns] [-d delimiter] [-t threads] [-h] input output");
+      System.exit(2);
+      return;
+    }
+    Path in = Paths.get(input);
+    long bytes = in.toFile().length();
+    long start = System.nanoTime();
+    long lines = new CsvDateConverter(columns, delimiter, threads, header).convert(in, Paths.get(output));
+    double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+    System.err.printf("%d lines, %d bytes in %.3f s: %.1f MB/s, %.0f rows/s%n", lines, bytes, seconds, bytes / seconds / 1e6, lines / seconds);
+  }
+}
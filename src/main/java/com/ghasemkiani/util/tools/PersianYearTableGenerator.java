@@ -0,0 +1,119 @@
+/*
+  PersianYearTableGenerator.java
+  2026-10-19 18:02:10
+  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>
+
+  license: GPL
+  See LICENSE file at project root.
+*/
+
+package com.ghasemkiani.util.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import com.ghasemkiani.util.PersianYearStarts;
+
+/**
+  <p>This is a command-line tool that computes the precomputed year-start tables of
+  the named locations of <code>{@link PersianYearStarts}</code> and writes them as
+  the source of the class <code>com.ghasemkiani.util.PersianYearStartsData</code>,
+  which embeds each table as a string constant.</p>
+
+  <pre>
+  java com.ghasemkiani.util.tools.PersianYearTableGenerator [file]
+  </pre>
+
+  <p>The file defaults to <code>src/main/java/com/ghasemkiani/util/PersianYearStartsData.java</code>.
+  The tool should be run again whenever the astronomical code or the named locations
+  are changed; the tests of the build fail while the embedded tables differ from
+  the ones it computes.</p>
+
+  @author <a href="mailto:ghasemkiani@gmail.com">Ghasem Kiani</a>
+  @version 3.0
+*/
+public class PersianYearTableGenerator {
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   */
+  private PersianYearTableGenerator() {
+    // Utility class; should not be instantiated
+    throw new IllegalStateException("Utility class");
+  }
+  private static final int LINE_BYTES = 24;
+
+  // Appends the bytes as the lines of a Java string literal.
+  private static void appendLiteral(StringBuilder sb, byte[] data) {
+    for (int i = 0; i < data.length; i += LINE_BYTES) {
+      sb.append(i == 0 ? "    \"" : "    + \"");
+      for (int k = i; k < Math.min(data.length, i + LINE_BYTES); k++) {
+        int b = data[k] & 0xff;
+        if (b >= 0x20 && b < 0x7f && b != '"' && b != '\\') {
+          sb.append((char)b);
+        } else {
+          // Octal escapes are used, since \\u escapes are translated before parsing.
+          sb.append(String.format("\\%03o", b));
+        }
+      }
+      sb.append("\"\n");
+    }
+  }
+
+  /**
+    Runs the generator from the command line.
+
+    @param args the command-line arguments.
+    @throws IOException if an I/O error occurs.
+  */
+  public static void main(String[] args) throws IOException {
+    Path file = Paths.get(args.length > 0 ? args[0] : "src/main/java/com/ghasemkiani/util/PersianYearStartsData.java");
+    StringBuilder sb = new StringBuilder();
+    sb.append("/*\n");
+    sb.append("  PersianYearStartsData.java\n");
+    sb.append("  ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))).append("\n");
+    sb.append("  Copyright © Ghasem Kiani <ghasemkiani@gmail.com>\n");
+    sb.append("\n");
+    sb.append("  license: GPL\n");
+    sb.append("  See LICENSE file at project root.\n");
+    sb.append("*/\n");
+    sb.append("\n");
+    sb.append("package com.ghasemkiani.util;\n");
+    sb.append("\n");
+    sb.append("// Generated by com.ghasemkiani.util.tools.PersianYearTableGenerator. Do not edit.\n");
+    sb.append("final class PersianYearStartsData {\n");
+    sb.append("  private PersianYearStartsData() {\n");
+    sb.append("  }\n");
+    sb.append("  // Returns the table of a named location as ISO-8859-1 characters, or null.\n");
+    sb.append("  static String get(String name) {\n");
+    sb.append("    switch (name) {\n");
+    String[] names = PersianYearStarts.getLocationNames();
+    for (String name : names) {
+      sb.append("    case \"").append(name).append("\":\n");
+      sb.append("      return ").append(name.toUpperCase(Locale.ROOT)).append(";\n");
+    }
+    sb.append("    default:\n");
+    sb.append("      return null;\n");
+    sb.append("    }\n");
+    sb.append("  }\n");
+    for (String name : names) {
+      long start = System.nanoTime();
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      PersianYearStarts.write(PersianYearStarts.getLocation(name), out);
+      byte[] data = out.toByteArray();
+      sb.append("  private static final String ").append(name.toUpperCase(Locale.ROOT)).append(" =\n");
+      appendLiteral(sb, data);
+      sb.setLength(sb.length() - 1);
+      sb.append(";\n");
+      System.err.printf("%s: %d bytes in %.1f s%n", name, data.length, (System.nanoTime() - start) / 1e9);
+    }
+    sb.append("}\n");
+    Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+  }
+}
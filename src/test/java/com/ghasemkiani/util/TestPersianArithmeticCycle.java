@@ -0,0 +1,95 @@
+package com.ghasemkiani.util;
+
+import java.time.DayOfWeek;
+import java.time.ZoneOffset;
+
+import com.ghasemkiani.util.calendrica.Calendrica;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPersianArithmeticCycle {
+
+  @Test
+  void testCycle() {
+    assertEquals(0, PersianArithmeticCycle.daysBeforeYear(1));
+    assertEquals(PersianArithmeticCycle.CYCLE_DAYS, PersianArithmeticCycle.daysBeforeYear(1 + PersianArithmeticCycle.CYCLE_YEARS));
+    for (long year = -3000; year < 3000; year++) {
+      long length = PersianArithmeticCycle.daysBeforeYear(year + 1) - PersianArithmeticCycle.daysBeforeYear(year);
+      assertEquals(PersianArithmeticCycle.isLeapYear(year) ? 366 : 365, length, "year " + year);
+      assertEquals(year, PersianArithmeticCycle.yearOf(PersianArithmeticCycle.daysBeforeYear(year)));
+      assertEquals(year, PersianArithmeticCycle.yearOf(PersianArithmeticCycle.daysBeforeYear(year + 1) - 1));
+    }
+  }
+
+  @Test
+  void testSeams() {
+    long first = PersianCalendarHelper.getFirstAstronomicalYear();
+    long last = PersianCalendarHelper.getLastAstronomicalYear();
+    for (long year : new long[] {first - 3, first - 2, first - 1, first, first + 1, last - 1, last, last + 1, last + 2}) {
+      long start = PersianCalendarHelper.pj(year, 0, 1);
+      long end = PersianCalendarHelper.pj(year + 1, 0, 1);
+      assertEquals(PersianCalendarHelper.isLeapYear(year) ? 366 : 365, end - start, "year " + year);
+      assertEquals(start, PersianYearTable.yearStart(year));
+      assertEquals((year << 16) | 1, PersianCalendarHelper.jp(start));
+      assertEquals((year << 16) | (11 << 8) | (end - start - 336), PersianCalendarHelper.jp(end - 1));
+    }
+  }
+
+  @Test
+  void testLimits() {
+    for (long year : new long[] {-5000000, -4999999, 4999999, 5000000}) {
+      long start = PersianCalendarHelper.pj(year, 0, 1);
+      assertEquals((year << 16) | 1, PersianCalendarHelper.jp(start));
+      assertEquals((year << 16) | (6 << 8) | 15, PersianCalendarHelper.jp(PersianCalendarHelper.pj(year, 6, 15)));
+    }
+    assertTrue(PersianCalendarHelper.pj(5000000, 11, 29) < Integer.MAX_VALUE);
+    assertTrue(PersianCalendarHelper.pj(-5000000, 0, 1) > Integer.MIN_VALUE);
+  }
+
+  @Test
+  void testChangingRangeRefreshesCaches() {
+    long last = 1403;
+    // The first year after last whose arithmetic start differs from the astronomical one.
+    long year = last + 1;
+    while (PersianCalendarHelper.arithmeticYearStart(year, PersianYearStarts.of(Calendrica.IRAN))
+           == PersianYearStarts.computeYearStart(year, Calendrica.IRAN)) {
+      year++;
+    }
+    long astronomical = PersianYearTable.yearStart(year);
+    long epochDay = astronomical - PersianZoneConverter.EPOCH_JULIAN_DAY;
+    // Fill the caches with the default range.
+    long weekKey = PersianWeeks.IRAN.weekKey(epochDay);
+    PersianMonthGrid grid = PersianMonthGrid.of(year, 0);
+    PersianTimeBuckets buckets = new PersianTimeBuckets(ZoneOffset.UTC, PersianTimeBuckets.Unit.YEAR);
+    long startMillis = buckets.startMillis(year);
+    assertEquals(year, buckets.bucketOf(startMillis));
+    PersianCalendarHelper.setAstronomicalYears(-1000, last);
+    try {
+      long arithmetic = PersianCalendarHelper.pj(year, 0, 1);
+      assertNotEquals(astronomical, arithmetic, "year " + year);
+      for (long y = last - 3; y <= year + 3; y++) {
+        assertEquals(PersianCalendarHelper.pj(y, 0, 1), PersianYearTable.yearStart(y), "year " + y);
+        assertEquals(PersianCalendarHelper.isLeapYear(y), PersianYearTable.isLeapYear(y), "year " + y);
+      }
+      for (long j = arithmetic - 400; j < arithmetic + 400; j++) {
+        assertEquals(PersianCalendarHelper.jp(j), PersianYearTable.jp(j));
+      }
+      PersianMonthGrid refreshed = PersianMonthGrid.of(year, 0);
+      assertNotSame(grid, refreshed);
+      assertEquals(arithmetic, refreshed.getJulianDay(refreshed.getOffset()));
+      long expected = new PersianWeeks(DayOfWeek.SATURDAY, 1).weekKey(epochDay);
+      assertEquals(expected, PersianWeeks.IRAN.weekKey(epochDay));
+      long[] keys = new long[1];
+      PersianWeeks.IRAN.weekKeys(new long[] {epochDay}, 0, 1, keys);
+      assertEquals(expected, keys[0]);
+      assertNotEquals(startMillis, buckets.startMillis(year));
+      assertEquals(arithmetic - PersianZoneConverter.EPOCH_JULIAN_DAY, buckets.startMillis(year) / 86400000L);
+      assertEquals(year, buckets.bucketOf(buckets.startMillis(year)));
+    } finally {
+      PersianCalendarHelper.setAstronomicalYears(PersianCalendarHelper.DEFAULT_FIRST_ASTRONOMICAL_YEAR, PersianCalendarHelper.DEFAULT_LAST_ASTRONOMICAL_YEAR);
+    }
+    assertEquals(astronomical, PersianYearTable.yearStart(year));
+    assertEquals(weekKey, PersianWeeks.IRAN.weekKey(epochDay));
+  }
+}
@@ -0,0 +1,65 @@
+package com.ghasemkiani.util;
+
+import java.util.Calendar;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPersianBusinessCalendar {
+
+  private static final PersianHolidayProvider NOWRUZ = year -> new int[] {0, 1, 2, 3, 11, 12};
+
+  private static boolean isBusinessDay(long julianDay) {
+    long r = PersianYearTable.jp(julianDay);
+    int dayOfYear = (int)(julianDay - PersianYearTable.yearStart(PersianCalendarUtils.y(r)));
+    int dayOfWeek = PersianCalendarUtils.dayOfWeek(julianDay);
+    return dayOfWeek != Calendar.THURSDAY && dayOfWeek != Calendar.FRIDAY && !(dayOfYear <= 3 || dayOfYear == 11 || dayOfYear == 12);
+  }
+
+  // Checks the calendar against the business days counted one by one from the first day.
+  private static void checkAgainstDayByDay(long from, long to) {
+    PersianBusinessCalendar calendar = new PersianBusinessCalendar(NOWRUZ, Calendar.THURSDAY, Calendar.FRIDAY);
+    long count = 0;
+    for (long j = from; j < to; j++) {
+      assertEquals(isBusinessDay(j), calendar.isBusinessDay(j));
+      if (isBusinessDay(j)) {
+        count++;
+      }
+    }
+    assertEquals(count, calendar.countBusinessDays(from, to));
+    assertEquals(-count, calendar.countBusinessDays(to, from));
+
+    long[] days = new long[300];
+    long j = from;
+    for (int n = 0; n < days.length; n++) {
+      do {
+        j++;
+      } while (!isBusinessDay(j));
+      days[n] = j;
+      assertEquals(j, calendar.addBusinessDays(from, n + 1));
+    }
+    for (int n = 1; n < days.length; n++) {
+      assertEquals(days[0], calendar.addBusinessDays(days[n], -n));
+    }
+  }
+
+  @Test
+  void testAgainstDayByDay() {
+    checkAgainstDayByDay(PersianYearTable.pj(1400, 10, 20), PersianYearTable.pj(1404, 2, 5));
+  }
+
+  @Test
+  void testAcrossYearOne() {
+    // The year before 1 is -1; year 1 must be counted once.
+    checkAgainstDayByDay(PersianYearTable.pj(-2, 10, 20), PersianYearTable.pj(2, 2, 5));
+  }
+
+  @Test
+  void testSwapHolidays() {
+    PersianBusinessCalendar calendar = new PersianBusinessCalendar();
+    long nowruz = PersianYearTable.pj(1403, 0, 1);
+    assertTrue(calendar.isBusinessDay(nowruz));
+    calendar.setHolidayProvider(NOWRUZ);
+    assertFalse(calendar.isBusinessDay(nowruz));
+  }
+}
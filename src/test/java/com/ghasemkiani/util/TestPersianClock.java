@@ -0,0 +1,110 @@
+package com.ghasemkiani.util;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Calendar;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import static com.ghasemkiani.util.PersianCalendarConstants.*;
+
+public class TestPersianClock {
+
+  private static final ZoneId TEHRAN = ZoneId.of("Asia/Tehran");
+
+  // A clock whose instant is set by the test.
+  private static final class SettableClock extends Clock {
+    private final ZoneId zone;
+    private volatile long millis;
+
+    SettableClock(ZoneId zone, LocalDateTime time) {
+      this.zone = zone;
+      set(time);
+    }
+    void set(LocalDateTime time) {
+      millis = time.atZone(zone).toInstant().toEpochMilli();
+    }
+    public ZoneId getZone() {
+      return zone;
+    }
+    public Clock withZone(ZoneId zone) {
+      throw new UnsupportedOperationException();
+    }
+    public long millis() {
+      return millis;
+    }
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+  }
+
+  @Test
+  void testToday() {
+    // 20 March 2024 was 1 Farvardin 1403, a Wednesday.
+    SettableClock clock = new SettableClock(TEHRAN, LocalDateTime.of(2024, 3, 20, 10, 30));
+    PersianClock persianClock = new PersianClock(clock);
+    PersianClock.Today today = persianClock.today();
+    assertEquals(1403, today.getYear());
+    assertEquals(FARVARDIN, today.getMonth());
+    assertEquals(1, today.getDay());
+    assertEquals(Calendar.WEDNESDAY, today.getDayOfWeek());
+    assertEquals(PersianYearTable.pj(1403, FARVARDIN, 1), today.getJulianDay());
+    assertEquals(PersianYearTable.jp(today.getJulianDay()), today.getPackedDate());
+    assertEquals("1403/1/1", today.toString());
+    assertEquals(LocalDateTime.of(2024, 3, 20, 0, 0).atZone(TEHRAN).toInstant().toEpochMilli(), today.getStartMillis());
+    assertEquals(24L * 60 * 60 * 1000, today.getEndMillis() - today.getStartMillis());
+    assertEquals(TEHRAN, persianClock.getZone());
+  }
+
+  @Test
+  void testSnapshotIsReplacedOnDayChange() {
+    SettableClock clock = new SettableClock(TEHRAN, LocalDateTime.of(2024, 3, 19, 8, 0));
+    PersianClock persianClock = new PersianClock(clock);
+    PersianClock.Today first = persianClock.today();
+    assertEquals("1402/12/29", first.toString());
+    clock.set(LocalDateTime.of(2024, 3, 19, 23, 59, 59));
+    assertSame(first, persianClock.today());
+    clock.set(LocalDateTime.of(2024, 3, 20, 0, 0));
+    PersianClock.Today second = persianClock.today();
+    assertNotSame(first, second);
+    assertEquals("1403/1/1", second.toString());
+    assertEquals(first.getEndMillis(), second.getStartMillis());
+    assertEquals(1403, persianClock.getYear());
+    assertEquals(0, persianClock.getMonth());
+    assertEquals(1, persianClock.getDay());
+    // The clock may also be set back.
+    clock.set(LocalDateTime.of(2024, 3, 18, 12, 0));
+    assertEquals("1402/12/28", persianClock.today().toString());
+  }
+
+  @Test
+  void testDaylightSavingDays() {
+    // 10 March 2024 had 23 hours in New York, and 3 November 2024 had 25.
+    ZoneId newYork = ZoneId.of("America/New_York");
+    SettableClock clock = new SettableClock(newYork, LocalDateTime.of(2024, 3, 10, 12, 0));
+    PersianClock persianClock = new PersianClock(clock);
+    PersianClock.Today today = persianClock.today();
+    assertEquals(23L * 60 * 60 * 1000, today.getEndMillis() - today.getStartMillis());
+    assertEquals("1402/12/20", today.toString());
+    clock.set(LocalDateTime.of(2024, 11, 3, 12, 0));
+    today = persianClock.today();
+    assertEquals(25L * 60 * 60 * 1000, today.getEndMillis() - today.getStartMillis());
+    assertEquals("1403/8/13", today.toString());
+  }
+
+  @Test
+  void testSharedClocks() {
+    PersianClock clock = PersianClock.of(TEHRAN);
+    assertSame(clock, PersianClock.of(TEHRAN));
+    assertNotSame(clock, PersianClock.of(ZoneId.of("UTC")));
+    long julianDay = PersianYearTable.pj(clock.getYear(), clock.getMonth(), clock.getDay());
+    long now = System.currentTimeMillis();
+    PersianClock.Today today = clock.today();
+    // The day may change between the two readings.
+    assertTrue(today.getJulianDay() - julianDay <= 1);
+    assertTrue(today.getStartMillis() <= System.currentTimeMillis() && now < today.getEndMillis() + 1000);
+  }
+}
@@ -0,0 +1,170 @@
+package com.ghasemkiani.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ibm.icu.util.Calendar;
+import com.ibm.icu.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.ghasemkiani.util.calendrica.Calendrica;
+import com.ghasemkiani.util.icu.PersianCalendar;
+
+/*
+  Stresses the shared state of the calendar (the location of Calendrica and the
+  caches following it) from many platform threads and, on JDK 21 or later, from
+  virtual threads. Conversions, leap-year queries, and changes of the location are
+  mixed, and every result is checked against a single-threaded oracle: a result must
+  be that of one of the two locations used, never a mixture of them. The years
+  around 1470 are used, since IRAN and TEHRAN disagree on the start of 1470.
+
+  The caches do not block while holding a monitor, so virtual threads are never
+  pinned; on JDK 21 this can be checked by adding -Djdk.tracePinnedThreads=full
+  to the JVM of the tests.
+*/
+public class TestPersianConcurrency {
+
+  private static final long DIFF = 1721425L;
+  private static final long EPOCH_JULIAN_DAY = 2440588L;
+  private static final long DAY_MILLIS = 86400000L;
+  private static final int FIRST_YEAR = 1466;
+  private static final int LAST_YEAR = 1473;
+  private static final int OPERATIONS = 40000;
+  private static final double[][] LOCATIONS = {Calendrica.IRAN, Calendrica.TEHRAN};
+
+  private final long from = Calendrica.fixedFromPersian(new int[] {FIRST_YEAR, 1, 1}, Calendrica.IRAN) + DIFF;
+  private final long to = Calendrica.fixedFromPersian(new int[] {LAST_YEAR + 1, 1, 1}, Calendrica.IRAN) + DIFF;
+  // The packed dates of the days of the range, and the leap years, for each location.
+  private final long[][] dates = new long[LOCATIONS.length][(int)(to - from)];
+  private final boolean[][] leaps = new boolean[LOCATIONS.length][LAST_YEAR - FIRST_YEAR + 1];
+
+  public TestPersianConcurrency() {
+    for (int k = 0; k < LOCATIONS.length; k++) {
+      for (int i = 0; i < dates[k].length; i++) {
+        int[] p = Calendrica.persianFromFixed(from + i - DIFF, LOCATIONS[k]);
+        dates[k][i] = ((long)p[0] << 16) | ((p[1] - 1) << 8) | p[2];
+      }
+      for (int y = FIRST_YEAR; y <= LAST_YEAR; y++) {
+        leaps[k][y - FIRST_YEAR] = Calendrica.persianLeapYear(y, LOCATIONS[k]);
+      }
+    }
+  }
+
+  private boolean isDate(int i, long date) {
+    return date == dates[0][i] || date == dates[1][i];
+  }
+
+  // Runs operations on one thread and returns the number of wrong results.
+  private long run(long seed, int operations) {
+    SplittableRandom random = new SplittableRandom(seed);
+    PersianCalendar calendar = new PersianCalendar(TimeZone.getTimeZone("UTC"));
+    long errors = 0;
+    for (int n = 0; n < operations; n++) {
+      int i = random.nextInt(dates[0].length);
+      long julianDay = from + i;
+      int op = random.nextInt(100);
+      if (op < 30) {
+        if (!isDate(i, PersianCalendarHelper.jp(julianDay))) {
+          errors++;
+        }
+      } else if (op < 50) {
+        if (!isDate(i, PersianYearTable.jp(julianDay))) {
+          errors++;
+        }
+      } else if (op < 65) {
+        long date = dates[0][i];
+        long j = PersianCalendarHelper.pj(PersianCalendarUtils.y(date), PersianCalendarUtils.m(date), PersianCalendarUtils.d(date));
+        if (j != julianDay && !(j >= from && j < to && dates[1][(int)(j - from)] == date)) {
+          errors++;
+        }
+      } else if (op < 75) {
+        int y = FIRST_YEAR + random.nextInt(leaps[0].length);
+        boolean leap = PersianCalendarHelper.isLeapYear(y);
+        if (leap != leaps[0][y - FIRST_YEAR] && leap != leaps[1][y - FIRST_YEAR]) {
+          errors++;
+        }
+      } else if (op < 85) {
+        int k = random.nextInt(LOCATIONS.length);
+        int[] p = Calendrica.persianFromFixed(julianDay - DIFF, LOCATIONS[k]);
+        if ((((long)p[0] << 16) | ((p[1] - 1) << 8) | p[2]) != dates[k][i]) {
+          errors++;
+        }
+      } else if (op < 99) {
+        calendar.setTimeInMillis((julianDay - EPOCH_JULIAN_DAY) * DAY_MILLIS);
+        long date = ((long)calendar.get(Calendar.EXTENDED_YEAR) << 16) | (calendar.get(Calendar.MONTH) << 8) | calendar.get(Calendar.DAY_OF_MONTH);
+        if (!isDate(i, date)) {
+          errors++;
+        }
+      } else {
+        Calendrica.setPersianLocale(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+      }
+    }
+    return errors;
+  }
+
+  // Runs the operations on the threads of the executor and returns the operations per second.
+  private double stress(ExecutorService executor, int threads, AtomicLong errors) throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Long>> futures = new ArrayList<>();
+    int perThread = Math.max(1, OPERATIONS / threads);
+    for (int t = 0; t < threads; t++) {
+      long seed = 31L * threads + t;
+      futures.add(executor.submit(() -> {
+        start.await();
+        return run(seed, perThread);
+      }));
+    }
+    long time = System.nanoTime();
+    start.countDown();
+    for (Future<Long> future : futures) {
+      errors.addAndGet(future.get());
+    }
+    double seconds = (System.nanoTime() - time) / 1e9;
+    return (double)perThread * threads / seconds;
+  }
+
+  @Test
+  void testPlatformAndVirtualThreads() throws Exception {
+    AtomicLong errors = new AtomicLong();
+    try {
+      for (int threads : new int[] {1, 4, 16, 64, 256}) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+          System.out.printf("%4d platform threads: %10.0f operations/s%n", threads, stress(executor, threads, errors));
+        } finally {
+          executor.shutdownNow();
+        }
+      }
+      ExecutorService executor = newVirtualThreadPerTaskExecutor();
+      if (executor != null) {
+        try {
+          System.out.printf("%4d virtual threads:  %10.0f operations/s%n", 1000, stress(executor, 1000, errors));
+        } finally {
+          executor.shutdownNow();
+        }
+      } else {
+        System.out.println("Virtual threads are not available in this JDK.");
+      }
+    } finally {
+      Calendrica.setPersianLocale(Calendrica.IRAN);
+    }
+    assertEquals(0, errors.get(), "Results not matching any location");
+  }
+
+  // Executors.newVirtualThreadPerTaskExecutor() of JDK 21, or null on older JDKs.
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,354 @@
+package com.ghasemkiani.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPersianCronExpression {
+
+  private static final ZoneId TEHRAN = ZoneId.of("Asia/Tehran");
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+  // A scheduled executor whose tasks are run by the test, in the order scheduled.
+  private static final class ManualExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+    final List<Task> pending = new ArrayList<>();
+    boolean rejecting;
+    boolean shutdown;
+
+    final class Task implements ScheduledFuture<Object> {
+      final Runnable command;
+      final long delayMillis;
+      boolean cancelled;
+      boolean done;
+
+      Task(Runnable command, long delayMillis) {
+        this.command = command;
+        this.delayMillis = delayMillis;
+      }
+      public long getDelay(TimeUnit unit) {
+        return unit.convert(delayMillis, TimeUnit.MILLISECONDS);
+      }
+      public int compareTo(Delayed other) {
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+      }
+      public boolean cancel(boolean mayInterruptIfRunning) {
+        if (done) {
+          return false;
+        }
+        cancelled = done = true;
+        pending.remove(this);
+        return true;
+      }
+      public boolean isCancelled() {
+        return cancelled;
+      }
+      public boolean isDone() {
+        return done;
+      }
+      public Object get() {
+        throw new UnsupportedOperationException();
+      }
+      public Object get(long timeout, TimeUnit unit) {
+        throw new UnsupportedOperationException();
+      }
+    }
+
+    // Runs the first pending task.
+    void runNext() {
+      Task task = pending.remove(0);
+      task.command.run();
+      task.done = true;
+    }
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+      if (rejecting || shutdown) {
+        throw new RejectedExecutionException();
+      }
+      Task task = new Task(command, unit.toMillis(delay));
+      pending.add(task);
+      return task;
+    }
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+      throw new UnsupportedOperationException();
+    }
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+      throw new UnsupportedOperationException();
+    }
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+      throw new UnsupportedOperationException();
+    }
+    public void execute(Runnable command) {
+      throw new UnsupportedOperationException();
+    }
+    public void shutdown() {
+      shutdown = true;
+    }
+    public List<Runnable> shutdownNow() {
+      shutdown = true;
+      List<Runnable> dropped = new ArrayList<>();
+      for (Task task : pending) {
+        dropped.add(task.command);
+      }
+      pending.clear();
+      return dropped;
+    }
+    public boolean isShutdown() {
+      return shutdown;
+    }
+    public boolean isTerminated() {
+      return shutdown && pending.isEmpty();
+    }
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+      return isTerminated();
+    }
+  }
+
+  private static Instant at(long year, int month, int day, int hour, int minute) {
+    return at(TEHRAN, year, month, day, hour, minute);
+  }
+  private static Instant at(ZoneId zone, long year, int month, int day, int hour, int minute) {
+    long epochDay = PersianYearTable.pj(year, month, day) - PersianZoneConverter.EPOCH_JULIAN_DAY;
+    return ZonedDateTime.of(LocalDateTime.of(LocalDate.ofEpochDay(epochDay), LocalTime.of(hour, minute)), zone).toInstant();
+  }
+
+  // The next firing time found by testing every local minute. A local time skipped by
+  // the zone maps to the instant after the transition, and a repeated one to its earlier instant.
+  private static Instant scan(String[] fields, Instant after, ZoneId zone, int limitMinutes) {
+    LocalDateTime local = LocalDateTime.ofInstant(after, zone).truncatedTo(ChronoUnit.MINUTES);
+    for (int i = 0; i < limitMinutes; i++) {
+      local = local.plusMinutes(1);
+      long date = PersianYearTable.jp(local.toLocalDate().toEpochDay() + PersianZoneConverter.EPOCH_JULIAN_DAY);
+      int month = PersianCalendarUtils.m(date);
+      int day = PersianCalendarUtils.d(date);
+      boolean last = day == PersianYearTable.monthLength(PersianCalendarUtils.y(date), month);
+      int weekDay = (local.getDayOfWeek().getValue() + 1) % 7;
+      boolean byDay = fields[2].equals("L") ? last : fields[2].equals("*") || Integer.parseInt(fields[2]) == day;
+      boolean byWeek = fields[4].equals("*") || Integer.parseInt(fields[4]) == weekDay;
+      boolean dayMatches = !fields[2].equals("*") && !fields[4].equals("*") ? byDay || byWeek : byDay && byWeek;
+      if (matches(fields[0], local.getMinute()) && matches(fields[1], local.getHour())
+          && (fields[3].equals("*") || Integer.parseInt(fields[3]) == month + 1) && dayMatches) {
+        Instant t = ZonedDateTime.ofLocal(local, zone, null).toInstant();
+        if (t.isAfter(after)) {
+          return t;
+        }
+      }
+    }
+    return null;
+  }
+  // Whether a field of "*" or a comma-separated list of values matches a value.
+  private static boolean matches(String field, int value) {
+    if (field.equals("*")) {
+      return true;
+    }
+    for (String s : field.split(",")) {
+      if (Integer.parseInt(s) == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Test
+  void testAgainstScan() {
+    String[] expressions = {"0 23 L * *", "30 8 * * 0", "15 * 1 * 6", "* * * * *", "0 0 L 12 *", "59 23 31 * *", "0 12 * 7 3", "45 6 L * 5",
+                            "30 0,1,2,23 * * *"};
+    // Tehran observed daylight saving time until 1401: the first hour of 2 Farvardin was
+    // skipped and the last hour of 30 Shahrivar repeated. In New York, 2:00-3:00 was skipped
+    // on 10 March 2024 (20 Esfand 1402), and 1:00-2:00 repeated on 3 November 2024 (13 Aban 1403).
+    ZoneId[] zones = {TEHRAN, TEHRAN, TEHRAN, TEHRAN, TEHRAN, TEHRAN, NEW_YORK, NEW_YORK, NEW_YORK};
+    Instant[] starts = {at(1403, 5, 15, 10, 0), at(1403, 11, 29, 23, 59), at(1404, 0, 1, 0, 0), at(1403, 6, 30, 23, 0),
+                        at(1393, 0, 1, 23, 58), at(1393, 5, 30, 22, 58),
+                        at(NEW_YORK, 1402, 11, 20, 1, 58), at(NEW_YORK, 1403, 7, 12, 23, 0),
+                        at(NEW_YORK, 1403, 7, 13, 1, 30).plusSeconds(3600)};
+    for (String expression : expressions) {
+      PersianCronExpression cron = PersianCronExpression.parse(expression);
+      for (int k = 0; k < starts.length; k++) {
+        Instant t = starts[k];
+        for (int i = 0; i < 5; i++) {
+          Instant expected = scan(expression.split(" "), t, zones[k], 400 * 24 * 60);
+          Instant actual = cron.nextFireTime(t, zones[k]);
+          assertEquals(expected, actual, expression + " after " + t + " in " + zones[k]);
+          t = actual;
+        }
+      }
+    }
+  }
+
+  @Test
+  void testStepInDayField() {
+    // A field beginning with "*" does not restrict the day, so both fields must match:
+    // "*/2" is the odd days of the month, and 4 is Wednesday.
+    PersianCronExpression cron = PersianCronExpression.parse("0 12 */2 * 4");
+    Instant t = at(1403, 0, 1, 0, 0);
+    int found = 0;
+    for (long j = PersianYearTable.pj(1403, 0, 1); found < 20; j++) {
+      long date = PersianYearTable.jp(j);
+      if (PersianCalendarUtils.d(date) % 2 == 1 && LocalDate.ofEpochDay(j - PersianZoneConverter.EPOCH_JULIAN_DAY).getDayOfWeek().getValue() == 3) {
+        Instant expected = at(PersianCalendarUtils.y(date), PersianCalendarUtils.m(date), PersianCalendarUtils.d(date), 12, 0);
+        t = cron.nextFireTime(t, TEHRAN);
+        assertEquals(expected, t);
+        found++;
+      }
+    }
+    // A restricted day of month with "*" in the day of week, and the reverse, fire on every matching day.
+    assertEquals(at(1403, 0, 3, 12, 0), PersianCronExpression.parse("0 12 */2 * *").nextFireTime(at(1403, 0, 1, 13, 0), TEHRAN));
+    // "*/2" in the day of week is Saturday, Monday, Wednesday and Friday; 3 Farvardin 1403 was a Friday.
+    assertEquals(at(1403, 0, 3, 12, 0), PersianCronExpression.parse("0 12 * * */2").nextFireTime(at(1403, 0, 1, 13, 0), TEHRAN));
+    // Restricted fields are still combined with "or".
+    assertEquals(at(1403, 0, 3, 12, 0), PersianCronExpression.parse("0 12 1-31/2 * 4").nextFireTime(at(1403, 0, 1, 13, 0), TEHRAN));
+  }
+
+  @Test
+  void testAcrossYearOne() {
+    // The year after -1 is 1.
+    PersianCronExpression cron = PersianCronExpression.parse("0 0 1 1 *");
+    assertEquals(at(1, 0, 1, 0, 0), cron.nextFireTime(at(-1, 5, 1, 0, 0), TEHRAN));
+    assertEquals(at(2, 0, 1, 0, 0), cron.nextFireTime(at(1, 0, 1, 0, 0), TEHRAN));
+  }
+
+  @Test
+  void testDaylightSavingTransitions() {
+    PersianCronExpression cron = PersianCronExpression.parse("30 1,2 * * *");
+    // 2:30 did not exist on 10 March 2024 in New York; it fires at 3:30 EDT, an hour after 1:30 EST.
+    Instant first = cron.nextFireTime(at(NEW_YORK, 1402, 11, 20, 0, 0), NEW_YORK);
+    assertEquals(Instant.parse("2024-03-10T06:30:00Z"), first);
+    assertEquals(Instant.parse("2024-03-10T07:30:00Z"), cron.nextFireTime(first, NEW_YORK));
+    // 1:30 occurred twice on 3 November 2024; it fires once, at 1:30 EDT.
+    Instant repeated = cron.nextFireTime(at(NEW_YORK, 1403, 7, 13, 0, 0), NEW_YORK);
+    assertEquals(Instant.parse("2024-11-03T05:30:00Z"), repeated);
+    assertEquals(Instant.parse("2024-11-03T07:30:00Z"), cron.nextFireTime(repeated, NEW_YORK));
+  }
+
+  @Test
+  void testExamples() {
+    PersianCronExpression cron = PersianCronExpression.parse("0 23 L * *");
+    // Shahrivar has 31 days, Mehr 30, and Esfand 1403 (a leap year) 30.
+    assertEquals(at(1403, 5, 31, 23, 0), cron.nextFireTime(at(1403, 5, 15, 10, 0), TEHRAN));
+    assertEquals(at(1403, 6, 30, 23, 0), cron.nextFireTime(at(1403, 5, 31, 23, 0), TEHRAN));
+    assertEquals(at(1403, 11, 30, 23, 0), cron.nextFireTime(at(1403, 11, 1, 0, 0), TEHRAN));
+    assertEquals(at(1403, 0, 1, 8, 0), PersianCronExpression.parse("0 8-17/3 1 1,7 *").nextFireTime(at(1402, 8, 1, 0, 0), TEHRAN));
+    assertEquals(at(1403, 0, 1, 11, 0), PersianCronExpression.parse("0 8-17/3 1 1,7 *").nextFireTime(at(1403, 0, 1, 9, 30), TEHRAN));
+    assertNull(PersianCronExpression.parse("0 0 31 12 *").nextFireTime(at(1403, 0, 1, 0, 0), TEHRAN));
+    assertThrows(IllegalArgumentException.class, () -> PersianCronExpression.parse("0 24 * * *"));
+    assertThrows(IllegalArgumentException.class, () -> PersianCronExpression.parse("0 0 * *"));
+    assertThrows(IllegalArgumentException.class, () -> PersianCronExpression.parse("x 0 * * *"));
+  }
+
+  @Test
+  void testSchedule() throws Exception {
+    ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+    try {
+      ScheduledFuture<?> future = PersianCronExpression.parse("* * * * *").schedule(executor, TEHRAN, () -> { });
+      long delay = future.getDelay(TimeUnit.MILLISECONDS);
+      assertTrue(delay >= 0 && delay <= 60000, "delay " + delay);
+      assertFalse(future.isDone());
+      assertTrue(future.cancel(false));
+      assertTrue(future.isCancelled());
+      assertTrue(future.isDone());
+      assertThrows(CancellationException.class, future::get);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testScheduleRunsAndRearms() throws Exception {
+    ManualExecutor executor = new ManualExecutor();
+    AtomicInteger runs = new AtomicInteger();
+    ScheduledFuture<?> future = PersianCronExpression.parse("* * * * *").schedule(executor, TEHRAN, runs::incrementAndGet);
+    assertEquals(1, executor.pending.size());
+    assertTrue(executor.pending.get(0).delayMillis <= 60000);
+    for (int i = 1; i <= 3; i++) {
+      executor.runNext();
+      assertEquals(i, runs.get());
+      assertEquals(1, executor.pending.size());
+      assertFalse(future.isDone());
+    }
+    // The next run comes a minute after the last one, not at once.
+    assertTrue(executor.pending.get(0).delayMillis > 60000);
+    assertThrows(TimeoutException.class, () -> future.get(10, TimeUnit.MILLISECONDS));
+    ManualExecutor.Task next = executor.pending.get(0);
+    assertTrue(future.cancel(false));
+    assertTrue(next.isCancelled());
+    assertFalse(future.cancel(false));
+    assertThrows(CancellationException.class, future::get);
+  }
+
+  @Test
+  void testScheduleFailure() throws Exception {
+    ManualExecutor executor = new ManualExecutor();
+    RuntimeException error = new IllegalStateException("failed");
+    ScheduledFuture<?> future = PersianCronExpression.parse("0 * * * *").schedule(executor, TEHRAN, () -> { throw error; });
+    executor.runNext();
+    assertTrue(future.isDone());
+    assertFalse(future.isCancelled());
+    assertTrue(executor.pending.isEmpty());
+    ExecutionException e = assertThrows(ExecutionException.class, future::get);
+    assertSame(error, e.getCause());
+    assertFalse(future.cancel(false));
+  }
+
+  @Test
+  void testScheduleRejected() throws Exception {
+    ManualExecutor executor = new ManualExecutor();
+    AtomicInteger runs = new AtomicInteger();
+    ScheduledFuture<?> future = PersianCronExpression.parse("* * * * *").schedule(executor, TEHRAN, runs::incrementAndGet);
+    executor.rejecting = true;
+    executor.runNext();
+    assertEquals(1, runs.get());
+    assertTrue(future.isDone());
+    ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof RejectedExecutionException);
+    // The first run may be rejected too.
+    executor.shutdown();
+    ScheduledFuture<?> rejected = PersianCronExpression.parse("* * * * *").schedule(executor, TEHRAN, runs::incrementAndGet);
+    assertTrue(rejected.isDone());
+    assertTrue(assertThrows(ExecutionException.class, rejected::get).getCause() instanceof RejectedExecutionException);
+  }
+
+  @Test
+  void testScheduleDropped() throws Exception {
+    // The pending run is dropped by shutdownNow.
+    ManualExecutor executor = new ManualExecutor();
+    ScheduledFuture<?> future = PersianCronExpression.parse("* * * * *").schedule(executor, TEHRAN, () -> { });
+    executor.runNext();
+    assertFalse(future.isDone());
+    assertEquals(1, executor.shutdownNow().size());
+    ExecutionException e = assertThrows(ExecutionException.class, future::get);
+    assertTrue(e.getCause() instanceof RejectedExecutionException);
+    assertTrue(future.isDone());
+    assertFalse(future.isCancelled());
+    // The pending run is cancelled by someone else.
+    ManualExecutor other = new ManualExecutor();
+    ScheduledFuture<?> cancelled = PersianCronExpression.parse("* * * * *").schedule(other, TEHRAN, () -> { });
+    other.pending.get(0).cancel(false);
+    assertTrue(cancelled.isDone());
+    assertThrows(ExecutionException.class, () -> cancelled.get(1, TimeUnit.SECONDS));
+    // A real executor, with get waiting while it is shut down.
+    ScheduledExecutorService real = new ScheduledThreadPoolExecutor(1);
+    ScheduledFuture<?> waiting = PersianCronExpression.parse("* * * * *").schedule(real, TEHRAN, () -> { });
+    real.shutdownNow();
+    assertTrue(real.awaitTermination(10, TimeUnit.SECONDS));
+    assertThrows(ExecutionException.class, () -> waiting.get(10, TimeUnit.SECONDS));
+  }
+}
@@ -0,0 +1,54 @@
+package com.ghasemkiani.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPersianDateCodec {
+
+  private static long pack(long year, int month, int day) {
+    return (year << 16) | (month << 8) | day;
+  }
+
+  @Test
+  void testFixedRoundTrip() {
+    long[] dates = {pack(1403, 11, 30), pack(1, 0, 1), pack(-5, 6, 15), pack(4194303, 5, 31), pack(-4194304, 0, 1)};
+    ByteBuffer buffer = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+    PersianDateCodec.putFixed(buffer, dates, 0, dates.length);
+    assertEquals(dates.length * PersianDateCodec.FIXED_BYTES, buffer.position());
+    buffer.flip();
+    long[] decoded = new long[dates.length];
+    PersianDateCodec.getFixed(buffer, decoded, 0, decoded.length);
+    assertArrayEquals(dates, decoded);
+    assertThrows(IllegalArgumentException.class, () -> PersianDateCodec.toFixed(pack(4194304, 0, 1)));
+  }
+
+  @Test
+  void testKeysSortInCalendarOrder() {
+    long[] dates = {pack(-100, 11, 29), pack(-1, 0, 1), pack(1, 0, 1), pack(1403, 0, 31), pack(1403, 1, 1), pack(1403, 11, 30), pack(1404, 0, 1)};
+    for (int i = 1; i < dates.length; i++) {
+      byte[] a = PersianDateCodec.toKey(dates[i - 1]);
+      byte[] b = PersianDateCodec.toKey(dates[i]);
+      int c = 0;
+      for (int k = 0; k < a.length && c == 0; k++) {
+        c = Integer.compare(a[k] & 0xff, b[k] & 0xff);
+      }
+      assertTrue(c < 0);
+      assertEquals(dates[i], PersianDateCodec.getKey(ByteBuffer.wrap(b)));
+    }
+  }
+
+  @Test
+  void testVarints() {
+    long[] julianDays = {2460390, 2460391, 2460400, 2460300, 1948321, 0, -1000};
+    ByteBuffer buffer = ByteBuffer.allocate(128);
+    PersianDateCodec.putVarints(buffer, julianDays, 0, julianDays.length);
+    buffer.flip();
+    long[] decoded = new long[julianDays.length];
+    PersianDateCodec.getVarints(buffer, decoded, 0, decoded.length);
+    assertArrayEquals(julianDays, decoded);
+    assertFalse(buffer.hasRemaining());
+  }
+}
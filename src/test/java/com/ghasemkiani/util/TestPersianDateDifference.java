@@ -0,0 +1,94 @@
+package com.ghasemkiani.util;
+
+import java.util.Date;
+import java.util.SplittableRandom;
+
+import com.ibm.icu.util.Calendar;
+import com.ibm.icu.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.ghasemkiani.util.icu.PersianCalendar;
+
+public class TestPersianDateDifference {
+
+  private static final long EPOCH_JULIAN_DAY = 2440588L;
+  private static final long DAY_MILLIS = 86400000L;
+
+  // Adds months to a date, pinning the day of month to the end of shorter months.
+  private static long addMonths(long julianDay, long n) {
+    long date = PersianYearTable.jp(julianDay);
+    long m = PersianCalendarUtils.m(date) + n;
+    long year = PersianCalendarUtils.y(date) + Math.floorDiv(m, 12L);
+    int month = (int)Math.floorMod(m, 12L);
+    return PersianYearTable.pj(year, month, Math.min(PersianCalendarUtils.d(date), PersianYearTable.monthLength(year, month)));
+  }
+
+  private static int[] reference(long start, long end) {
+    if (start > end) {
+      int[] r = reference(end, start);
+      return new int[] {-r[0], -r[1], -r[2]};
+    }
+    long n = 0;
+    while (addMonths(start, n + 1) <= end) {
+      n++;
+    }
+    return new int[] {(int)(n / 12), (int)(n % 12), (int)(end - addMonths(start, n))};
+  }
+
+  @Test
+  void testAgainstReference() {
+    SplittableRandom random = new SplittableRandom(47);
+    long from = PersianYearTable.yearStart(1350);
+    long reference = PersianYearTable.pj(1403, 6, 30);
+    long[] starts = new long[5000];
+    for (int i = 0; i < starts.length; i++) {
+      // Mostly the last days of months, where the pinning matters.
+      starts[i] = i % 2 == 0 ? from + random.nextInt(20000) : PersianYearTable.monthStart(1350 + random.nextInt(60), random.nextInt(12)) - 1;
+    }
+    starts[0] = reference;
+    starts[1] = reference + 400;
+    int[] years = new int[starts.length];
+    int[] months = new int[starts.length];
+    int[] days = new int[starts.length];
+    int[] ages = new int[starts.length];
+    PersianDateDifference.between(starts, 0, starts.length, reference, years, months, days);
+    PersianDateDifference.years(starts, 0, starts.length, reference, ages);
+    for (int i = 0; i < starts.length; i++) {
+      int[] expected = reference(starts[i], reference);
+      assertArrayEquals(expected, new int[] {years[i], months[i], days[i]}, "start " + starts[i]);
+      assertArrayEquals(expected, PersianDateDifference.between(starts[i], reference));
+      assertEquals(expected[0], ages[i]);
+    }
+  }
+
+  @Test
+  void testMonthEnds() {
+    // 31 Shahrivar to 30 Mehr and to 29 Mehr.
+    assertArrayEquals(new int[] {0, 1, 0}, PersianDateDifference.between(PersianYearTable.pj(1402, 5, 31), PersianYearTable.pj(1402, 6, 30)));
+    assertArrayEquals(new int[] {0, 0, 29}, PersianDateDifference.between(PersianYearTable.pj(1402, 5, 31), PersianYearTable.pj(1402, 6, 29)));
+    // 30 Esfand 1403 (a leap year) to 29 Esfand 1404 and to 1 Farvardin 1405.
+    assertTrue(PersianYearTable.isLeapYear(1403));
+    assertArrayEquals(new int[] {1, 0, 0}, PersianDateDifference.between(PersianYearTable.pj(1403, 11, 30), PersianYearTable.pj(1404, 11, 29)));
+    assertArrayEquals(new int[] {1, 0, 1}, PersianDateDifference.between(PersianYearTable.pj(1403, 11, 30), PersianYearTable.pj(1405, 0, 1)));
+    // Across the start of the era, which has no year zero.
+    assertArrayEquals(new int[] {1, 0, 0}, PersianDateDifference.between(PersianYearTable.pj(-1, 3, 10), PersianYearTable.pj(1, 3, 10)));
+  }
+
+  @Test
+  void testAgainstIcu() {
+    SplittableRandom random = new SplittableRandom(470);
+    PersianCalendar calendar = new PersianCalendar(TimeZone.getTimeZone("UTC"));
+    for (int i = 0; i < 2000; i++) {
+      long start = PersianYearTable.pj(1350 + random.nextInt(50), random.nextInt(12), 1 + random.nextInt(29));
+      long end = start + random.nextInt(20000);
+      calendar.setTimeInMillis((start - EPOCH_JULIAN_DAY) * DAY_MILLIS);
+      long target = (end - EPOCH_JULIAN_DAY) * DAY_MILLIS;
+      int years = calendar.fieldDifference(new Date(target), Calendar.YEAR);
+      int months = calendar.fieldDifference(new Date(target), Calendar.MONTH);
+      int days = calendar.fieldDifference(new Date(target), Calendar.DAY_OF_MONTH);
+      assertArrayEquals(new int[] {years, months, days}, PersianDateDifference.between(start, end), "start " + start + " end " + end);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package com.ghasemkiani.util;
+
+import java.util.Spliterator;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import static com.ghasemkiani.util.PersianCalendarUtils.*;
+
+public class TestPersianDateRange {
+
+  @Test
+  void testYearTableMatchesHelper() {
+    for (long j = PersianCalendarHelper.pj(1395, 0, 1) - 3; j < PersianCalendarHelper.pj(1410, 0, 1); j += 7) {
+      assertEquals(PersianCalendarHelper.jp(j), PersianYearTable.jp(j));
+    }
+    for (long y = 1380; y < 1420; y++) {
+      assertEquals(PersianCalendarHelper.isLeapYear(y), PersianYearTable.isLeapYear(y));
+      assertEquals(PersianCalendarHelper.pj(y, 11, 29), PersianYearTable.pj(y, 11, 29));
+    }
+  }
+
+  @Test
+  void testDailyRange() {
+    PersianDateRange range = new PersianDateRange(1390, 0, 1, 1410, 11, 29);
+    long first = PersianCalendarHelper.pj(1390, 0, 1);
+    long last = PersianCalendarHelper.pj(1410, 11, 29);
+    assertEquals(last - first + 1, range.size());
+    long[] expected = LongStream.rangeClosed(first, last).map(PersianYearTable::jp).toArray();
+    assertArrayEquals(expected, range.stream().toArray());
+    assertArrayEquals(expected, range.stream().parallel().toArray());
+  }
+
+  @Test
+  void testWeeklyRangeSplitsOnYears() {
+    PersianDateRange range = new PersianDateRange(1400, 3, 5, 1405, 1, 10, PersianDateRange.Unit.WEEK, 1);
+    long first = PersianCalendarHelper.pj(1400, 3, 5);
+    long last = PersianCalendarHelper.pj(1405, 1, 10);
+    long[] expected = LongStream.iterate(first, j -> j + 7).limit((last - first) / 7 + 1).map(PersianYearTable::jp).toArray();
+    assertArrayEquals(expected, range.stream().parallel().toArray());
+    Spliterator.OfLong s = range.spliterator();
+    Spliterator.OfLong prefix = s.trySplit();
+    assertNotNull(prefix);
+    assertEquals(range.size(), prefix.estimateSize() + s.estimateSize());
+  }
+
+  @Test
+  void testMonthlyRangePinsDay() {
+    PersianDateRange range = new PersianDateRange(1402, 4, 31, 1403, 11, 30, PersianDateRange.Unit.MONTH, 1);
+    long[] dates = range.stream().toArray();
+    assertEquals(20, dates.length);
+    assertEquals(20, range.size());
+    assertEquals(31, d(dates[1]));
+    assertEquals(30, d(dates[2]));
+    assertEquals(29, d(dates[7]));
+    assertEquals(1403, y(dates[19]));
+    assertEquals(30, d(dates[19]));
+    assertArrayEquals(dates, range.stream().parallel().toArray());
+  }
+
+  @Test
+  void testRangeAcrossYearOne() {
+    // There is no year zero; 1 Farvardin 1 follows the last day of year -1.
+    long first = PersianYearTable.pj(-1, 11, 28);
+    long last = PersianYearTable.pj(1, 0, 3);
+    PersianDateRange daily = new PersianDateRange(-1, 11, 28, 1, 0, 3);
+    long[] expected = LongStream.rangeClosed(first, last).map(PersianYearTable::jp).toArray();
+    assertEquals(expected.length, daily.size());
+    assertArrayEquals(expected, daily.stream().toArray());
+    assertEquals(1, y(expected[expected.length - 1]));
+    assertArrayEquals(expected, daily.stream().parallel().toArray());
+    PersianDateRange weekly = new PersianDateRange(-3, 5, 10, 2, 4, 1, PersianDateRange.Unit.WEEK, 1);
+    long start = PersianYearTable.pj(-3, 5, 10);
+    long end = PersianYearTable.pj(2, 4, 1);
+    long[] weeks = LongStream.iterate(start, j -> j + 7).limit((end - start) / 7 + 1).map(PersianYearTable::jp).toArray();
+    assertArrayEquals(weeks, weekly.stream().toArray());
+    assertArrayEquals(weeks, weekly.stream().parallel().toArray());
+    PersianDateRange monthly = new PersianDateRange(-1, 10, 5, 1, 1, 5, PersianDateRange.Unit.MONTH, 1);
+    long[] months = monthly.stream().toArray();
+    assertEquals(4, monthly.size());
+    assertArrayEquals(new long[] {(-1L << 16) | (10 << 8) | 5, (-1L << 16) | (11 << 8) | 5, (1L << 16) | 5, (1L << 16) | (1 << 8) | 5}, months);
+    assertArrayEquals(months, monthly.stream().parallel().toArray());
+    PersianDateRange quarterly = new PersianDateRange(-5, 2, 31, 4, 11, 29, PersianDateRange.Unit.MONTH, 3);
+    long[] quarters = quarterly.stream().toArray();
+    assertEquals(quarters.length, quarterly.size());
+    for (long date : quarters) {
+      assertNotEquals(0, y(date));
+    }
+    assertArrayEquals(quarters, quarterly.stream().parallel().toArray());
+  }
+
+  @Test
+  void testInvalidDates() {
+    assertThrows(IllegalArgumentException.class, () -> new PersianDateRange(1403, 0, 1, 1403, 0, 45));
+    assertThrows(IllegalArgumentException.class, () -> new PersianDateRange(1403, 0, 1, 1403, 12, 1));
+    assertThrows(IllegalArgumentException.class, () -> new PersianDateRange(1403, 0, 1, 1402, 11, 30));
+    assertThrows(IllegalArgumentException.class, () -> new PersianDateRange(1403, 0, 32, 1403, 1, 1));
+  }
+}
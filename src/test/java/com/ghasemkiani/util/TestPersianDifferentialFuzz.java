@@ -0,0 +1,188 @@
+package com.ghasemkiani.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.ibm.icu.util.Calendar;
+import com.ibm.icu.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.ghasemkiani.util.calendrica.Calendrica;
+
+/*
+  Compares every Julian day of a range of Persian years across the conversion
+  implementations, in parallel on all processors, and reports the divergent years
+  and the throughput of each implementation. The range is set by the system
+  properties fuzz.fromYear and fuzz.toYear, e.g.:
+
+    mvn test -Dtest=TestPersianDifferentialFuzz -Dfuzz.fromYear=1 -Dfuzz.toYear=3000
+*/
+public class TestPersianDifferentialFuzz {
+
+  private static final long EPOCH_JULIAN_DAY = 2440588L;
+  private static final long DIFF = 1721425L;
+  private static final long DAY_MILLIS = 86400000L;
+  private static final int CHUNK = 4096;
+
+  private interface Converter {
+    long jp(long julianDay);
+    long pj(long date);
+  }
+
+  // Wraps ICU's built-in Persian calendar; instances are not thread-safe.
+  @SuppressWarnings("deprecation")
+  private static final class Icu implements Converter {
+    final com.ibm.icu.util.PersianCalendar calendar = new com.ibm.icu.util.PersianCalendar(TimeZone.getTimeZone("UTC"));
+    public long jp(long julianDay) {
+      calendar.setTimeInMillis((julianDay - EPOCH_JULIAN_DAY) * DAY_MILLIS);
+      long year = calendar.get(Calendar.EXTENDED_YEAR);
+      return (year << 16) | (calendar.get(Calendar.MONTH) << 8) | calendar.get(Calendar.DAY_OF_MONTH);
+    }
+    public long pj(long date) {
+      calendar.clear();
+      calendar.set(Calendar.EXTENDED_YEAR, (int)PersianCalendarUtils.y(date));
+      calendar.set(Calendar.MONTH, PersianCalendarUtils.m(date));
+      calendar.set(Calendar.DAY_OF_MONTH, PersianCalendarUtils.d(date));
+      return Math.floorDiv(calendar.getTimeInMillis(), DAY_MILLIS) + EPOCH_JULIAN_DAY;
+    }
+  }
+
+  private static Converter rule(PersianLeapRule rule) {
+    return new Converter() {
+      public long jp(long julianDay) {
+        return rule.jp(julianDay);
+      }
+      public long pj(long date) {
+        return rule.pj(PersianCalendarUtils.y(date), PersianCalendarUtils.m(date), PersianCalendarUtils.d(date));
+      }
+    };
+  }
+
+  private static final String[] NAMES = {"PersianCalendarHelper", "Calendrica", "PersianYearTable", "OFFICIAL", "ARITHMETIC", "ICU rule", "ICU4J"};
+  private static final int HELPER = 0;
+  private static final int CALENDRICA = 1;
+  private static final int YEAR_TABLE = 2;
+  private static final int OFFICIAL = 3;
+  private static final int ARITHMETIC = 4;
+  private static final int ICU_RULE = 5;
+  private static final int ICU4J = 6;
+
+  private static Converter[] converters() {
+    return new Converter[] {
+      new Converter() {
+        public long jp(long julianDay) {
+          return PersianCalendarHelper.jp(julianDay);
+        }
+        public long pj(long date) {
+          return PersianCalendarHelper.pj(PersianCalendarUtils.y(date), PersianCalendarUtils.m(date), PersianCalendarUtils.d(date));
+        }
+      },
+      // The astronomical computation itself, as the helper and the year table read the same precomputed year starts.
+      new Converter() {
+        public long jp(long julianDay) {
+          int[] p = Calendrica.persianFromFixed(julianDay - DIFF);
+          return ((long)p[0] << 16) | ((p[1] - 1) << 8) | p[2];
+        }
+        public long pj(long date) {
+          return Calendrica.fixedFromPersian(new int[] {(int)PersianCalendarUtils.y(date), PersianCalendarUtils.m(date) + 1, PersianCalendarUtils.d(date)}) + DIFF;
+        }
+      },
+      new Converter() {
+        public long jp(long julianDay) {
+          return PersianYearTable.jp(julianDay);
+        }
+        public long pj(long date) {
+          return PersianYearTable.pj(PersianCalendarUtils.y(date), PersianCalendarUtils.m(date), PersianCalendarUtils.d(date));
+        }
+      },
+      rule(StandardPersianLeapRule.OFFICIAL),
+      rule(StandardPersianLeapRule.ARITHMETIC),
+      rule(StandardPersianLeapRule.ICU),
+      new Icu(),
+    };
+  }
+
+  @Test
+  void testAgainstIcuAndRoundTrip() throws Exception {
+    long fromYear = Long.getLong("fuzz.fromYear", 1390L);
+    long toYear = Long.getLong("fuzz.toYear", 1410L);
+    long from = PersianYearTable.yearStart(fromYear);
+    long to = PersianYearTable.yearStart(toYear + 1);
+    int n = NAMES.length;
+    LongAdder[] nanos = new LongAdder[n];
+    // Divergent years, as numbered by PersianCalendarHelper, of each implementation from it.
+    List<Set<Long>> divergent = new ArrayList<>();
+    for (int k = 0; k < n; k++) {
+      nanos[k] = new LongAdder();
+      divergent.add(new ConcurrentSkipListSet<>());
+    }
+    AtomicLong roundTripFailures = new AtomicLong();
+    AtomicLong icuMismatches = new AtomicLong();
+    int threads = Runtime.getRuntime().availableProcessors();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (long start = from; start < to; start += CHUNK) {
+        long chunkFrom = start;
+        long chunkTo = Math.min(to, start + CHUNK);
+        futures.add(executor.submit(() -> {
+          Converter[] converters = converters();
+          int size = (int)(chunkTo - chunkFrom);
+          long[][] dates = new long[n][size];
+          for (int k = 0; k < n; k++) {
+            long t = System.nanoTime();
+            for (int i = 0; i < size; i++) {
+              dates[k][i] = converters[k].jp(chunkFrom + i);
+            }
+            for (int i = 0; i < size; i++) {
+              if (converters[k].pj(dates[k][i]) != chunkFrom + i) {
+                roundTripFailures.incrementAndGet();
+              }
+            }
+            nanos[k].add(System.nanoTime() - t);
+          }
+          for (int i = 0; i < size; i++) {
+            if (dates[ICU_RULE][i] != dates[ICU4J][i]) {
+              icuMismatches.incrementAndGet();
+            }
+            for (int k = 1; k < n; k++) {
+              if (dates[k][i] != dates[HELPER][i]) {
+                divergent.get(k).add(PersianCalendarUtils.y(dates[HELPER][i]));
+              }
+            }
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    long days = to - from;
+    System.out.printf("Persian years %d to %d (%d days) on %d threads%n", fromYear, toYear, days, threads);
+    for (int k = 0; k < n; k++) {
+      double seconds = Math.max(1e-9, nanos[k].sum() / 1e9);
+      System.out.printf("  %-21s %12.0f conversions/s (jp + pj, summed over threads)  divergent years: %s%n",
+                        NAMES[k], 2 * days / seconds, k == HELPER ? "-" : new TreeSet<>(divergent.get(k)));
+    }
+    assertEquals(0, roundTripFailures.get(), "pj(jp(x)) != x");
+    assertTrue(divergent.get(YEAR_TABLE).isEmpty(), "PersianYearTable diverges from PersianCalendarHelper");
+    // Outside its astronomical range, the helper follows the arithmetic rule.
+    assertTrue(divergent.get(CALENDRICA).stream().allMatch(year -> year < PersianCalendarHelper.DEFAULT_FIRST_ASTRONOMICAL_YEAR
+                                                                   || year > PersianCalendarHelper.DEFAULT_LAST_ASTRONOMICAL_YEAR),
+               "PersianCalendarHelper diverges from Calendrica");
+    assertEquals(0, icuMismatches.get(), "The ICU rule diverges from ICU4J");
+  }
+}
@@ -0,0 +1,76 @@
+package com.ghasemkiani.util;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.ghasemkiani.util.PersianDigits.Script;
+
+public class TestPersianDigits {
+
+  private static final String ASCII = "\u0633\u0627\u0644 1403/01/05, x9";
+  private static final String ARABIC_INDIC = "\u0633\u0627\u0644 \u0661\u0664\u0660\u0663/\u0660\u0661/\u0660\u0665, x\u0669";
+  private static final String PERSIAN = "\u0633\u0627\u0644 \u06f1\u06f4\u06f0\u06f3/\u06f0\u06f1/\u06f0\u06f5, x\u06f9";
+
+  @Test
+  void testArrayAndString() {
+    String[] texts = {ASCII, ARABIC_INDIC, PERSIAN};
+    for (String text : texts) {
+      for (Script to : Script.values()) {
+        String expected = texts[to.ordinal()];
+        char[] chars = text.toCharArray();
+        PersianDigits.transliterate(chars, to);
+        assertEquals(expected, new String(chars));
+        assertEquals(expected, PersianDigits.transliterate(text, to));
+      }
+    }
+    assertSame(ASCII, PersianDigits.transliterate(ASCII, Script.ASCII));
+    char[] chars = PERSIAN.toCharArray();
+    PersianDigits.transliterate(chars, 4, 4, Script.ASCII);
+    assertEquals("\u0633\u0627\u0644 1403/\u06f0\u06f1/\u06f0\u06f5, x\u06f9", new String(chars));
+  }
+
+  @Test
+  void testBufferAndBuilder() {
+    CharBuffer heap = CharBuffer.wrap(ASCII.toCharArray());
+    heap.position(4);
+    PersianDigits.transliterate(heap, Script.PERSIAN);
+    assertEquals(4, heap.position());
+    heap.rewind();
+    assertEquals(PERSIAN, heap.toString());
+
+    CharBuffer direct = ByteBuffer.allocateDirect(2 * ASCII.length()).asCharBuffer();
+    direct.put(ARABIC_INDIC).flip();
+    PersianDigits.transliterate(direct, Script.PERSIAN);
+    assertEquals(PERSIAN, direct.toString());
+
+    StringBuilder sb = new StringBuilder(PERSIAN);
+    PersianDigits.transliterate(sb, Script.ARABIC_INDIC);
+    assertEquals(ARABIC_INDIC, sb.toString());
+  }
+
+  @Test
+  void testParse() {
+    assertEquals(1403, PersianDigits.parseLong(PERSIAN, 4, 8));
+    assertEquals(1403, PersianDigits.parseLong(ARABIC_INDIC, 4, 8));
+    assertEquals(-5, PersianDigits.parseLong("-\u06f5", 0, 2));
+    assertEquals(Long.MIN_VALUE, PersianDigits.parseLong("-9223372036854775808", 0, 20));
+    assertEquals(Long.MAX_VALUE, PersianDigits.parseLong("+9223372036854775807", 0, 20));
+    assertThrows(NumberFormatException.class, () -> PersianDigits.parseLong("9223372036854775808", 0, 19));
+    assertThrows(NumberFormatException.class, () -> PersianDigits.parseLong("1x", 0, 2));
+    assertThrows(NumberFormatException.class, () -> PersianDigits.parseLong("-", 0, 1));
+    assertEquals(7, PersianDigits.digit('\u0667'));
+    assertEquals(-1, PersianDigits.digit('a'));
+  }
+
+  @Test
+  void testRenderer() {
+    PersianTimestampRenderer renderer = new PersianTimestampRenderer(ZoneOffset.UTC, PersianTimestampRenderer.Style.NUMERIC, Script.ARABIC_INDIC);
+    // 2024-03-24T00:00:00Z is 1403/01/05.
+    String s = renderer.render(1711238400000L);
+    assertEquals("\u0661\u0664\u0660\u0663/\u0660\u0661/\u0660\u0665 \u0660\u0660:\u0660\u0660:\u0660\u0660.\u0660\u0660\u0660", s);
+  }
+}
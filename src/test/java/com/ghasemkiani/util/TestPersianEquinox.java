@@ -0,0 +1,61 @@
+package com.ghasemkiani.util;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.ghasemkiani.util.calendrica.Calendrica;
+
+public class TestPersianEquinox {
+
+  private static final long DIFF = 1721425L;
+
+  @Test
+  void testKnownEquinoxes() {
+    // Times published by the US Naval Observatory, to the minute.
+    String[] known = {"2000-03-20T07:35:00Z", "2024-03-20T03:06:00Z", "2025-03-20T09:01:00Z", "2026-03-20T14:46:00Z"};
+    for (String s : known) {
+      Instant expected = Instant.parse(s);
+      Instant actual = PersianEquinox.vernalEquinox(expected.atZone(ZoneOffset.UTC).getYear());
+      assertTrue(Math.abs(actual.getEpochSecond() - expected.getEpochSecond()) <= 90, s + " != " + actual);
+    }
+    assertEquals(PersianEquinox.vernalEquinox(2025), PersianEquinox.newYear(1404));
+  }
+
+  @Test
+  void testNewYearFollowsEquinox() {
+    PersianYearStarts starts = PersianYearStarts.of(Calendrica.IRAN);
+    long[] millis = PersianEquinox.newYearMillis(1200, 400);
+    for (int i = 0; i < millis.length; i++) {
+      long year = 1200 + i;
+      double moment = PersianEquinox.moment((int)year + 621);
+      assertEquals(millis[i], PersianEquinox.newYear(year).toEpochMilli());
+      // The year begins on the first day whose true noon in Iran follows the equinox.
+      long start = starts.yearStart(year) - DIFF;
+      assertTrue(Calendrica.midday(start - 1, Calendrica.IRAN) < moment, "year " + year);
+      assertTrue(Calendrica.midday(start, Calendrica.IRAN) >= moment, "year " + year);
+    }
+  }
+
+  @Test
+  void testNewYearAcrossYearOne() {
+    assertEquals(PersianEquinox.vernalEquinox(621), PersianEquinox.newYear(-1));
+    assertEquals(PersianEquinox.vernalEquinox(622), PersianEquinox.newYear(1));
+    long[] millis = PersianEquinox.newYearMillis(-2, 4);
+    long[] years = {-2, -1, 1, 2};
+    for (int i = 0; i < millis.length; i++) {
+      assertEquals(PersianEquinox.newYear(years[i]).toEpochMilli(), millis[i], "year " + years[i]);
+    }
+  }
+
+  @Test
+  void testConvergence() {
+    for (int year : new int[] {-1000, 0, 622, 1582, 2100, 3000}) {
+      double moment = PersianEquinox.moment(year);
+      assertEquals(0, Calendrica.solarLongitude(moment) > 180 ? Calendrica.solarLongitude(moment) - 360 : Calendrica.solarLongitude(moment), 1e-6);
+      assertEquals(year, Calendrica.gregorianYearFromFixed((long)Math.floor(moment)));
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.ghasemkiani.util;
+
+import java.util.stream.LongStream;
+
+import com.ibm.icu.util.Calendar;
+import com.ibm.icu.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.ghasemkiani.util.icu.PersianCalendar;
+
+public class TestPersianLeapRule {
+
+  @Test
+  void testRulesAreConsistent() {
+    for (StandardPersianLeapRule rule : StandardPersianLeapRule.values()) {
+      for (long year = 1200; year < 1510; year++) {
+        long start = rule.yearStart(year);
+        assertEquals(rule.isLeapYear(year) ? 366 : 365, rule.yearStart(year + 1) - start, rule + " " + year);
+        assertEquals(year, rule.year(start), rule + " " + year);
+        assertEquals(year, rule.year(start - 1) + 1, rule + " " + year);
+        assertEquals((year << 16) | (11 << 8) | 29, rule.jp(rule.pj(year, 11, 29)), rule + " " + year);
+      }
+    }
+  }
+
+  @Test
+  void testOfficialRule() {
+    // Leap years of the official table around its five-year gaps, and the years between.
+    long[][] runs = {{1238, 1243}, {1271, 1276}, {1304, 1309}, {1337, 1342}, {1370, 1375}, {1403, 1408}, {1436, 1441}, {1469, 1474}};
+    for (long[] run : runs) {
+      assertTrue(StandardPersianLeapRule.OFFICIAL.isLeapYear(run[0]), "year " + run[0]);
+      for (long year = run[0] + 1; year < run[1]; year++) {
+        assertFalse(StandardPersianLeapRule.OFFICIAL.isLeapYear(year), "year " + year);
+      }
+      assertTrue(StandardPersianLeapRule.OFFICIAL.isLeapYear(run[1]), "year " + run[1]);
+    }
+    assertTrue(StandardPersianLeapRule.OFFICIAL.isLeapYear(1210));
+    assertTrue(StandardPersianLeapRule.OFFICIAL.isLeapYear(1498));
+    // The table has 71 leap years.
+    assertEquals(71, LongStream.rangeClosed(1210, 1498).filter(StandardPersianLeapRule.OFFICIAL::isLeapYear).count());
+    assertEquals(PersianCalendarHelper.pj(1471, 0, 1), StandardPersianLeapRule.OFFICIAL.yearStart(1471));
+    assertFalse(StandardPersianLeapRule.ARITHMETIC.isLeapYear(1403));
+    assertTrue(StandardPersianLeapRule.ARITHMETIC.isLeapYear(1404));
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  void testIcuParity() {
+    TimeZone zone = TimeZone.getTimeZone("UTC");
+    com.ibm.icu.util.PersianCalendar expected = new com.ibm.icu.util.PersianCalendar(zone);
+    PersianCalendar actual = new PersianCalendar(zone);
+    actual.setLeapRule(StandardPersianLeapRule.ICU);
+    long day = 86400000L;
+    for (long millis = -40000L * day; millis < 40000L * day; millis += 7 * day + 3600000L) {
+      expected.setTimeInMillis(millis);
+      actual.setTimeInMillis(millis);
+      assertEquals(expected.get(Calendar.EXTENDED_YEAR), actual.get(Calendar.EXTENDED_YEAR));
+      assertEquals(expected.get(Calendar.MONTH), actual.get(Calendar.MONTH));
+      assertEquals(expected.get(Calendar.DAY_OF_MONTH), actual.get(Calendar.DAY_OF_MONTH));
+    }
+    actual.clear();
+    actual.set(Calendar.EXTENDED_YEAR, 1403);
+    actual.set(Calendar.MONTH, 11);
+    actual.set(Calendar.DAY_OF_MONTH, 30);
+    expected.clear();
+    expected.set(Calendar.EXTENDED_YEAR, 1403);
+    expected.set(Calendar.MONTH, 11);
+    expected.set(Calendar.DAY_OF_MONTH, 30);
+    assertEquals(expected.getTimeInMillis(), actual.getTimeInMillis());
+    assertThrows(NullPointerException.class, () -> actual.setLeapRule(null));
+    assertSame(StandardPersianLeapRule.ICU, actual.getLeapRule());
+  }
+}
@@ -0,0 +1,106 @@
+package com.ghasemkiani.util;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Calendar;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import static com.ghasemkiani.util.PersianCalendarConstants.*;
+
+public class TestPersianMonthGrid {
+
+  private static final long EPOCH_JULIAN_DAY = 2440588L;
+
+  private static int[] persianDays(PersianMonthGrid grid) {
+    int[] days = new int[PersianMonthGrid.CELLS];
+    grid.copyPersianDays(days, 0);
+    return days;
+  }
+
+  // Checks every cell against the Persian and Gregorian dates of its Julian day.
+  private static void checkCells(PersianMonthGrid grid) {
+    long start = PersianYearTable.monthStart(grid.getYear(), grid.getMonth());
+    assertEquals(grid.getFirstDayOfWeek(), PersianMonthGrid.dayOfWeek(start - grid.getOffset()));
+    for (int i = 0; i < PersianMonthGrid.CELLS; i++) {
+      long julianDay = start - grid.getOffset() + i;
+      assertEquals(julianDay, grid.getJulianDay(i));
+      long date = PersianYearTable.jp(julianDay);
+      assertEquals(PersianCalendarUtils.d(date), grid.getPersianDay(i));
+      assertEquals(PersianCalendarUtils.m(date) == grid.getMonth(), grid.isInMonth(i));
+      LocalDate g = LocalDate.ofEpochDay(julianDay - EPOCH_JULIAN_DAY);
+      assertEquals(g.getYear(), grid.getGregorianYear(i));
+      assertEquals(g.getMonthValue() - 1, grid.getGregorianMonth(i));
+      assertEquals(g.getDayOfMonth(), grid.getGregorianDay(i));
+    }
+  }
+
+  @Test
+  void testThirtyOneDayMonth() {
+    // 1 Farvardin 1403 (20 March 2024) was a Wednesday.
+    PersianMonthGrid grid = PersianMonthGrid.of(1403, FARVARDIN);
+    assertEquals(Calendar.SATURDAY, grid.getFirstDayOfWeek());
+    assertEquals(31, grid.getMonthLength());
+    assertEquals(4, grid.getOffset());
+    int[] days = persianDays(grid);
+    // The last days of Esfand 1402 (29 days) lead, and the first days of Ordibehesht trail.
+    assertArrayEquals(new int[] {26, 27, 28, 29, 1}, Arrays.copyOfRange(days, 0, 5));
+    assertEquals(31, days[34]);
+    assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6, 7}, Arrays.copyOfRange(days, 35, 42));
+    assertFalse(grid.isInMonth(3));
+    assertTrue(grid.isInMonth(4));
+    assertTrue(grid.isInMonth(34));
+    assertFalse(grid.isInMonth(35));
+    assertEquals(2024, grid.getGregorianYear(0));
+    assertEquals(Calendar.MARCH, grid.getGregorianMonth(0));
+    assertEquals(16, grid.getGregorianDay(0));
+    checkCells(grid);
+  }
+
+  @Test
+  void testTwentyNineDayMonth() {
+    // 1 Esfand 1402 (20 February 2024) was a Tuesday; 1402 is a common year.
+    PersianMonthGrid grid = PersianMonthGrid.of(1402, ESFAND);
+    assertEquals(29, grid.getMonthLength());
+    assertEquals(3, grid.getOffset());
+    int[] days = persianDays(grid);
+    // Bahman has 30 days.
+    assertArrayEquals(new int[] {28, 29, 30, 1}, Arrays.copyOfRange(days, 0, 4));
+    assertEquals(29, days[31]);
+    assertEquals(1, days[32]);
+    assertEquals(10, days[41]);
+    // The grid crosses 29 February 2024.
+    assertEquals(Calendar.FEBRUARY, grid.getGregorianMonth(12));
+    assertEquals(29, grid.getGregorianDay(12));
+    assertEquals(Calendar.MARCH, grid.getGregorianMonth(13));
+    assertEquals(1, grid.getGregorianDay(13));
+    checkCells(grid);
+  }
+
+  @Test
+  void testWeekStart() {
+    PersianMonthGrid monday = PersianMonthGrid.of(1402, ESFAND, Calendar.MONDAY);
+    assertEquals(1, monday.getOffset());
+    assertEquals(30, monday.getPersianDay(0));
+    checkCells(monday);
+    // A month starting on the first day of the week has no leading days.
+    PersianMonthGrid tuesday = PersianMonthGrid.of(1402, ESFAND, Calendar.TUESDAY);
+    assertEquals(0, tuesday.getOffset());
+    assertEquals(1, tuesday.getPersianDay(0));
+    checkCells(tuesday);
+    for (int firstDayOfWeek = Calendar.SUNDAY; firstDayOfWeek <= Calendar.SATURDAY; firstDayOfWeek++) {
+      for (int month = 0; month < 12; month++) {
+        checkCells(PersianMonthGrid.of(1403, month, firstDayOfWeek));
+      }
+    }
+    // The leading cells of Farvardin 1 are in Esfand -1, as there is no year zero.
+    for (int firstDayOfWeek = Calendar.SUNDAY; firstDayOfWeek <= Calendar.SATURDAY; firstDayOfWeek++) {
+      checkCells(PersianMonthGrid.of(1, FARVARDIN, firstDayOfWeek));
+      checkCells(PersianMonthGrid.of(-1, ESFAND, firstDayOfWeek));
+    }
+    assertSame(monday, PersianMonthGrid.of(1402, ESFAND, Calendar.MONDAY));
+    assertThrows(IllegalArgumentException.class, () -> PersianMonthGrid.of(1403, 12));
+    assertThrows(IllegalArgumentException.class, () -> PersianMonthGrid.of(1403, 0, 0));
+  }
+}
@@ -0,0 +1,100 @@
+package com.ghasemkiani.util;
+
+import java.time.DayOfWeek;
+import java.util.NoSuchElementException;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import static com.ghasemkiani.util.PersianCalendarConstants.*;
+
+public class TestPersianRecurrence {
+
+  private static final long EPOCH_JULIAN_DAY = 2440588L;
+
+  private static long epochDay(long year, int month, int day) {
+    return PersianYearTable.pj(year, month, day) - EPOCH_JULIAN_DAY;
+  }
+
+  // The days of the range matching the predicate on packed dates, found by scanning.
+  private static long[] scan(long from, long to, LongPredicate matches) {
+    return LongStream.rangeClosed(from, to).filter(e -> matches.test(PersianYearTable.jp(e + EPOCH_JULIAN_DAY))).toArray();
+  }
+
+  private static int length(long date) {
+    return PersianYearTable.monthLength(PersianCalendarUtils.y(date), PersianCalendarUtils.m(date));
+  }
+
+  private static int weekDay(long date) {
+    return (int)Math.floorMod(PersianYearTable.pj(PersianCalendarUtils.y(date), PersianCalendarUtils.m(date), PersianCalendarUtils.d(date)), 7L);
+  }
+
+  @Test
+  void testAgainstScan() {
+    long from = epochDay(1398, 4, 17);
+    long to = epochDay(1412, 2, 3);
+    assertArrayEquals(scan(from, to, r -> PersianCalendarUtils.d(r) == 1), PersianRecurrence.monthly(1).expand(from, to));
+    assertArrayEquals(scan(from, to, r -> PersianCalendarUtils.d(r) == Math.min(31, length(r))), PersianRecurrence.monthly(31).expand(from, to));
+    assertArrayEquals(scan(from, to, r -> PersianCalendarUtils.d(r) == length(r) - 2), PersianRecurrence.monthly(-3).expand(from, to));
+    assertArrayEquals(scan(from, to, r -> PersianCalendarUtils.m(r) == ESFAND && PersianCalendarUtils.d(r) == length(r)),
+                      PersianRecurrence.yearly(ESFAND, -1).expand(from, to));
+    long start = epochDay(1400, MEHR, 15);
+    assertArrayEquals(scan(from, to, r -> PersianCalendarUtils.d(r) == 15 && (PersianCalendarUtils.m(r) - MEHR) % 3 == 0
+                           && PersianYearTable.pj(PersianCalendarUtils.y(r), PersianCalendarUtils.m(r), 15) - EPOCH_JULIAN_DAY >= start),
+                      PersianRecurrence.everyMonths(3, 1400, MEHR, 15).expand(from, to));
+    // Saturday is 5 modulo 7.
+    assertArrayEquals(scan(from, to, r -> weekDay(r) == 5 && PersianCalendarUtils.d(r) > 7 && PersianCalendarUtils.d(r) <= 14),
+                      PersianRecurrence.monthlyWeekday(2, DayOfWeek.SATURDAY).expand(from, to));
+    assertArrayEquals(scan(from, to, r -> weekDay(r) == 4 && PersianCalendarUtils.d(r) > length(r) - 7),
+                      PersianRecurrence.monthlyWeekday(-1, DayOfWeek.FRIDAY).expand(from, to));
+    assertArrayEquals(scan(from, to, r -> weekDay(r) == 0 && PersianCalendarUtils.d(r) > 28),
+                      PersianRecurrence.monthlyWeekday(5, DayOfWeek.MONDAY).expand(from, to));
+  }
+
+  @Test
+  void testEveryWeeks() {
+    // 4 Farvardin 1403 was a Saturday.
+    PersianRecurrence rule = PersianRecurrence.everyWeeks(2, 1403, FARVARDIN, 4);
+    long first = epochDay(1403, FARVARDIN, 4);
+    long[] days = rule.expand(first - 100, first + 365);
+    assertEquals(first, days[0]);
+    for (int i = 1; i < days.length; i++) {
+      assertEquals(14, days[i] - days[i - 1]);
+    }
+    assertEquals(first + 28, rule.next(first + 15));
+    assertEquals(first + 28, rule.next(first + 28));
+  }
+
+  @Test
+  void testBulk() {
+    PersianRecurrence rule = PersianRecurrence.monthly(1);
+    long from = epochDay(1403, 0, 1);
+    long to = epochDay(1403, 11, 30);
+    long[] out = new long[5];
+    int n = rule.expand(from, to, out, 0);
+    assertEquals(5, n);
+    assertEquals(epochDay(1403, 4, 1), out[4]);
+    assertEquals(7, rule.expand(out[4] + 1, to, new long[20], 3));
+    assertEquals(epochDay(1404, 0, 1), rule.next(to));
+    assertEquals(0, rule.expand(to, from).length);
+    assertThrows(IllegalArgumentException.class, () -> PersianRecurrence.monthly(0));
+    assertThrows(IllegalArgumentException.class, () -> PersianRecurrence.everyMonths(3, 1403, MEHR, 31));
+    // The first day is checked against the length of its month.
+    assertThrows(IllegalArgumentException.class, () -> PersianRecurrence.everyDays(1, 1403, FARVARDIN, 40));
+    assertThrows(IllegalArgumentException.class, () -> PersianRecurrence.everyDays(1, 1402, ESFAND, 30));
+    assertThrows(IllegalArgumentException.class, () -> PersianRecurrence.everyWeeks(1, 1403, FARVARDIN, 0));
+    assertEquals(epochDay(1403, ESFAND, 30), PersianRecurrence.everyDays(1, 1403, ESFAND, 30).next(epochDay(1403, 0, 1)));
+  }
+
+  @Test
+  void testNextWithoutOccurrence() {
+    // 1 Farvardin 1403 has an even Julian day; no later even day is left before Long.MAX_VALUE.
+    PersianRecurrence rule = PersianRecurrence.everyDays(2, 1403, FARVARDIN, 1);
+    long last = Long.MAX_VALUE - EPOCH_JULIAN_DAY;
+    assertEquals(last - 1, rule.next(last - 2));
+    assertThrows(NoSuchElementException.class, () -> rule.next(last));
+    assertEquals(0, rule.expand(last, last).length);
+  }
+}
@@ -0,0 +1,134 @@
+package com.ghasemkiani.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import static com.ghasemkiani.util.PersianCalendarConstants.*;
+
+public class TestPersianTimeBuckets {
+
+  private static final ZoneId TEHRAN = ZoneId.of("Asia/Tehran");
+
+  // The instant of a Persian date and time in the zone.
+  private static long millis(ZoneId zone, long year, int month, int day, int hour, int minute) {
+    long epochDay = PersianYearTable.pj(year, month, day) - PersianZoneConverter.EPOCH_JULIAN_DAY;
+    return LocalDateTime.of(LocalDate.ofEpochDay(epochDay), LocalTime.of(hour, minute)).atZone(zone).toInstant().toEpochMilli();
+  }
+
+  @Test
+  void testMonthsAroundNewYear() {
+    PersianTimeBuckets months = new PersianTimeBuckets(TEHRAN, PersianTimeBuckets.Unit.MONTH);
+    // 1403 is a leap year: Esfand has 30 days; in 1402 it has 29.
+    long newYear = millis(TEHRAN, 1404, FARVARDIN, 1, 0, 0);
+    assertEquals(1403 * 12 + ESFAND, months.bucketOf(newYear - 1));
+    assertEquals(1404 * 12 + FARVARDIN, months.bucketOf(newYear));
+    assertEquals(1403 * 12 + ESFAND, months.bucketOf(millis(TEHRAN, 1403, ESFAND, 30, 12, 0)));
+    assertEquals(1403 * 12 + FARVARDIN, months.bucketOf(millis(TEHRAN, 1402, ESFAND, 29, 23, 59) + 60000));
+    assertEquals(newYear, months.startMillis(1404 * 12));
+    assertEquals(PersianYearTable.monthStart(1403, ESFAND), months.startJulianDay(1403 * 12 + ESFAND));
+    long[] bounds = months.boundaries(1402 * 12 + BAHMAN, 4);
+    assertEquals(30, (bounds[1] - bounds[0]) / 86400000L);
+    assertEquals(29, (bounds[2] - bounds[1]) / 86400000L);
+    assertEquals(31, (bounds[3] - bounds[2]) / 86400000L);
+    assertEquals(millis(TEHRAN, 1403, KHORDAD, 1, 0, 0), bounds[4]);
+  }
+
+  @Test
+  void testSeasonsAndYears() {
+    PersianTimeBuckets seasons = new PersianTimeBuckets(TEHRAN, PersianTimeBuckets.Unit.SEASON);
+    PersianTimeBuckets years = new PersianTimeBuckets(TEHRAN, PersianTimeBuckets.Unit.YEAR);
+    long newYear = millis(TEHRAN, 1404, FARVARDIN, 1, 0, 0);
+    assertEquals(1403 * 4 + 3, seasons.bucketOf(newYear - 1));
+    assertEquals(1404 * 4, seasons.bucketOf(newYear));
+    assertEquals(1404 * 4 + 1, seasons.bucketOf(millis(TEHRAN, 1404, TIR, 1, 0, 0)));
+    assertEquals(1404 * 4, seasons.bucketOf(millis(TEHRAN, 1404, TIR, 1, 0, 0) - 1));
+    assertEquals(1403, years.bucketOf(newYear - 1));
+    assertEquals(1404, years.bucketOf(newYear));
+    // 1403 has 366 days and 1404 has 365.
+    long[] bounds = years.boundaries(1403, 2);
+    assertEquals(366L * 86400000L, bounds[1] - bounds[0]);
+    assertEquals(365L * 86400000L, bounds[2] - bounds[1]);
+  }
+
+  @Test
+  void testWeeks() {
+    PersianTimeBuckets weeks = new PersianTimeBuckets(TEHRAN, PersianTimeBuckets.Unit.WEEK);
+    // 4 Farvardin 1403 was a Saturday.
+    long saturday = millis(TEHRAN, 1403, FARVARDIN, 4, 0, 0);
+    long week = weeks.bucketOf(saturday);
+    assertEquals(week - 1, weeks.bucketOf(saturday - 1));
+    assertEquals(week, weeks.bucketOf(saturday + 7 * 86400000L - 1));
+    assertEquals(week + 1, weeks.bucketOf(saturday + 7 * 86400000L));
+    assertEquals(saturday, weeks.startMillis(week));
+    assertEquals(Calendar.SATURDAY, PersianCalendarUtils.dayOfWeek(weeks.startJulianDay(week)));
+  }
+
+  @Test
+  void testBeforeEpoch() {
+    PersianTimeBuckets months = new PersianTimeBuckets(ZoneOffset.UTC, PersianTimeBuckets.Unit.MONTH);
+    PersianTimeBuckets weeks = new PersianTimeBuckets(ZoneOffset.UTC, PersianTimeBuckets.Unit.WEEK);
+    // 31 December 1969 was 10 Dey 1348, a Wednesday; its week started on 27 December.
+    assertEquals(1348 * 12 + DEY, months.bucketOf(-1));
+    assertEquals(1348 * 12 + DEY, months.bucketOf(0));
+    assertEquals(weeks.bucketOf(-1), weeks.bucketOf(-5 * 86400000L));
+    assertEquals(weeks.bucketOf(-1) - 1, weeks.bucketOf(-5 * 86400000L - 1));
+    assertEquals(-5 * 86400000L, weeks.startMillis(weeks.bucketOf(-1)));
+    // The buckets remain consecutive across 1 AP, as there is no year zero.
+    long first = millis(ZoneOffset.UTC, 1, FARVARDIN, 1, 0, 0);
+    assertEquals(11, months.bucketOf(first - 1));
+    assertEquals(12, months.bucketOf(first));
+    assertEquals(months.startMillis(12) - months.startMillis(11), 86400000L * PersianYearTable.monthLength(-1, ESFAND));
+    PersianTimeBuckets years = new PersianTimeBuckets(ZoneOffset.UTC, PersianTimeBuckets.Unit.YEAR);
+    assertEquals(0, years.bucketOf(first - 1));
+    assertEquals(1, years.bucketOf(first));
+    assertEquals(-1, years.bucketOf(millis(ZoneOffset.UTC, -2, MEHR, 1, 0, 0)));
+    assertEquals(PersianYearTable.yearStart(-1), years.startJulianDay(0));
+  }
+
+  @Test
+  void testBulkMatchesSingle() {
+    // Tehran observed daylight saving time until 1401, from the midnight starting 2 Farvardin
+    // to the midnight ending 30 Shahrivar, whose last hour was repeated. 2 Farvardin 1393 was a Saturday.
+    PersianTimeBuckets weeks = new PersianTimeBuckets(TEHRAN, PersianTimeBuckets.Unit.WEEK);
+    long week = millis(TEHRAN, 1393, FARVARDIN, 2, 1, 0);
+    assertEquals(week, weeks.startMillis(weeks.bucketOf(week)));
+    assertEquals(weeks.bucketOf(week) - 1, weeks.bucketOf(week - 1));
+    PersianTimeBuckets months = new PersianTimeBuckets(TEHRAN, PersianTimeBuckets.Unit.MONTH);
+    long mehr = millis(TEHRAN, 1393, MEHR, 1, 0, 0);
+    assertEquals(25 * 3600000L, millis(TEHRAN, 1393, SHAHRIVAR, 31, 0, 0) - millis(TEHRAN, 1393, SHAHRIVAR, 30, 0, 0));
+    assertEquals(1393 * 12 + SHAHRIVAR, months.bucketOf(mehr - 1));
+    assertEquals(1393 * 12 + MEHR, months.bucketOf(mehr));
+    Random random = new Random(1403);
+    long from = millis(TEHRAN, 1390, FARVARDIN, 1, 0, 0);
+    long to = millis(TEHRAN, 1410, FARVARDIN, 1, 0, 0);
+    long[] instants = new long[20000];
+    for (int i = 0; i < instants.length; i++) {
+      instants[i] = from + (long)(random.nextDouble() * (to - from));
+    }
+    for (PersianTimeBuckets.Unit unit : PersianTimeBuckets.Unit.values()) {
+      PersianTimeBuckets buckets = new PersianTimeBuckets(TEHRAN, unit);
+      for (int pass = 0; pass < 2; pass++) {
+        long[] result = new long[instants.length];
+        buckets.bucketsOf(instants, 0, instants.length, result);
+        for (int i = 0; i < instants.length; i++) {
+          assertEquals(buckets.bucketOf(instants[i]), result[i]);
+          assertTrue(buckets.startMillis(result[i]) <= instants[i] && instants[i] < buckets.startMillis(result[i] + 1));
+        }
+        long first = buckets.bucketOf(from);
+        int count = (int)(buckets.bucketOf(to - 1) - first + 1);
+        long[] histogram = buckets.histogram(instants, 0, instants.length, first, count);
+        assertEquals(instants.length, Arrays.stream(histogram).sum());
+        Arrays.sort(instants);
+      }
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.ghasemkiani.util;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPersianTimestampRenderer {
+
+  // 2024-03-24T00:00:00Z, 5 Farvardin 1403.
+  private static final long MILLIS = 1711238400000L;
+  // Chahar-shanbeh (Wednesday) and Farvardin.
+  private static final String WEDNESDAY = "\u0686\u0647\u0627\u0631\u0634\u0646\u0628\u0647";
+  private static final String FARVARDIN = "\u0641\u0631\u0648\u0631\u062f\u06cc\u0646";
+
+  @Test
+  void testNumericFieldsAndPadding() {
+    PersianTimestampRenderer renderer = new PersianTimestampRenderer(ZoneOffset.UTC);
+    assertEquals("1403/01/05 00:00:00.007", renderer.render(MILLIS + 7));
+    assertEquals("1403/01/05 00:00:00.070", renderer.render(MILLIS + 70));
+    assertEquals("1403/01/05 09:08:07.654", renderer.render(MILLIS + ((9 * 60 + 8) * 60 + 7) * 1000L + 654));
+    assertEquals("1403/12/30 23:59:59.999", renderer.render(MILLIS + 362L * 86400000L - 1));
+    // Before 1970-01-01 (10 Dey 1348 was 31 December 1969).
+    assertEquals("1348/10/10 23:59:59.999", renderer.render(-1));
+    StringBuilder buffer = new StringBuilder("at ");
+    assertSame(buffer, renderer.render(MILLIS, buffer));
+    assertEquals("at 1403/01/05 00:00:00.000", buffer.toString());
+  }
+
+  @Test
+  void testCachedPrefixes() {
+    PersianTimestampRenderer renderer = new PersianTimestampRenderer(ZoneOffset.UTC);
+    long last = MILLIS + 86400000L - 1;
+    assertEquals("1403/01/05 23:59:59.998", renderer.render(last - 1));
+    assertEquals("1403/01/05 23:59:59.999", renderer.render(last));
+    assertEquals("1403/01/06 00:00:00.000", renderer.render(last + 1));
+    // Going back in time is rendered correctly too.
+    assertEquals("1403/01/05 23:59:58.500", renderer.render(last - 1499));
+  }
+
+  @Test
+  void testTimeZoneOffsets() {
+    assertEquals("1403/01/05 03:30:00.000", new PersianTimestampRenderer(ZoneId.of("Asia/Tehran")).render(MILLIS));
+    // New York was on daylight saving time (UTC-4) on 23 March 2024, and on standard time (UTC-5) a month before.
+    PersianTimestampRenderer newYork = new PersianTimestampRenderer(ZoneId.of("America/New_York"));
+    assertEquals("1403/01/04 20:00:00.000", newYork.render(MILLIS));
+    assertEquals("1402/12/04 19:00:00.000", newYork.render(MILLIS - 29 * 86400000L));
+    assertEquals("1403/01/05 05:45:00.000", new PersianTimestampRenderer(ZoneOffset.ofHoursMinutes(5, 45)).render(MILLIS));
+  }
+
+  @Test
+  void testTextStyle() {
+    // 2024-03-20T12:00:39Z was 15:30:39 on Wednesday, 1 Farvardin 1403, in Tehran.
+    long millis = 1710936039000L;
+    PersianTimestampRenderer renderer = new PersianTimestampRenderer(ZoneId.of("Asia/Tehran"), PersianTimestampRenderer.Style.TEXT, false);
+    assertEquals(WEDNESDAY + " 1 " + FARVARDIN + " 1403 15:30:39.000", renderer.render(millis));
+    PersianTimestampRenderer persian = new PersianTimestampRenderer(ZoneId.of("Asia/Tehran"), PersianTimestampRenderer.Style.TEXT, true);
+    assertEquals(WEDNESDAY + " \u06f1 " + FARVARDIN + " \u06f1\u06f4\u06f0\u06f3 \u06f1\u06f5:\u06f3\u06f0:\u06f3\u06f9.\u06f0\u06f0\u06f5",
+                 persian.render(millis + 5));
+  }
+}
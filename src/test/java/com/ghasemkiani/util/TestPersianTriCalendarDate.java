@@ -0,0 +1,97 @@
+package com.ghasemkiani.util;
+
+import java.time.LocalDate;
+
+import com.ibm.icu.util.IslamicCalendar;
+import com.ibm.icu.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPersianTriCalendarDate {
+
+  private static final long EPOCH_JULIAN_DAY = 2440588L;
+  private static final long ONE_DAY_MILLIS = 24L * 60L * 60L * 1000L;
+
+  private static long pack(long year, int month, int day) {
+    return (year << 16) | (month << 8) | day;
+  }
+
+  private static long icuHijri(IslamicCalendar islamic, long epochDay) {
+    islamic.setTimeInMillis(epochDay * ONE_DAY_MILLIS);
+    return pack(islamic.get(IslamicCalendar.EXTENDED_YEAR), islamic.get(IslamicCalendar.MONTH), islamic.get(IslamicCalendar.DAY_OF_MONTH));
+  }
+
+  private static IslamicCalendar islamic(IslamicCalendar.CalculationType type) {
+    IslamicCalendar islamic = new IslamicCalendar(TimeZone.GMT_ZONE);
+    islamic.setCalculationType(type);
+    return islamic;
+  }
+
+  @Test
+  void testAgainstReferences() {
+    IslamicCalendar civil = islamic(IslamicCalendar.CalculationType.ISLAMIC_CIVIL);
+    IslamicCalendar tbla = islamic(IslamicCalendar.CalculationType.ISLAMIC_TBLA);
+    PersianTriCalendarDate date = new PersianTriCalendarDate();
+    PersianTriCalendarDate shifted = new PersianTriCalendarDate(1);
+    // From 1800 to 2200, in steps covering every day of the month and of the lunar cycle.
+    for (long e = LocalDate.of(1800, 1, 1).toEpochDay(); e < LocalDate.of(2200, 1, 1).toEpochDay(); e += 7) {
+      for (long epochDay = e; epochDay < e + 3; epochDay++) {
+        date.setEpochDay(epochDay);
+        LocalDate g = LocalDate.ofEpochDay(epochDay);
+        assertEquals(epochDay + EPOCH_JULIAN_DAY, date.getJulianDay());
+        assertEquals(PersianYearTable.jp(epochDay + EPOCH_JULIAN_DAY), date.getPersianDate());
+        assertEquals(pack(g.getYear(), g.getMonthValue() - 1, g.getDayOfMonth()), date.getGregorianDate(), g.toString());
+        assertEquals(icuHijri(civil, epochDay), date.getHijriDate(), g.toString());
+        assertEquals(icuHijri(tbla, epochDay), shifted.setEpochDay(epochDay).getHijriDate(), g.toString());
+      }
+    }
+  }
+
+  @Test
+  void testExamples() {
+    // 1 Farvardin 1403 = 20 March 2024 = 10 Ramadan 1445.
+    PersianTriCalendarDate date = new PersianTriCalendarDate().setEpochDay(LocalDate.of(2024, 3, 20).toEpochDay());
+    assertEquals(1403, date.getPersianYear());
+    assertEquals(PersianCalendarConstants.FARVARDIN, date.getPersianMonth());
+    assertEquals(1, date.getPersianDay());
+    assertEquals(2024, date.getGregorianYear());
+    assertEquals(2, date.getGregorianMonth());
+    assertEquals(20, date.getGregorianDay());
+    assertEquals(1445, date.getHijriYear());
+    assertEquals(IslamicCalendar.RAMADAN, date.getHijriMonth());
+    assertEquals(10, date.getHijriDay());
+    // The Gregorian and Hijri calendars around the leap days.
+    assertEquals(pack(2024, 1, 29), PersianTriCalendarDate.gregorian(LocalDate.of(2024, 2, 29).toEpochDay() + EPOCH_JULIAN_DAY));
+    assertEquals(pack(1900, 2, 1), PersianTriCalendarDate.gregorian(LocalDate.of(1900, 3, 1).toEpochDay() + EPOCH_JULIAN_DAY));
+    assertEquals(pack(2000, 11, 31), PersianTriCalendarDate.gregorian(LocalDate.of(2000, 12, 31).toEpochDay() + EPOCH_JULIAN_DAY));
+    assertEquals(pack(1, 0, 1), PersianTriCalendarDate.hijri(1948440L));
+    assertEquals(pack(0, 11, 29), PersianTriCalendarDate.hijri(1948439L));
+  }
+
+  @Test
+  void testBulk() {
+    long[] julianDays = new long[1000];
+    for (int i = 0; i < julianDays.length; i++) {
+      julianDays[i] = 2460000L + 37 * i;
+    }
+    long[] persian = new long[julianDays.length];
+    long[] gregorian = new long[julianDays.length];
+    long[] hijri = new long[julianDays.length];
+    PersianTriCalendarDate.convert(julianDays, 10, 980, 2, persian, gregorian, hijri);
+    PersianTriCalendarDate date = new PersianTriCalendarDate(2);
+    for (int i = 0; i < julianDays.length; i++) {
+      if (i < 10 || i >= 990) {
+        assertEquals(0, persian[i] | gregorian[i] | hijri[i]);
+        continue;
+      }
+      date.setJulianDay(julianDays[i]);
+      assertEquals(date.getPersianDate(), persian[i]);
+      assertEquals(date.getGregorianDate(), gregorian[i]);
+      assertEquals(date.getHijriDate(), hijri[i]);
+    }
+    long[] only = new long[julianDays.length];
+    PersianTriCalendarDate.convert(julianDays, 0, julianDays.length, 0, null, null, only);
+    assertEquals(PersianTriCalendarDate.hijri(julianDays[500]), only[500]);
+  }
+}
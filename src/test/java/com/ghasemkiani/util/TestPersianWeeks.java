@@ -0,0 +1,92 @@
+package com.ghasemkiani.util;
+
+import java.time.DayOfWeek;
+
+import com.ibm.icu.util.Calendar;
+import com.ibm.icu.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.ghasemkiani.util.icu.PersianCalendar;
+
+public class TestPersianWeeks {
+
+  private static final long DAY_MILLIS = 86400000L;
+
+  @Test
+  void testAgainstIcu() {
+    DayOfWeek[] firstDays = {DayOfWeek.SATURDAY, DayOfWeek.MONDAY, DayOfWeek.SUNDAY};
+    int[] minimalDays = {1, 4, 7};
+    // 1390/01/01 to 1410/12/29, roughly.
+    long from = 15054;
+    long to = from + 21 * 366;
+    for (DayOfWeek firstDay : firstDays) {
+      for (int minimal : minimalDays) {
+        PersianWeeks weeks = new PersianWeeks(firstDay, minimal);
+        PersianCalendar calendar = new PersianCalendar(TimeZone.getTimeZone("UTC"));
+        calendar.setFirstDayOfWeek(firstDay.getValue() % 7 + 1);
+        calendar.setMinimalDaysInFirstWeek(minimal);
+        long[] days = new long[(int)(to - from)];
+        long[] keys = new long[days.length];
+        for (int i = 0; i < days.length; i++) {
+          days[i] = from + i;
+        }
+        weeks.weekKeys(days, 0, days.length, keys);
+        for (int i = 0; i < days.length; i++) {
+          long day = days[i];
+          calendar.setTimeInMillis(day * DAY_MILLIS);
+          String message = firstDay + " " + minimal + " " + day;
+          assertEquals(calendar.get(Calendar.WEEK_OF_YEAR), weeks.weekOfYear(day), message);
+          assertEquals(calendar.get(Calendar.YEAR_WOY), weeks.weekBasedYear(day), message);
+          assertEquals(calendar.get(Calendar.DOW_LOCAL), weeks.dayOfWeek(day), message);
+          long key = weeks.weekKey(day);
+          assertEquals(key, keys[i], message);
+          assertEquals(weeks.weekBasedYear(day), PersianWeeks.year(key));
+          assertEquals(weeks.weekOfYear(day), PersianWeeks.week(key));
+          assertEquals(day - weeks.dayOfWeek(day) + 1, weeks.weekStart(PersianWeeks.year(key), PersianWeeks.week(key)));
+          if (i > 0) {
+            assertTrue(keys[i - 1] <= key);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void testWeeksInYear() {
+    PersianWeeks weeks = PersianWeeks.IRAN;
+    for (long year = 1300; year < 1500; year++) {
+      int n = weeks.weeksInYear(year);
+      assertTrue(n == 52 || n == 53);
+      long last = weeks.weekStart(year, n);
+      assertEquals(n, weeks.weekOfYear(last + 6));
+      assertEquals(1, weeks.weekOfYear(last + 7));
+    }
+    // 1403/01/01 (2024-03-20) was a Wednesday; week 1 began on Saturday 1402/12/26.
+    assertEquals(19798, weeks.weekStart(1403, 1));
+    assertEquals(1402, weeks.weekBasedYear(19797));
+    assertThrows(IllegalArgumentException.class, () -> new PersianWeeks(DayOfWeek.SATURDAY, 0));
+  }
+
+  @Test
+  void testAcrossYearOne() {
+    // The week-based year before 1 is -1.
+    PersianWeeks weeks = new PersianWeeks(DayOfWeek.MONDAY, 4);
+    long first = weeks.weekStart(1, 1);
+    int n = weeks.weeksInYear(-1);
+    assertEquals(first - 7L * n, weeks.weekStart(-1, 1));
+    assertEquals(-1, weeks.weekBasedYear(first - 1));
+    assertEquals(n, weeks.weekOfYear(first - 1));
+    assertEquals(1, weeks.weekBasedYear(first));
+    assertEquals(1, weeks.weekOfYear(first));
+    long[] epochDays = {first - 8, first - 1, first, first + 7};
+    long[] keys = new long[epochDays.length];
+    weeks.weekKeys(epochDays, 0, epochDays.length, keys);
+    for (int i = 0; i < epochDays.length; i++) {
+      assertEquals(weeks.weekKey(epochDays[i]), keys[i]);
+    }
+    assertEquals(-1, PersianWeeks.year(keys[1]));
+    assertEquals(1, PersianWeeks.year(keys[2]));
+  }
+}
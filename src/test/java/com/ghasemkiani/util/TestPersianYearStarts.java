@@ -0,0 +1,68 @@
+package com.ghasemkiani.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.ghasemkiani.util.calendrica.Calendrica;
+
+public class TestPersianYearStarts {
+
+  @Test
+  void testPrecomputedTablesMatchComputation() {
+    for (String name : PersianYearStarts.getLocationNames()) {
+      double[] location = PersianYearStarts.getLocation(name);
+      PersianYearStarts starts = PersianYearStarts.of(location);
+      assertTrue(starts.isPrecomputed(), name);
+      for (long year : new long[] {1, 2, 1000, 1403, 1404, 1469, 1470, 2999, 3000, 3001}) {
+        assertEquals(PersianYearStarts.computeYearStart(year, location), starts.yearStart(year), name + " " + year);
+      }
+    }
+  }
+
+  @Test
+  void testEmbeddedTablesAreUpToDate() throws IOException {
+    // The embedded data must be what PersianYearTableGenerator writes from the current code.
+    for (String name : PersianYearStarts.getLocationNames()) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      PersianYearStarts.write(PersianYearStarts.getLocation(name), out);
+      assertArrayEquals(out.toByteArray(), PersianYearStartsData.get(name).getBytes(StandardCharsets.ISO_8859_1),
+                        name + ": run PersianYearTableGenerator to regenerate PersianYearStartsData");
+    }
+  }
+
+  @Test
+  void testCustomLocation() {
+    double[] location = {36.3, 59.6, 1000, +3.5};
+    PersianYearStarts starts = PersianYearStarts.of(location);
+    assertFalse(starts.isPrecomputed());
+    assertSame(starts, PersianYearStarts.of(location));
+    assertEquals(PersianYearStarts.computeYearStart(1403, location), starts.yearStart(1403));
+    assertEquals(366, starts.yearLength(1403));
+  }
+
+  @Test
+  void testEqualLocationsShareOneTable() {
+    double[] location = {36.3, 59.6, 1000, +3.5};
+    PersianYearStarts starts = PersianYearStarts.of(location);
+    PersianYearStarts.of(Calendrica.IRAN);
+    assertSame(starts, PersianYearStarts.of(new double[] {36.3, 59.6, 1000, +3.5}));
+    assertSame(PersianYearStarts.of(Calendrica.IRAN), PersianYearStarts.of(Calendrica.IRAN.clone()));
+    assertTrue(PersianYearStarts.of(Calendrica.IRAN.clone()).isPrecomputed());
+    // The table keeps its own copy of the location.
+    location[1] = 51.4;
+    assertArrayEquals(new double[] {36.3, 59.6, 1000, +3.5}, starts.getLocation());
+    assertNotSame(starts, PersianYearStarts.of(location));
+    starts.getLocation()[0] = 0;
+    assertSame(starts, PersianYearStarts.of(new double[] {36.3, 59.6, 1000, +3.5}));
+  }
+
+  @Test
+  void testDefaultLocation() {
+    assertEquals(PersianCalendarHelper.pj(1403, 0, 1), PersianYearTable.yearStart(1403));
+    assertEquals(PersianCalendarHelper.pj(1404, 0, 1), PersianYearStarts.of(Calendrica.IRAN).yearStart(1404));
+  }
+}
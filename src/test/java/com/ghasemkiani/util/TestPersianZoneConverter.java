@@ -0,0 +1,35 @@
+package com.ghasemkiani.util;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPersianZoneConverter {
+
+  private static void check(ZoneId zone) {
+    PersianZoneConverter converter = new PersianZoneConverter(zone);
+    long from = Instant.parse("1977-01-01T00:00:00Z").toEpochMilli();
+    long to = Instant.parse("2030-01-01T00:00:00Z").toEpochMilli();
+    for (long millis = from; millis < to; millis += 7L * 3600000L + 12345L) {
+      ZonedDateTime zdt = Instant.ofEpochMilli(millis).atZone(zone);
+      long julianDay = zdt.toLocalDate().toEpochDay() + PersianZoneConverter.EPOCH_JULIAN_DAY;
+      long dateTime = converter.toPersianDateTime(millis);
+      assertEquals(PersianYearTable.jp(julianDay), PersianZoneConverter.date(dateTime));
+      assertEquals(zdt.toLocalTime().toNanoOfDay() / 1000000L, PersianZoneConverter.millisOfDay(dateTime));
+    }
+  }
+
+  @Test
+  void testTehran() {
+    check(ZoneId.of("Asia/Tehran"));
+  }
+
+  @Test
+  void testFixedOffset() {
+    check(ZoneOffset.ofHoursMinutes(3, 30));
+  }
+}
@@ -0,0 +1,80 @@
+package com.ghasemkiani.util;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import static com.ghasemkiani.util.PersianCalendarConstants.*;
+
+@SuppressWarnings("deprecation")
+public class TestSimplePersianCalendar {
+
+  private static final long EPOCH_JULIAN_DAY = 2440588L;
+  private static final long DAY_MILLIS = 86400000L;
+
+  private static SimplePersianCalendar calendar() {
+    SimplePersianCalendar calendar = new SimplePersianCalendar();
+    calendar.setTimeZone(TimeZone.getTimeZone("UTC"));
+    return calendar;
+  }
+
+  private static void assertDate(int year, int month, int day, SimplePersianCalendar calendar) {
+    DateFields fields = calendar.getDateFields();
+    assertEquals(year, fields.getYear(), fields.toString());
+    assertEquals(month, fields.getMonth(), fields.toString());
+    assertEquals(day, fields.getDay(), fields.toString());
+  }
+
+  @Test
+  void testCachedDateFollowsChanges() {
+    SimplePersianCalendar calendar = calendar();
+    calendar.setDateFields(1402, ESFAND, 29);
+    assertDate(1402, ESFAND, 29, calendar);
+    assertEquals(SimplePersianCalendar.persianMonths[ESFAND], calendar.getPersianMonthName());
+    // Every way of changing the date is seen by the next call.
+    calendar.setTimeInMillis(calendar.getTimeInMillis() + DAY_MILLIS);
+    assertDate(1403, FARVARDIN, 1, calendar);
+    assertEquals(SimplePersianCalendar.persianMonths[FARVARDIN], calendar.getPersianMonthName());
+    calendar.set(Calendar.MONTH, Calendar.JANUARY);
+    assertDate(1402, DEY, 30, calendar);
+    calendar.add(Calendar.DAY_OF_MONTH, 1);
+    assertDate(1402, BAHMAN, 1, calendar);
+    calendar.setJulianDay(PersianYearTable.pj(1404, MEHR, 1));
+    assertDate(1404, MEHR, 1, calendar);
+    calendar.setDateFields(1403, FARVARDIN, 1);
+    assertEquals(2024, calendar.get(Calendar.YEAR));
+    assertEquals(Calendar.MARCH, calendar.get(Calendar.MONTH));
+    assertEquals(20, calendar.get(Calendar.DAY_OF_MONTH));
+    assertDate(1403, FARVARDIN, 1, calendar);
+    // A new DateFields is returned on each call, as it is mutable.
+    DateFields fields = calendar.getDateFields();
+    fields.setDay(5);
+    assertDate(1403, FARVARDIN, 1, calendar);
+  }
+
+  @Test
+  void testNegativeDays() {
+    SimplePersianCalendar calendar = calendar();
+    // One millisecond before 1970-01-01 is the last millisecond of 10 Dey 1348.
+    calendar.setTimeInMillis(-1);
+    assertEquals(EPOCH_JULIAN_DAY - 1, calendar.getJulianDay());
+    assertDate(1348, DEY, 10, calendar);
+    // The time of day is kept when the day is set.
+    calendar.setJulianDay(EPOCH_JULIAN_DAY - 1000);
+    assertEquals(-1000 * DAY_MILLIS + DAY_MILLIS - 1, calendar.getTimeInMillis());
+    assertEquals(EPOCH_JULIAN_DAY - 1000, calendar.getJulianDay());
+    // Julian days before day 0.
+    for (long julianDay = -3; julianDay <= 3; julianDay++) {
+      calendar.setJulianDay(julianDay);
+      assertEquals(julianDay, calendar.getJulianDay());
+      assertEquals(DAY_MILLIS - 1, Math.floorMod(calendar.getTimeInMillis(), DAY_MILLIS));
+      long date = PersianCalendarHelper.jp(julianDay);
+      assertDate((int)PersianCalendarUtils.y(date) - 1, PersianCalendarUtils.m(date), PersianCalendarUtils.d(date), calendar);
+    }
+    calendar.setTimeInMillis((-EPOCH_JULIAN_DAY - 1) * DAY_MILLIS);
+    assertEquals(-1, calendar.getJulianDay());
+    assertEquals(0, Math.floorMod(calendar.getTimeInMillis(), DAY_MILLIS));
+  }
+}
@@ -23,6 +23,14 @@ public class TestCalendrica {
     assertEquals(-2.1569000000000003, Calendrica.poly(1.3, new double[] {5.01, -6.02, 0, 0.3}), 1e-9);
   }
 
+  @Test
+  void testPrecomputedConstants() {
+    assertEquals(Calendrica.rd(1), Calendrica.GREGORIAN_EPOCH);
+    assertEquals(Calendrica.fixedFromGregorian(new int[] {0, 12, 30}), Calendrica.JULIAN_EPOCH);
+    assertEquals(Calendrica.hr(12) + Calendrica.gregorianNewYear(2000), Calendrica.J2000);
+    assertEquals(Calendrica.fixedFromJulian(622, 3, 19), Calendrica.PERSIAN_EPOCH);
+  }
+
   @Test
   void testRd() {
     assertEquals(111L, Calendrica.rd(111));
@@ -344,4 +352,25 @@ public class TestCalendrica {
     assertTrue(Calendrica.persianLeapYear(1469));
     assertFalse(Calendrica.persianLeapYear(1470));
   }
+
+  // persianNewYearOnOrBefore with the full solar longitude series only.
+  private static long referenceNewYearOnOrBefore(long date, double[] location) {
+    double approx = Calendrica.estimatePriorSolarLongitude(Calendrica.SPRING, Calendrica.midday(date, location));
+    long day = (long) Math.floor(approx) - 1;
+    while (Calendrica.solarLongitude(Calendrica.midday(day, location)) > Calendrica.SPRING + 2) {
+      day++;
+    }
+    return day;
+  }
+
+  @Test
+  void testTruncatedSolarLongitude() {
+    double[][] locations = {Calendrica.IRAN, Calendrica.TEHRAN, Calendrica.KABUL};
+    for (double[] location : locations) {
+      for (int year = -1500; year <= 3500; year++) {
+        long date = Calendrica.PERSIAN_EPOCH + 180 + (long) Math.floor(Calendrica.MEAN_TROPICAL_YEAR * (year - 1));
+        assertEquals(referenceNewYearOnOrBefore(date, location), Calendrica.persianNewYearOnOrBefore(date, location), "year " + year);
+      }
+    }
+  }
 }
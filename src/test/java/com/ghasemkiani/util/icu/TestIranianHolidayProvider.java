@@ -0,0 +1,92 @@
+package com.ghasemkiani.util.icu;
+
+import java.util.Arrays;
+
+import com.ghasemkiani.util.PersianYearTable;
+import com.ibm.icu.util.IslamicCalendar;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import static com.ghasemkiani.util.PersianCalendarConstants.*;
+
+public class TestIranianHolidayProvider {
+
+  private static long day(long year, int month, int day) {
+    return PersianYearTable.pj(year, month, day);
+  }
+
+  // The official lunar holidays of 1402-1404 {year, month (zero-based), day}.
+  private static final int[][] OFFICIAL = {
+    {1402, ORDIBEHESHT, 2}, {1402, ORDIBEHESHT, 3},   // Eid al-Fitr 1444
+    {1402, TIR, 8},                                   // Eid al-Adha 1444
+    {1402, MORDAD, 5}, {1402, MORDAD, 6},             // Tasua and Ashura 1445
+    {1403, FARVARDIN, 22}, {1403, FARVARDIN, 23},     // Eid al-Fitr 1445
+    {1403, KHORDAD, 28},                              // Eid al-Adha 1445
+    {1403, TIR, 5},                                   // Eid al-Ghadir 1445
+    {1403, TIR, 25}, {1403, TIR, 26},                 // Tasua and Ashura 1446
+    {1403, SHAHRIVAR, 4},                             // Arbaeen 1446
+    {1403, SHAHRIVAR, 12},                            // 28 Safar 1446
+    {1403, SHAHRIVAR, 14},                            // 30 Safar 1446, the last day of the month
+    {1403, BAHMAN, 8},                                // Mab'ath 1446
+    {1404, FARVARDIN, 11}, {1404, FARVARDIN, 12},     // Eid al-Fitr 1446
+    {1404, TIR, 14}, {1404, TIR, 15},                 // Tasua and Ashura 1447
+  };
+
+  @Test
+  void testOfficialLunarHolidays() {
+    IranianHolidayProvider provider = new IranianHolidayProvider(1402, 1404, IslamicCalendar.CalculationType.ISLAMIC, 1);
+    for (int[] date : OFFICIAL) {
+      long julianDay = day(date[0], date[1], date[2]);
+      assertTrue(provider.isHoliday(julianDay), Arrays.toString(date));
+    }
+    // The day after Ashura and the day before Tasua are working days.
+    assertFalse(provider.isHoliday(day(1403, TIR, 24)));
+    assertFalse(provider.isHoliday(day(1403, TIR, 27)));
+    assertEquals(day(1403, TIR, 25), provider.nextHoliday(day(1403, TIR, 5)));
+    // Outside the precomputed span, holidays are computed on demand.
+    IranianHolidayProvider narrow = new IranianHolidayProvider(1402, 1402, IslamicCalendar.CalculationType.ISLAMIC, 1);
+    assertTrue(narrow.isHoliday(day(1403, TIR, 26)));
+    assertArrayEquals(provider.getHolidays(1403), narrow.getHolidays(1403));
+  }
+
+  @Test
+  void testOffsetAndCalculationType() {
+    IranianHolidayProvider computed = new IranianHolidayProvider(1403, 1403);
+    IranianHolidayProvider shifted = new IranianHolidayProvider(1403, 1403, IslamicCalendar.CalculationType.ISLAMIC, 1);
+    // Every lunar holiday is shifted by the offset; the Persian holidays stay.
+    assertTrue(computed.isHoliday(day(1403, TIR, 24)));
+    assertTrue(computed.isHoliday(day(1403, TIR, 25)));
+    assertFalse(computed.isHoliday(day(1403, TIR, 26)));
+    assertTrue(shifted.isHoliday(day(1403, TIR, 26)));
+    assertTrue(computed.isHoliday(day(1403, BAHMAN, 22)));
+    assertTrue(shifted.isHoliday(day(1403, BAHMAN, 22)));
+    assertTrue(shifted.isHoliday(day(1403, KHORDAD, 14)));
+    // The tabular calendars follow the same rule with their own month lengths.
+    IranianHolidayProvider civil = new IranianHolidayProvider(1403, 1403, IslamicCalendar.CalculationType.ISLAMIC_CIVIL, 0);
+    IranianHolidayProvider tbla = new IranianHolidayProvider(1403, 1403, IslamicCalendar.CalculationType.ISLAMIC_TBLA, 0);
+    IranianHolidayProvider civilShifted = new IranianHolidayProvider(1403, 1403, IslamicCalendar.CalculationType.ISLAMIC_CIVIL, -1);
+    assertArrayEquals(tbla.getHolidays(1403), civilShifted.getHolidays(1403));
+    assertFalse(Arrays.equals(civil.getHolidays(1403), tbla.getHolidays(1403)));
+    assertThrows(NullPointerException.class, () -> new IranianHolidayProvider(1403, 1403, null, 0));
+    assertThrows(IllegalArgumentException.class, () -> new IranianHolidayProvider(1404, 1403));
+  }
+
+  @Test
+  void testCoincidingHolidays() {
+    IranianHolidayProvider provider = new IranianHolidayProvider(1404, 1404, IslamicCalendar.CalculationType.ISLAMIC, 1);
+    int[] days = provider.getHolidays(1404);
+    // 21 Ramadan 1446 falls on 1 Farvardin, and 2 Shawwal on 12 Farvardin; each is kept once.
+    assertEquals(0, days[0]);
+    assertEquals(1, days[1]);
+    assertEquals(10, days[4]);
+    assertEquals(11, days[5]);
+    assertEquals(12, days[6]);
+    for (int i = 1; i < days.length; i++) {
+      assertTrue(days[i - 1] < days[i]);
+    }
+    // 10 Persian holidays, 17 lunar holidays of 1446-1447 and the second 21 Ramadan (of 1447),
+    // two of which coincide.
+    assertEquals(10 + 17 + 1 - 2, days.length);
+  }
+}
@@ -0,0 +1,85 @@
+package com.ghasemkiani.util.tools;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import com.ghasemkiani.util.PersianCalendarUtils;
+import com.ghasemkiani.util.PersianYearTable;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCsvDateConverter {
+
+  private static final long EPOCH_JULIAN_DAY = 2440588L;
+
+  @TempDir
+  Path dir;
+
+  // The expected output for a Gregorian date.
+  private static String persian(LocalDate date) {
+    long r = PersianYearTable.jp(date.toEpochDay() + EPOCH_JULIAN_DAY);
+    long year = PersianCalendarUtils.y(r);
+    return (year < 0 ? "-" : "") + String.format("%04d/%02d/%02d", Math.abs(year), PersianCalendarUtils.m(r) + 1, PersianCalendarUtils.d(r));
+  }
+
+  private String convert(String input, CsvDateConverter converter, long expectedLines) throws IOException {
+    Path in = dir.resolve("in.csv");
+    Path out = dir.resolve("out.csv");
+    Files.write(in, input.getBytes(StandardCharsets.US_ASCII));
+    assertEquals(expectedLines, converter.convert(in, out));
+    return new String(Files.readAllBytes(out), StandardCharsets.US_ASCII);
+  }
+
+  @Test
+  void testColumnsAndHeader() throws IOException {
+    String input = "date,name,due\n"
+      + "2024-03-20,a,2024/03/19\n"
+      + "2025-03-21,b c,not a date\r\n"
+      + "2024-02-30,d,\n"
+      + "1979-02-11,e,0622-03-22";
+    String expected = "date,name,due\n"
+      + "1403/01/01,a,1402/12/29\n"
+      + "1404/01/01,b c,not a date\r\n"
+      + "2024-02-30,d,\n"
+      + "1357/11/22,e," + persian(LocalDate.of(622, 3, 22));
+    assertEquals(expected, convert(input, new CsvDateConverter(new int[] {2, 0}, ',', 2, true), 5));
+    // Without the header option, the first line is also examined; it has no dates.
+    assertEquals(expected, convert(input, new CsvDateConverter(new int[] {0, 2}, ',', 1, false), 5));
+  }
+
+  @Test
+  void testTabsAndEarlyYears() throws IOException {
+    String input = "x\t0001-01-01\n"
+      + "y\t0600-12-31\n"
+      + "z\t2024-13-01\n"
+      + "w\t20240-01-01\n";
+    String expected = "x\t" + persian(LocalDate.of(1, 1, 1)) + "\n"
+      + "y\t" + persian(LocalDate.of(600, 12, 31)) + "\n"
+      + "z\t2024-13-01\n"
+      + "w\t20240-01-01\n";
+    assertEquals(expected, convert(input, new CsvDateConverter(new int[] {1}, '\t', 1, false), 4));
+    assertTrue(expected.startsWith("x\t-0"));
+  }
+
+  @Test
+  void testManySegments() throws IOException {
+    // More than one segment of 8 MB, converted by several threads.
+    StringBuilder input = new StringBuilder();
+    StringBuilder expected = new StringBuilder();
+    LocalDate start = LocalDate.of(1900, 1, 1);
+    int lines = 300000;
+    for (int i = 0; i < lines; i++) {
+      LocalDate date = start.plusDays(i % 100000);
+      String padding = "row " + i + " ..............................";
+      input.append(padding).append(',').append(date).append('\n');
+      expected.append(padding).append(',').append(persian(date)).append('\n');
+    }
+    assertTrue(input.length() > 8 << 20);
+    assertEquals(expected.toString(), convert(input.toString(), new CsvDateConverter(new int[] {1}, ',', 4, false), lines));
+  }
+}